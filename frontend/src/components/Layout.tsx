@@ -4,7 +4,7 @@ import { Search as SearchIcon, AccountCircle, ExitToApp } from '@mui/icons-mater
 import { useLocation, useNavigate } from 'react-router-dom';
 import PageTree from './PageTree';
 import { wikiService } from '../services/wikiService';
-import { WikiPageSearchResult } from '../types/wiki';
+import { WikiPageSearchHighlight, WikiPageSearchResult, WikiPageTitleSuggestion } from '../types/wiki';
 
 interface User {
   staffId: string;
@@ -14,6 +14,47 @@ interface User {
   token: string;
 }
 
+// 검색창 자동완성 목록에 표시할 최대 결과 수
+const SEARCH_OPTION_LIMIT = 10;
+
+// 본문 검색 결과가 오기 전에는 제목 자동완성 결과를 표시
+type SearchOption = WikiPageSearchResult | WikiPageTitleSuggestion;
+
+// 스니펫 앞부분(maxLength자)을 표시하면서 검색어가 일치한 구간을 강조
+const renderSnippet = (snippet: string, highlights: WikiPageSearchHighlight[], maxLength: number) => {
+  const text = snippet.substring(0, maxLength);
+  const parts: React.ReactNode[] = [];
+  let position = 0;
+  highlights
+    .filter((highlight) => highlight.start < text.length)
+    .forEach((highlight, index) => {
+      if (highlight.start > position) {
+        parts.push(text.substring(position, highlight.start));
+      }
+      const end = Math.min(highlight.end, text.length);
+      parts.push(
+        <Box component="mark" key={index} sx={{ bgcolor: '#ffe0b2', color: 'inherit', px: 0 }}>
+          {text.substring(highlight.start, end)}
+        </Box>
+      );
+      position = end;
+    });
+  parts.push(text.substring(position), '...');
+  return parts;
+};
+
+// 댓글이나 첨부파일 이름에서 일치한 결과의 안내 문구 (첨부파일은 일치한 이름 표시)
+const describeFieldMatch = (result: WikiPageSearchResult) => {
+  const notes: string[] = [];
+  if (result.matchedFields?.includes('attachment')) {
+    notes.push(`첨부: ${(result.attachmentNames ?? []).join(', ')}`);
+  }
+  if (result.matchedFields?.includes('comment')) {
+    notes.push('댓글에서 일치');
+  }
+  return notes.join(' · ');
+};
+
 interface LayoutProps {
   children: React.ReactNode;
   currentUser?: User;
@@ -24,6 +65,7 @@ const Layout: React.FC<LayoutProps> = ({ children, currentUser, onLogout }) => {
   const navigate = useNavigate();
   const location = useLocation();
   const [searchOptions, setSearchOptions] = useState<WikiPageSearchResult[]>([]);
+  const [titleSuggestions, setTitleSuggestions] = useState<WikiPageTitleSuggestion[]>([]);
   const [isSearchLoading, setIsSearchLoading] = useState(false);
   const [searchInput, setSearchInput] = useState('');
   const [userMenuAnchor, setUserMenuAnchor] = useState<null | HTMLElement>(null);
@@ -37,6 +79,28 @@ const Layout: React.FC<LayoutProps> = ({ children, currentUser, onLogout }) => {
     navigate(`/wiki/${encodeURIComponent(title)}`);
   };
 
+  // 제목 자동완성은 메모리 색인에서 바로 응답하므로 짧게만 디바운싱
+  useEffect(() => {
+    const prefix = searchInput.trimStart();
+    if (!prefix) {
+      setTitleSuggestions([]);
+      return;
+    }
+
+    const timeoutId = setTimeout(async () => {
+      try {
+        setTitleSuggestions(await wikiService.suggestTitles(prefix, SEARCH_OPTION_LIMIT));
+      } catch (error) {
+        console.error('제목 자동완성 중 오류 발생:', error);
+        setTitleSuggestions([]);
+      }
+    }, 50);
+
+    return () => clearTimeout(timeoutId);
+  }, [searchInput]);
+
+  const options: SearchOption[] = !isSearchLoading && searchOptions.length > 0 ? searchOptions : titleSuggestions;
+
   // 디바운싱된 검색 기능
   useEffect(() => {
     if (!searchInput.trim()) {
@@ -48,8 +112,12 @@ const Layout: React.FC<LayoutProps> = ({ children, currentUser, onLogout }) => {
     setIsSearchLoading(true);
     const timeoutId = setTimeout(async () => {
       try {
-        const results = await wikiService.searchPagesInTitleAndContent(searchInput.trim());
-        setSearchOptions(results);
+        // 검색창 목록에는 관련도 상위 결과만 표시 (결과가 없으면 오타를 허용해 다시 검색)
+        let results = await wikiService.searchPagesInTitleAndContent(searchInput.trim(), 0, SEARCH_OPTION_LIMIT);
+        if (results.total === 0) {
+          results = await wikiService.searchPagesInTitleAndContent(searchInput.trim(), 0, SEARCH_OPTION_LIMIT, true);
+        }
+        setSearchOptions(results.items);
       } catch (error) {
         console.error('검색 중 오류 발생:', error);
         setSearchOptions([]);
@@ -65,32 +133,32 @@ const Layout: React.FC<LayoutProps> = ({ children, currentUser, onLogout }) => {
     setSearchInput(value);
   }, []);
 
-  const handleSearchSelection = useCallback((event: any, value: string | WikiPageSearchResult | null) => {
+  const handleSearchSelection = useCallback((event: any, value: string | SearchOption | null) => {
     if (value && typeof value === 'object') {
       // 검색 결과에서 선택한 경우
       navigate(`/wiki/${encodeURIComponent(value.title)}`);
       setSearchInput(''); // 검색창 초기화
       setSearchOptions([]); // 검색 결과 초기화
-    } else if (value && typeof value === 'string' && searchOptions.length === 0) {
+    } else if (value && typeof value === 'string' && options.length === 0) {
       // 검색 결과가 없고 직접 입력한 문자열인 경우만 페이지 이동
       navigate(`/wiki/${encodeURIComponent(value)}`);
       setSearchInput(''); // 검색창 초기화
     }
-  }, [navigate, searchOptions]);
+  }, [navigate, options]);
 
   const handleKeyDown = useCallback((event: React.KeyboardEvent) => {
     if (event.key === 'Enter') {
       // 검색 결과가 있고 로딩 중이 아닐 때만 첫 번째 결과로 이동
-      if (searchOptions.length > 0 && !isSearchLoading) {
+      if (options.length > 0 && !isSearchLoading) {
         event.preventDefault();
         event.stopPropagation();
-        navigate(`/wiki/${encodeURIComponent(searchOptions[0].title)}`);
+        navigate(`/wiki/${encodeURIComponent(options[0].title)}`);
         setSearchInput(''); // 검색창 초기화
         setSearchOptions([]); // 검색 결과 초기화
       }
       // 검색 결과가 없거나 로딩 중일 때는 Autocomplete 기본 동작 허용
     }
-  }, [navigate, searchOptions, isSearchLoading]);
+  }, [navigate, options, isSearchLoading]);
 
   const handleUserMenuClick = (event: React.MouseEvent<HTMLElement>) => {
     setUserMenuAnchor(event.currentTarget);
@@ -124,7 +192,7 @@ const Layout: React.FC<LayoutProps> = ({ children, currentUser, onLogout }) => {
           
           <Autocomplete
             freeSolo
-            options={searchOptions}
+            options={options}
             getOptionLabel={(option) => typeof option === 'string' ? option : option.title}
             onInputChange={handleSearchInputChange}
             onChange={handleSearchSelection}
@@ -168,10 +236,19 @@ const Layout: React.FC<LayoutProps> = ({ children, currentUser, onLogout }) => {
                 <ListItem sx={{ p: 0 }}>
                   <ListItemText
                     primary={option.title}
-                    secondary={option.snippet ? `${option.snippet.substring(0, 100)}...` : ''}
+                    secondary={'snippet' in option ? (
+                      <>
+                        {describeFieldMatch(option) && (
+                          <Box component="span" sx={{ display: 'block', color: '#1976d2' }}>
+                            {describeFieldMatch(option)}
+                          </Box>
+                        )}
+                        {option.snippet ? renderSnippet(option.snippet, option.highlights ?? [], 100) : ''}
+                      </>
+                    ) : ''}
                     primaryTypographyProps={{
-                      fontWeight: option.titleMatch ? 'bold' : 'normal',
-                      color: option.titleMatch ? '#ff9800' : 'inherit'
+                      fontWeight: !('titleMatch' in option) || option.titleMatch ? 'bold' : 'normal',
+                      color: !('titleMatch' in option) || option.titleMatch ? '#ff9800' : 'inherit'
                     }}
                   />
                 </ListItem>
@@ -70,6 +70,7 @@ const EditPage: React.FC = () => {
   const [pageType, setPageType] = useState<string>('MENU');
   const [availablePages, setAvailablePages] = useState<WikiPageSummary[]>([]);
   const [parentPageType, setParentPageType] = useState<string | null>(null);
+  const [pageVersion, setPageVersion] = useState<number | undefined>(undefined);
 
   // 평면화된 페이지 리스트 생성
   const flattenedPages = flattenPages(availablePages);
@@ -112,6 +113,7 @@ const EditPage: React.FC = () => {
         setError(null);
         const page = await wikiService.getPage(urlTitle!);
         setContent(page.content);
+        setPageVersion(page.version);
         setParentId(page.parentId || null);
         setPageType(page.pageType || 'MENU');
         
@@ -184,18 +186,22 @@ const EditPage: React.FC = () => {
           content,
           parentId: parentId || undefined,
           pageType: pageType
-        });
+        }, pageVersion);
         // 페이지 트리 새로고침
         refreshPageTree();
         navigate(`/wiki/${encodeURIComponent(result.title)}`);
       }
     } catch (error) {
       console.error('페이지 저장 오류:', error);
-      setError(`페이지 ${isNewPage ? '작성' : '수정'}에 실패했습니다.`);
+      if ((error as any)?.response?.status === 412) {
+        setError('다른 사용자가 먼저 이 페이지를 수정했습니다. 작성한 내용을 복사해 두고 페이지를 새로 불러온 뒤 다시 수정해주세요.');
+      } else {
+        setError(`페이지 ${isNewPage ? '작성' : '수정'}에 실패했습니다.`);
+      }
     } finally {
       setSaving(false);
     }
-  }, [title, content, parentId, pageType, isNewPage, urlTitle, refreshPageTree, navigate]);
+  }, [title, content, parentId, pageType, pageVersion, isNewPage, urlTitle, refreshPageTree, navigate]);
 
   // Ctrl+S 단축키 이벤트 리스너 추가
   useEffect(() => {
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
 import {
   Typography,
@@ -13,28 +13,110 @@ import {
 } from '@mui/material';
 import { orange } from '@mui/material/colors';
 import AddIcon from '@mui/icons-material/Add';
-import { WikiPageSummary } from '../types/wiki';
+import { WikiPageFeedItem, WikiPageFeedPage } from '../types/wiki';
 import { wikiService } from '../services/wikiService';
 
-const HomePage: React.FC = () => {
+const formatDate = (value: string) =>
+  new Date(value).toLocaleDateString('ko-KR', {
+    year: 'numeric',
+    month: 'long',
+    day: 'numeric',
+    hour: '2-digit',
+    minute: '2-digit'
+  });
+
+interface FeedCardProps {
+  heading: string;
+  emptyMessage: string;
+  dateLabel: string;
+  dateOf: (page: WikiPageFeedItem) => string;
+  fetchPage: (cursor?: string) => Promise<WikiPageFeedPage>;
+}
+
+// 피드는 커서 단위로 조회 (nextCursor가 null이면 마지막 페이지)
+const FeedCard: React.FC<FeedCardProps> = ({ heading, emptyMessage, dateLabel, dateOf, fetchPage }) => {
   const navigate = useNavigate();
-  const [recentWeekPages, setRecentWeekPages] = useState<WikiPageSummary[]>([]);
+  const [items, setItems] = useState<WikiPageFeedItem[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loading, setLoading] = useState(false);
 
-  useEffect(() => {
-    const fetchData = async () => {
-      try {
-        // 최근 일주일 동안 작성된 글
-        const weekPages = await wikiService.getRecentWeekPages();
-        setRecentWeekPages(weekPages);
-      } catch (error) {
-        console.error('페이지를 불러오는데 실패했습니다:', error);
-      }
-    };
+  const loadPage = useCallback(async (cursor?: string) => {
+    try {
+      setLoading(true);
+      const feedPage = await fetchPage(cursor);
+      setItems(prev => (cursor === undefined ? feedPage.items : [...prev, ...feedPage.items]));
+      setNextCursor(feedPage.nextCursor ?? null);
+    } catch (error) {
+      console.error('페이지를 불러오는데 실패했습니다:', error);
+    } finally {
+      setLoading(false);
+    }
+  }, [fetchPage]);
 
-    fetchData();
-  }, []);
+  useEffect(() => {
+    loadPage();
+  }, [loadPage]);
 
+  return (
+    <Card>
+      <CardContent>
+        <Typography variant="h5" component="h2" sx={{ color: orange[800], mb: 2 }}>
+          {heading}
+        </Typography>
+        {items.length > 0 ? (
+          <List>
+            {items.map((page) => (
+              <ListItem
+                key={page.id}
+                sx={{
+                  cursor: 'pointer',
+                  '&:hover': {
+                    bgcolor: orange[50],
+                  },
+                  borderBottom: '1px solid #f0f0f0',
+                  flexDirection: 'column',
+                  alignItems: 'flex-start'
+                }}
+                onClick={() => navigate(`/wiki/${encodeURIComponent(page.title)}`)}
+              >
+                <ListItemText
+                  primary={
+                    <Typography variant="subtitle1" sx={{ fontWeight: 'bold', color: orange[800] }}>
+                      {page.title}
+                    </Typography>
+                  }
+                  secondary={
+                    <Typography variant="body2" color="text.secondary">
+                      {dateLabel}: {formatDate(dateOf(page))}
+                    </Typography>
+                  }
+                />
+              </ListItem>
+            ))}
+          </List>
+        ) : (
+          <Typography variant="body2" color="text.secondary" sx={{ textAlign: 'center', py: 3 }}>
+            {loading ? '불러오는 중...' : emptyMessage}
+          </Typography>
+        )}
+        {nextCursor && (
+          <Button
+            fullWidth
+            size="small"
+            disabled={loading}
+            onClick={() => loadPage(nextCursor)}
+            sx={{ color: orange[700] }}
+          >
+            더 보기
+          </Button>
+        )}
+      </CardContent>
+    </Card>
+  );
+};
 
+const HomePage: React.FC = () => {
+  const navigate = useNavigate();
 
   return (
     <Container maxWidth="lg" sx={{ mt: 4, mb: 4 }}>
@@ -57,61 +139,28 @@ const HomePage: React.FC = () => {
         </Button>
       </Box>
 
-      <Box sx={{ display: 'flex', justifyContent: 'center' }}>
-        <Box sx={{ flex: '1 1 600px', maxWidth: 800 }}>
-          <Card>
-            <CardContent>
-              <Typography variant="h5" component="h2" sx={{ color: orange[800], mb: 2 }}>
-                최근 일주일 동안 작성된 글 ({recentWeekPages.length}개)
-              </Typography>
-              {recentWeekPages.length > 0 ? (
-                <List>
-                  {recentWeekPages.map((page) => (
-                    <ListItem
-                      key={page.id}
-                      sx={{
-                        cursor: 'pointer',
-                        '&:hover': {
-                          bgcolor: orange[50],
-                        },
-                        borderBottom: '1px solid #f0f0f0',
-                        flexDirection: 'column',
-                        alignItems: 'flex-start'
-                      }}
-                      onClick={() => navigate(`/wiki/${encodeURIComponent(page.title)}`)}
-                    >
-                      <ListItemText
-                        primary={
-                          <Typography variant="subtitle1" sx={{ fontWeight: 'bold', color: orange[800] }}>
-                            {page.title}
-                          </Typography>
-                        }
-                        secondary={
-                          <Typography variant="body2" color="text.secondary">
-                            작성일: {new Date(page.updatedAt).toLocaleDateString('ko-KR', {
-                              year: 'numeric',
-                              month: 'long',
-                              day: 'numeric',
-                              hour: '2-digit',
-                              minute: '2-digit'
-                            })}
-                          </Typography>
-                        }
-                      />
-                    </ListItem>
-                  ))}
-                </List>
-              ) : (
-                <Typography variant="body2" color="text.secondary" sx={{ textAlign: 'center', py: 3 }}>
-                  최근 일주일 동안 작성된 글이 없습니다.
-                </Typography>
-              )}
-            </CardContent>
-          </Card>
+      <Box sx={{ display: 'flex', justifyContent: 'center', flexWrap: 'wrap', gap: 3 }}>
+        <Box sx={{ flex: '1 1 400px', maxWidth: 800 }}>
+          <FeedCard
+            heading="최근 일주일 동안 작성된 글"
+            emptyMessage="최근 일주일 동안 작성된 글이 없습니다."
+            dateLabel="작성일"
+            dateOf={(page) => page.createdAt}
+            fetchPage={wikiService.getRecentWeekPages}
+          />
+        </Box>
+        <Box sx={{ flex: '1 1 400px', maxWidth: 800 }}>
+          <FeedCard
+            heading="최근 수정된 글"
+            emptyMessage="수정된 글이 없습니다."
+            dateLabel="수정일"
+            dateOf={(page) => page.updatedAt}
+            fetchPage={wikiService.getRecentlyUpdatedPages}
+          />
         </Box>
       </Box>
     </Container>
   );
 };
 
-export default HomePage; 
\ No newline at end of file
+export default HomePage;
@@ -36,7 +36,7 @@ import SubdirectoryArrowRightIcon from '@mui/icons-material/SubdirectoryArrowRig
 import FolderIcon from '@mui/icons-material/Folder';
 import DeleteIcon from '@mui/icons-material/Delete';
 import AdvancedMarkdown from '../components/AdvancedMarkdown';
-import { WikiPage as WikiPageType } from '../types/wiki';
+import { WikiPage as WikiPageType, WikiPageHistory, WikiPageHistoryItem } from '../types/wiki';
 import { wikiService } from '../services/wikiService';
 import CommentSection from '../components/CommentSection';
 import FileAttachmentSection from '../components/FileAttachmentSection';
@@ -59,6 +59,10 @@ const WikiPage: React.FC = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [selectedHistoryVersion, setSelectedHistoryVersion] = useState<number | null>(null);
+  const [selectedVersion, setSelectedVersion] = useState<WikiPageHistory | null>(null);
+  const [historyItems, setHistoryItems] = useState<WikiPageHistoryItem[]>([]);
+  const [historyNextBefore, setHistoryNextBefore] = useState<number | null | undefined>(undefined);
+  const [historyLoading, setHistoryLoading] = useState(false);
   const [anchorEl, setAnchorEl] = useState<null | HTMLElement>(null);
   const [deleteDialogOpen, setDeleteDialogOpen] = useState(false);
   const [isDeleting, setIsDeleting] = useState(false);
@@ -72,6 +76,11 @@ const WikiPage: React.FC = () => {
         setError(null);
         const fetchedPage = await wikiService.getPage(title);
         setPage(fetchedPage);
+        // 페이지가 바뀌면 히스토리는 다시 펼칠 때 조회
+        setHistoryItems([]);
+        setHistoryNextBefore(undefined);
+        setSelectedHistoryVersion(null);
+        setSelectedVersion(null);
       } catch (error) {
         if ((error as any)?.response?.status === 404) {
           setError('페이지를 찾을 수 없습니다.');
@@ -170,18 +179,57 @@ const WikiPage: React.FC = () => {
     return new Date(dateString).toLocaleString('ko-KR');
   };
 
+  // 버전 목록은 내용 없이 페이지 단위로 조회 (nextBefore가 null이면 마지막 페이지)
+  const loadHistory = async (before?: number) => {
+    if (!title || historyLoading) return;
+
+    try {
+      setHistoryLoading(true);
+      const historyPage = await wikiService.getPageHistory(title, before);
+      setHistoryItems(prev => (before === undefined ? historyPage.items : [...prev, ...historyPage.items]));
+      setHistoryNextBefore(historyPage.nextBefore ?? null);
+    } catch (error) {
+      console.error('히스토리 조회 실패:', error);
+    } finally {
+      setHistoryLoading(false);
+    }
+  };
+
+  const handleHistoryExpand = (_event: React.SyntheticEvent, expanded: boolean) => {
+    if (expanded && historyNextBefore === undefined) {
+      loadHistory();
+    }
+  };
+
+  // 선택한 버전의 내용만 필요할 때 조회
+  const handleSelectVersion = async (seqNbr: number) => {
+    if (!title) return;
+
+    if (selectedHistoryVersion === seqNbr) {
+      setSelectedHistoryVersion(null);
+      setSelectedVersion(null);
+      return;
+    }
+
+    try {
+      const version = await wikiService.getPageVersion(title, seqNbr);
+      setSelectedHistoryVersion(seqNbr);
+      setSelectedVersion(version);
+    } catch (error) {
+      console.error('버전 조회 실패:', error);
+    }
+  };
+
   const getContentToDisplay = () => {
-    if (selectedHistoryVersion !== null && page?.history) {
-      const historyItem = page.history.find(h => h.seqNbr === selectedHistoryVersion);
-      return historyItem?.content || page.content;
+    if (selectedHistoryVersion !== null && selectedVersion) {
+      return selectedVersion.content || page?.content || '';
     }
     return page?.content || '';
   };
 
   const getTitleToDisplay = () => {
-    if (selectedHistoryVersion !== null && page?.history) {
-      const historyItem = page.history.find(h => h.seqNbr === selectedHistoryVersion);
-      return historyItem?.title || page.title;
+    if (selectedHistoryVersion !== null && selectedVersion) {
+      return selectedVersion.title || page?.title || '';
     }
     return page?.title || '';
   };
@@ -246,7 +294,10 @@ const WikiPage: React.FC = () => {
           {selectedHistoryVersion !== null && (
             <Button
               size="small"
-              onClick={() => setSelectedHistoryVersion(null)}
+              onClick={() => {
+                setSelectedHistoryVersion(null);
+                setSelectedVersion(null);
+              }}
               sx={{ mt: 1, color: orange[700] }}
             >
               현재 버전으로 돌아가기
@@ -384,8 +435,8 @@ const WikiPage: React.FC = () => {
       )}
 
       {/* 페이지 히스토리 */}
-      {page.history && page.history.length > 0 && (
-        <Accordion sx={{ mt: 3, mb: 3 }}>
+      {!!page.historyCount && page.historyCount > 0 && (
+        <Accordion sx={{ mt: 3, mb: 3 }} onChange={handleHistoryExpand}>
           <AccordionSummary
             expandIcon={<ExpandMoreIcon />}
             sx={{
@@ -398,15 +449,15 @@ const WikiPage: React.FC = () => {
             <Box sx={{ display: 'flex', alignItems: 'center' }}>
               <HistoryIcon sx={{ mr: 1, color: orange[700] }} />
               <Typography variant="h6" sx={{ color: orange[800] }}>
-                페이지 히스토리 ({page.history.length}개 버전)
+                페이지 히스토리 ({page.historyCount}개 버전)
               </Typography>
             </Box>
           </AccordionSummary>
           <AccordionDetails>
             <List>
-              {page.history.map((historyItem, index) => (
+              {historyItems.map((historyItem, index) => (
                 <ListItem
-                  key={`${historyItem.id}-${historyItem.seqNbr}`}
+                  key={historyItem.seqNbr}
                   sx={{
                     border: `1px solid ${orange[200]}`,
                     borderRadius: 1,
@@ -417,9 +468,7 @@ const WikiPage: React.FC = () => {
                       bgcolor: orange[50],
                     },
                   }}
-                  onClick={() => setSelectedHistoryVersion(
-                    selectedHistoryVersion === historyItem.seqNbr ? null : historyItem.seqNbr
-                  )}
+                  onClick={() => handleSelectVersion(historyItem.seqNbr)}
                 >
                   <Grid container alignItems="center" spacing={2}>
                     <Grid item xs={2}>
@@ -440,6 +489,8 @@ const WikiPage: React.FC = () => {
                           <Box sx={{ display: 'flex', alignItems: 'center', mt: 0.5 }}>
                             <AccessTimeIcon sx={{ fontSize: 14, mr: 0.5 }} />
                             {formatDate(historyItem.updatedAt)}
+                            {historyItem.modifyStaffId && ` · ${historyItem.modifyStaffId}`}
+                            {` · ${historyItem.size.toLocaleString('ko-KR')}자`}
                           </Box>
                         }
                       />
@@ -453,6 +504,17 @@ const WikiPage: React.FC = () => {
                 </ListItem>
               ))}
             </List>
+            {historyNextBefore !== null && historyNextBefore !== undefined && (
+              <Button
+                fullWidth
+                size="small"
+                disabled={historyLoading}
+                onClick={() => loadHistory(historyNextBefore)}
+                sx={{ color: orange[700] }}
+              >
+                이전 버전 더 보기
+              </Button>
+            )}
           </AccordionDetails>
         </Accordion>
       )}
@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { WikiPageDetail, WikiPageSummary, WikiPageSearchResult, CreateWikiPageRequest, UpdateWikiPageRequest } from '../types/wiki';
+import { WikiPageDetail, WikiPageHistory, WikiPageHistoryPage, WikiPageFeedPage, WikiPageSummary, WikiPageSearchPage, WikiPageSearchFilter, WikiPageTitleSuggestion, CreateWikiPageRequest, UpdateWikiPageRequest } from '../types/wiki';
 
 const API_BASE_URL = '/api/wiki';
 
@@ -37,8 +37,17 @@ export const wikiService = {
         return response.data;
     },
 
-    getRecentWeekPages: async (): Promise<WikiPageSummary[]> => {
-        const response = await apiClient.get('/pages/recent-week');
+    getRecentWeekPages: async (cursor?: string): Promise<WikiPageFeedPage> => {
+        const response = await apiClient.get('/pages/recent-week', {
+            params: { cursor }
+        });
+        return response.data;
+    },
+
+    getRecentlyUpdatedPages: async (cursor?: string): Promise<WikiPageFeedPage> => {
+        const response = await apiClient.get('/pages/recently-updated', {
+            params: { cursor }
+        });
         return response.data;
     },
 
@@ -52,15 +61,29 @@ export const wikiService = {
         return response.data;
     },
 
+    getPageHistory: async (title: string, before?: number): Promise<WikiPageHistoryPage> => {
+        const response = await apiClient.get(`/pages/${encodeURIComponent(title)}/history`, {
+            params: { before }
+        });
+        return response.data;
+    },
+
+    getPageVersion: async (title: string, seqNbr: number): Promise<WikiPageHistory> => {
+        const response = await apiClient.get(`/pages/${encodeURIComponent(title)}/history/${seqNbr}`);
+        return response.data;
+    },
+
     createPage: async (page: CreateWikiPageRequest): Promise<WikiPageDetail> => {
         const response = await apiClient.post('/pages', page);
         return response.data;
     },
 
-    updatePage: async (title: string, page: UpdateWikiPageRequest): Promise<WikiPageDetail> => {
+    // version을 넘기면 그 사이 다른 사용자가 수정한 경우 412로 실패
+    updatePage: async (title: string, page: UpdateWikiPageRequest, version?: number): Promise<WikiPageDetail> => {
         const response = await apiClient.put(
             `/pages/${encodeURIComponent(title)}`,
-            page
+            page,
+            version !== undefined ? { headers: { 'If-Match': `"${version}"` } } : undefined
         );
         return response.data;
     },
@@ -69,16 +92,29 @@ export const wikiService = {
         await apiClient.delete(`/pages/${encodeURIComponent(title)}`);
     },
 
-    searchPages: async (query: string): Promise<WikiPageSummary[]> => {
+    // 제목 검색 (fuzzy이면 오타를 허용해 가까운 순)
+    searchPages: async (query: string, fuzzy = false): Promise<WikiPageSummary[]> => {
         const response = await apiClient.get('/search', {
-            params: { query }
+            params: { query, fuzzy }
+        });
+        return response.data;
+    },
+
+    // 제목 자동완성 (입력 중인 한글 음절도 일치)
+    suggestTitles: async (prefix: string, limit = 10): Promise<WikiPageTitleSuggestion[]> => {
+        const response = await apiClient.get('/search/suggest', {
+            params: { prefix, limit }
         });
         return response.data;
     },
 
-    searchPagesInTitleAndContent: async (query: string): Promise<WikiPageSearchResult[]> => {
+    // 관련도순 통합 검색 (offset부터 limit개, total은 전체 결과 수, fuzzy이면 오타 허용, filter로 타입/수정자/수정일 제한)
+    searchPagesInTitleAndContent: async (query: string, offset = 0, limit = 20, fuzzy = false,
+                                         filter: WikiPageSearchFilter = {}): Promise<WikiPageSearchPage> => {
         const response = await apiClient.get('/search/full', {
-            params: { query }
+            params: { query, offset, limit, fuzzy, ...filter },
+            // 여러 값 필터는 pageType=A&pageType=B 형태로 전송
+            paramsSerializer: { indexes: null }
         });
         return response.data;
     },
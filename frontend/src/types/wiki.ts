@@ -9,7 +9,7 @@ export interface WikiPage {
     createdAt: string;
     updatedAt: string;
     children?: WikiPageSummary[];
-    history?: WikiPageHistory[];
+    historyCount?: number;
 }
 
 export interface WikiPageSummary {
@@ -35,9 +35,16 @@ export interface WikiPageDetail {
     pageType: string;
     createdAt: string;
     updatedAt: string;
+    version?: number;
     children?: WikiPageSummary[];
     parent?: WikiPageSummary;
-    history?: WikiPageHistory[];
+    ancestors?: WikiPageBreadcrumb[];
+    historyCount?: number;
+}
+
+export interface WikiPageBreadcrumb {
+    id: number;
+    title: string;
 }
 
 export interface WikiPageHistory {
@@ -45,18 +52,87 @@ export interface WikiPageHistory {
     seqNbr: number;
     title: string;
     content: string;
+    modifyStaffId?: string;
     createdAt: string;
     updatedAt: string;
 }
 
+export interface WikiPageHistoryItem {
+    seqNbr: number;
+    title: string;
+    modifyStaffId?: string;
+    updatedAt: string;
+    size: number;
+}
+
+export interface WikiPageHistoryPage {
+    items: WikiPageHistoryItem[];
+    nextBefore?: number | null;
+}
+
+export interface WikiPageFeedItem {
+    id: number;
+    title: string;
+    parentId?: number;
+    path: string;
+    pageType: string;
+    modifyStaffId?: string;
+    createdAt: string;
+    updatedAt: string;
+}
+
+export interface WikiPageFeedPage {
+    items: WikiPageFeedItem[];
+    nextCursor?: string | null;
+}
+
 export interface WikiPageSearchResult {
     id: number;
     title: string;
     snippet: string;
     titleMatch: boolean;
+    score: number;
+    highlights: WikiPageSearchHighlight[];
+    matchedFields: WikiPageSearchField[]; // 검색어가 나온 필드
+    attachmentNames: string[]; // 검색어가 나온 첨부파일 이름
     updatedAt: string;
 }
 
+export type WikiPageSearchField = 'title' | 'content' | 'comment' | 'attachment';
+
+// 스니펫 문자열 기준 [start, end)
+export interface WikiPageSearchHighlight {
+    start: number;
+    end: number;
+}
+
+export interface WikiPageTitleSuggestion {
+    id: number;
+    title: string;
+}
+
+export interface WikiPageSearchPage {
+    items: WikiPageSearchResult[];
+    total: number;
+    offset: number;
+    limit: number;
+    facets: WikiPageSearchFacets;
+}
+
+// 통합 검색 필터 값별 결과 수 (값 → 페이지 수, 많은 순)
+export interface WikiPageSearchFacets {
+    pageTypes: Record<string, number>;
+    modifyStaffIds: Record<string, number>;
+}
+
+// 통합 검색 필터 (같은 항목의 여러 값은 OR, 수정일은 YYYY-MM-DD, 양끝 포함)
+export interface WikiPageSearchFilter {
+    pageType?: string[];
+    modifyStaffId?: string[];
+    updatedFrom?: string;
+    updatedTo?: string;
+}
+
 export interface CreateWikiPageRequest {
     title: string;
     content: string;
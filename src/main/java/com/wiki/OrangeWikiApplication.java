@@ -3,9 +3,11 @@ package com.wiki;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class OrangeWikiApplication {
     public static void main(String[] args) {
         System.out.println("=== WHY-BUTT (와이벗) Application 시작 ===");
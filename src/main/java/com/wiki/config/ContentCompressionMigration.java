@@ -0,0 +1,92 @@
+package com.wiki.config;
+
+import com.wiki.entity.converter.CompressedTextConverter;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 본문 압축 저장 전환 마이그레이션
+ * 기존 TEXT 컬럼(content)에 남아 있는 본문을 압축해 content_data로 옮기고 기존 컬럼은 비웁니다.
+ * 옮기기 전에는 기존 행의 본문이 비어 보이므로, 웹 서버가 요청을 받기 전(빈 초기화 단계)에 실행합니다.
+ * content_data 컬럼은 JPA 스키마 갱신으로 생기므로 EntityManagerFactory가 만들어진 뒤에 실행되도록 주입받습니다.
+ * 히스토리 델타 변환과 검색 색인 구성(ApplicationReadyEvent)은 이 전환이 끝난 뒤에 압축된 본문을 읽습니다.
+ * 기존 컬럼이 없거나(신규 DB) 모두 옮겨졌으면 아무것도 하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentCompressionMigration implements InitializingBean {
+
+    /** 스키마 갱신(content_data 컬럼 추가) 이후에 실행되도록 의존만 걸어 둠 */
+    @SuppressWarnings("unused")
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Value("${app.content.migration-batch-size:100}")
+    private int batchSize;
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate("WIKI_PAGE", "id");
+        migrate("WIKI_PAGE_HISTORY", "id, seq_nbr");
+    }
+
+    private void migrate(String table, String keyColumns) {
+        if (!hasLegacyContentColumn(table)) {
+            return;
+        }
+
+        // 전환이 끝나기 전에 수정되어 이미 content_data에 새 본문이 있는 행은 기존 본문이 오래된 값이므로 비우기만 함
+        int cleared = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "UPDATE " + table + " SET content = NULL WHERE content IS NOT NULL AND content_data IS NOT NULL"));
+        if (cleared > 0) {
+            log.info("이미 압축 저장된 행의 기존 본문 정리 - {}: {}개", table, cleared);
+        }
+
+        String select = "SELECT " + keyColumns + ", content FROM " + table +
+                        " WHERE content IS NOT NULL AND content_data IS NULL LIMIT " + batchSize;
+        String update = "UPDATE " + table + " SET content_data = ?, content = NULL WHERE " +
+                        String.join(" = ? AND ", keyColumns.split(", ")) + " = ?";
+        String[] keys = keyColumns.split(", ");
+
+        int migrated = 0;
+        List<Object[]> batch;
+        do {
+            // UPDATE 파라미터 순서: 압축 본문, 키 컬럼들
+            batch = jdbcTemplate.query(select, (rs, rowNum) -> {
+                Object[] params = new Object[keys.length + 1];
+                params[0] = converter.convertToDatabaseColumn(rs.getString("content"));
+                for (int i = 0; i < keys.length; i++) {
+                    params[i + 1] = rs.getObject(keys[i]);
+                }
+                return params;
+            });
+            if (!batch.isEmpty()) {
+                List<Object[]> updates = batch;
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(update, updates));
+                migrated += batch.size();
+            }
+        } while (batch.size() == batchSize);
+
+        if (migrated > 0) {
+            log.info("본문 압축 저장 전환 완료 - {}: {}개", table, migrated);
+        }
+    }
+
+    private boolean hasLegacyContentColumn(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ? AND COLUMN_NAME = 'CONTENT'",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+}
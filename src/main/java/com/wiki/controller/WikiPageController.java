@@ -2,13 +2,26 @@ package com.wiki.controller;
 
 import com.wiki.dto.WikiPageDto;
 import com.wiki.dto.UserDto;
+import com.wiki.service.EntityCacheStatistics;
+import com.wiki.service.WikiPageSearchIndex;
 import com.wiki.service.WikiPageService;
+import com.wiki.service.WikiPageTitleCache;
+import com.wiki.service.WikiPageTrashService;
+import com.wiki.service.WikiPageTreeSnapshot;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/wiki")
@@ -16,30 +29,106 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class WikiPageController {
     private final WikiPageService wikiPageService;
+    private final WikiPageTrashService wikiPageTrashService;
+    private final WikiPageTitleCache wikiPageTitleCache;
+    private final EntityCacheStatistics entityCacheStatistics;
+    private final WikiPageSearchIndex wikiPageSearchIndex;
 
+    /** 페이지 상세에 포함할 수 있는 하위 페이지 최대 단계 수 */
+    private static final int MAX_DETAIL_DEPTH = 10;
+
+    /** 히스토리 목록 한 페이지의 최대 버전 수 */
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    /** 최근 작성/수정 피드 한 페이지 최대 크기 */
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
+    /** 통합 검색 한 번에 반환할 최대 결과 수 */
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    /** 제목 자동완성 최대 항목 수 */
+    private static final int MAX_SUGGEST_LIMIT = 20;
+
+    /**
+     * 네비게이션 트리 조회
+     * 미리 직렬화된 JSON을 반환하며, If-None-Match가 현재 ETag와 같으면 본문 없이 304를 반환합니다.
+     */
     @GetMapping("/pages")
-    public ResponseEntity<List<WikiPageDto.Response.Summary>> getRecentPages() {
-        return ResponseEntity.ok(wikiPageService.getRecentPages());
+    public ResponseEntity<byte[]> getRecentPages(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return treeResponse(wikiPageService.getEncodedTree(null), ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/pages/by-type/{pageType}")
-    public ResponseEntity<List<WikiPageDto.Response.Summary>> getPagesByType(@PathVariable String pageType) {
-        return ResponseEntity.ok(wikiPageService.getPagesByType(pageType));
+    public ResponseEntity<byte[]> getPagesByType(
+            @PathVariable String pageType,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return treeResponse(wikiPageService.getEncodedTree(pageType), ifNoneMatch, acceptEncoding);
     }
     
     /**
-     * 최근 일주일 동안 작성된 페이지 조회
+     * 최근 일주일 동안 작성된 페이지 조회 (최신순, 커서 기반 페이지네이션)
+     * 응답의 nextCursor를 다음 요청의 cursor로 넘기면 이어지는 페이지를 조회합니다.
      */
     @GetMapping("/pages/recent-week")
-    public ResponseEntity<List<WikiPageDto.Response.Summary>> getRecentWeekPages() {
-        System.out.println("최근 일주일 페이지 API 호출");
-        List<WikiPageDto.Response.Summary> pages = wikiPageService.getRecentWeekPages();
-        return ResponseEntity.ok(pages);
+    public ResponseEntity<WikiPageDto.Response.FeedPage> getRecentWeekPages(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        validateFeedPageSize(size);
+        return ResponseEntity.ok(wikiPageService.getRecentWeekPages(cursor, size));
     }
 
+    /**
+     * 최근 수정된 페이지 조회 (최신순, 커서 기반 페이지네이션)
+     */
+    @GetMapping("/pages/recently-updated")
+    public ResponseEntity<WikiPageDto.Response.FeedPage> getRecentlyUpdatedPages(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        validateFeedPageSize(size);
+        return ResponseEntity.ok(wikiPageService.getRecentlyUpdatedPages(cursor, size));
+    }
+
+    /**
+     * 페이지 상세 조회
+     * 하위 페이지는 depth 단계까지만 포함합니다. (기본값 1: 직접 자식만)
+     */
     @GetMapping("/pages/{title}")
-    public ResponseEntity<WikiPageDto.Response.Detail> getPage(@PathVariable String title) {
-        return ResponseEntity.ok(wikiPageService.getPage(title));
+    public ResponseEntity<WikiPageDto.Response.Detail> getPage(
+            @PathVariable String title,
+            @RequestParam(defaultValue = "1") int depth) {
+        if (depth < 1 || depth > MAX_DETAIL_DEPTH) {
+            throw new IllegalArgumentException("depth는 1 이상 " + MAX_DETAIL_DEPTH + " 이하여야 합니다.");
+        }
+        WikiPageDto.Response.Detail page = wikiPageService.getPage(title, depth);
+        return ResponseEntity.ok().eTag(pageEtag(page)).body(page);
+    }
+
+    /**
+     * 페이지 버전 목록 조회 (내용 제외, 최신순)
+     * 응답의 nextBefore를 before로 넘겨 이전 버전들을 이어서 조회합니다.
+     */
+    @GetMapping("/pages/{title}/history")
+    public ResponseEntity<WikiPageDto.Response.HistoryPage> getPageHistory(
+            @PathVariable String title,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_HISTORY_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        return ResponseEntity.ok(wikiPageService.getPageHistory(title, before, size));
+    }
+
+    /**
+     * 페이지 특정 버전 내용 조회
+     */
+    @GetMapping("/pages/{title}/history/{seqNbr}")
+    public ResponseEntity<WikiPageDto.Response.History> getPageVersion(
+            @PathVariable String title,
+            @PathVariable Integer seqNbr) {
+        return ResponseEntity.ok(wikiPageService.getPageVersion(title, seqNbr));
     }
 
     @PostMapping("/pages")
@@ -58,10 +147,16 @@ public class WikiPageController {
         }
     }
 
+    /**
+     * 페이지 수정
+     * If-Match에 페이지 상세의 ETag를 보내면 그 사이 다른 사용자가 수정한 경우 412를 반환합니다.
+     * (If-Match가 없으면 조건 없이 수정하며 동시 요청은 차례로 반영, "*"는 페이지가 있으면 수정)
+     */
     @PutMapping("/pages/{title}")
     public ResponseEntity<?> updatePage(
             @PathVariable String title,
             @RequestBody WikiPageDto.Request.Update request, 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpSession session) {
         try {
             // 로그인 확인
@@ -70,8 +165,12 @@ public class WikiPageController {
                 return ResponseEntity.status(401).body("로그인이 필요합니다.");
             }
             
-            WikiPageDto.Response.Detail updatedPage = wikiPageService.updatePage(title, request, user.getStaffId());
-            return ResponseEntity.ok(updatedPage);
+            WikiPageDto.Response.Detail updatedPage = wikiPageService.updatePage(
+                    title, request, user.getStaffId(), parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(pageEtag(updatedPage)).body(updatedPage);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("페이지 수정 실패: 다른 사용자가 먼저 수정했습니다. 페이지를 새로 불러온 뒤 다시 수정하세요.");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("페이지 수정 실패: " + e.getMessage());
         }
@@ -83,19 +182,120 @@ public class WikiPageController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * 휴지통 목록 조회
+     */
+    @GetMapping("/trash")
+    public ResponseEntity<List<WikiPageDto.Response.TrashItem>> getTrash() {
+        return ResponseEntity.ok(wikiPageTrashService.getTrash());
+    }
+
+    /**
+     * 휴지통 페이지 복원 (함께 삭제된 하위 페이지 포함)
+     */
+    @PostMapping("/trash/{id}/restore")
+    public ResponseEntity<Void> restorePage(@PathVariable Long id) {
+        wikiPageTrashService.restore(id);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 휴지통 페이지 즉시 영구 삭제 (휴지통에 있는 하위 페이지 포함)
+     */
+    @DeleteMapping("/trash/{id}")
+    public ResponseEntity<Void> purgePage(@PathVariable Long id) {
+        wikiPageTrashService.purgeNow(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 제목 → ID 캐시 통계 조회 (적중/미스/제거 누적 횟수)
+     */
+    @GetMapping("/title-cache/stats")
+    public ResponseEntity<WikiPageTitleCache.Stats> getTitleCacheStats() {
+        return ResponseEntity.ok(wikiPageTitleCache.getStats());
+    }
+
+    /**
+     * 통합 검색 역색인 상태 조회 (색인된 페이지 수, 토큰 수)
+     */
+    @GetMapping("/search-index/stats")
+    public ResponseEntity<WikiPageSearchIndex.Stats> getSearchIndexStats() {
+        return ResponseEntity.ok(wikiPageSearchIndex.getStats());
+    }
+
+    /**
+     * 2차 캐시/쿼리 캐시 통계 조회 (영역별 적중/미스/저장 횟수, 실행된 SQL 수)
+     */
+    @GetMapping("/entity-cache/stats")
+    public ResponseEntity<EntityCacheStatistics.Stats> getEntityCacheStats() {
+        return ResponseEntity.ok(entityCacheStatistics.getStats());
+    }
+
+    /**
+     * 2차 캐시 누적 통계 초기화 (요청 단위 SQL 수 측정용, 캐시 내용은 유지)
+     */
+    @PostMapping("/entity-cache/stats/reset")
+    public ResponseEntity<Void> resetEntityCacheStats() {
+        entityCacheStatistics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 제목 검색 (fuzzy이면 오타를 허용해 가까운 순으로 최대 MAX_SEARCH_LIMIT개)
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<WikiPageDto.Response.Summary>> searchPages(@RequestParam String query) {
+    public ResponseEntity<List<WikiPageDto.Response.Summary>> searchPages(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        if (fuzzy) {
+            return ResponseEntity.ok(wikiPageService.searchPagesFuzzy(query, MAX_SEARCH_LIMIT));
+        }
         return ResponseEntity.ok(wikiPageService.searchPages(query));
     }
     
     /**
-     * 제목과 내용에서 통합 검색
+     * 제목 자동완성 (제목이 prefix로 시작하는 페이지, 입력 중인 한글 음절도 일치)
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<WikiPageDto.Response.TitleSuggestion>> suggestTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            throw new IllegalArgumentException("limit는 1 이상 " + MAX_SUGGEST_LIMIT + " 이하여야 합니다.");
+        }
+        return ResponseEntity.ok(wikiPageService.suggestTitles(prefix, limit));
+    }
+
+    /**
+     * 제목과 내용에서 통합 검색 (관련도순, offset/limit 페이지네이션, fuzzy이면 오타 허용)
+     * pageType/modifyStaffId는 여러 번 줄 수 있고(값끼리 OR), updatedFrom/updatedTo는 양끝 날짜를 포함하는 수정일 범위입니다.
+     * 응답의 facets는 필터를 적용한 전체 결과의 페이지 타입/수정자별 페이지 수입니다.
      */
     @GetMapping("/search/full")
-    public ResponseEntity<List<WikiPageDto.Response.SearchResult>> searchPagesInTitleAndContent(@RequestParam String query) {
+    public ResponseEntity<WikiPageDto.Response.SearchPage> searchPagesInTitleAndContent(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) Set<String> pageType,
+            @RequestParam(required = false) Set<String> modifyStaffId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate updatedTo) {
         System.out.println("검색 API 호출 - query: " + query);
-        List<WikiPageDto.Response.SearchResult> results = wikiPageService.searchPagesInTitleAndContent(query);
-        return ResponseEntity.ok(results);
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset은 0 이상이어야 합니다.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit는 1 이상 " + MAX_SEARCH_LIMIT + " 이하여야 합니다.");
+        }
+        if (updatedFrom != null && updatedTo != null && updatedFrom.isAfter(updatedTo)) {
+            throw new IllegalArgumentException("updatedFrom은 updatedTo보다 늦을 수 없습니다.");
+        }
+        WikiPageSearchIndex.Filter filter = new WikiPageSearchIndex.Filter(
+                pageType != null ? pageType : Set.of(), modifyStaffId != null ? modifyStaffId : Set.of(),
+                updatedFrom, updatedTo);
+        return ResponseEntity.ok(wikiPageService.searchPagesInTitleAndContent(query, offset, limit, fuzzy, filter));
     }
 
     /**
@@ -108,6 +308,15 @@ public class WikiPageController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * 페이지를 두 형제 페이지 사이로 이동 (희소 순서 값 사용)
+     */
+    @PutMapping("/pages/order/move")
+    public ResponseEntity<Void> movePageBetween(@RequestBody WikiPageDto.Request.MoveBetween move) {
+        wikiPageService.movePageBetween(move);
+        return ResponseEntity.ok().build();
+    }
+
     @PutMapping("/pages/parent")
     public ResponseEntity<String> updatePageParent(@RequestBody WikiPageDto.Request.UpdateParent updateParent) {
         try {
@@ -120,4 +329,92 @@ public class WikiPageController {
             return ResponseEntity.internalServerError().body("페이지 부모 변경 중 오류 발생: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    private void validateFeedPageSize(int size) {
+        if (size < 1 || size > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_FEED_PAGE_SIZE + " 이하여야 합니다.");
+        }
+    }
+
+    private String pageEtag(WikiPageDto.Response.Detail page) {
+        return "\"" + page.getVersion() + "\"";
+    }
+
+    /**
+     * If-Match 헤더에서 기대 버전을 읽습니다.
+     * 약한 ETag(W/)는 수정 조건으로 쓸 수 없으므로 어떤 버전과도 일치하지 않는 것으로 처리합니다.
+     *
+     * @return 기대 버전 (헤더가 없거나 "*"이면 null)
+     * @throws OptimisticLockingFailureException 현재 버전과 비교할 수 없는 값인 경우
+     */
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.valueOf(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException e) {
+                // 아래에서 불일치로 처리
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match가 페이지 버전과 일치하지 않습니다: " + ifMatch);
+    }
+
+    /**
+     * 직렬화된 트리로 응답을 만듭니다.
+     * 클라이언트가 gzip을 받을 수 있으면 미리 압축해 둔 바이트를 그대로 보냅니다.
+     */
+    private ResponseEntity<byte[]> treeResponse(WikiPageTreeSnapshot.Encoded tree, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? tree.gzipEtag() : tree.etag();
+
+        if (matchesEtag(ifNoneMatch, tree.etag()) || matchesEtag(ifNoneMatch, tree.gzipEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(tree.gzip());
+        }
+        return builder.body(tree.json());
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
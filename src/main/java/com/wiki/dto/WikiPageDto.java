@@ -3,6 +3,7 @@ package com.wiki.dto;
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 public class WikiPageDto {
@@ -50,6 +51,17 @@ public class WikiPageDto {
             public void setDisplayOrder(Integer displayOrder) { this.displayOrder = displayOrder; }
         }
 
+        /**
+         * 형제 페이지 사이로 페이지 이동 요청 DTO
+         * prevPageId와 nextPageId 사이에 pageId를 배치합니다. (null이면 맨 앞 또는 맨 뒤)
+         */
+        @Data
+        public static class MoveBetween {
+            private Long pageId;
+            private Long prevPageId;
+            private Long nextPageId;
+        }
+
         /**
          * 페이지 부모 변경 요청 DTO
          */
@@ -103,28 +115,145 @@ public class WikiPageDto {
             private String pageType;
             private LocalDateTime createdAt;
             private LocalDateTime updatedAt;
-            private List<Summary> children;
-            private Summary parent;
-            private List<History> history;
+            private Long version; // 수정 시 If-Match로 보낼 버전 (응답 ETag와 같은 값)
+            private List<Summary> children; // 요청한 depth까지의 하위 페이지
+            private Summary parent; // 하위 목록 없는 요약
+            private List<Breadcrumb> ancestors; // 최상위부터 부모까지의 경로
+            private long historyCount; // 버전 목록은 히스토리 API로 별도 조회
         }
         
+        /**
+         * 상위 페이지 경로 표시용 요약
+         */
+        @Data
+        public static class Breadcrumb {
+            private Long id;
+            private String title;
+        }
+        
+        /**
+         * 특정 버전의 전체 내용
+         */
         @Data
         public static class History {
             private Long id;
             private Integer seqNbr;
             private String title;
             private String content;
+            private String modifyStaffId;
+            private LocalDateTime createdAt;
+            private LocalDateTime updatedAt;
+        }
+        
+        /**
+         * 버전 목록 항목 (내용 제외)
+         */
+        @Data
+        public static class HistoryItem {
+            private Integer seqNbr;
+            private String title;
+            private String modifyStaffId;
+            private LocalDateTime updatedAt;
+            private Integer size; // 내용 길이 (문자 수)
+        }
+        
+        /**
+         * 버전 목록 한 페이지
+         * nextBefore를 다음 요청의 before로 넘기면 이어지는 이전 버전들을 조회합니다. (없으면 null)
+         */
+        @Data
+        public static class HistoryPage {
+            private List<HistoryItem> items;
+            private Integer nextBefore;
+        }
+        
+        /**
+         * 최근 작성/수정 피드 항목 (본문, 하위 페이지 제외)
+         */
+        @Data
+        public static class FeedItem {
+            private Long id;
+            private String title;
+            private Long parentId;
+            private String path;
+            private String pageType;
+            private String modifyStaffId;
             private LocalDateTime createdAt;
             private LocalDateTime updatedAt;
         }
         
+        /**
+         * 피드 한 페이지
+         * nextCursor를 다음 요청의 cursor로 넘기면 이어지는 항목을 조회합니다. (없으면 null)
+         */
+        @Data
+        public static class FeedPage {
+            private List<FeedItem> items;
+            private String nextCursor;
+        }
+        
+        /**
+         * 휴지통 항목 (삭제 단위가 된 최상위 페이지)
+         */
+        @Data
+        public static class TrashItem {
+            private Long id;
+            private String title;
+            private Long parentId;
+            private LocalDateTime deletedAt;
+            private LocalDateTime purgeAfter; // 이 시각 이후 영구 삭제 대상
+        }
+        
         @Data
         public static class SearchResult {
             private Long id;
             private String title;
             private String snippet; // 검색어 주변 텍스트
             private boolean titleMatch; // 제목에서 검색어가 발견되었는지 여부
+            private double score; // 관련도 점수 (BM25)
+            private List<Highlight> highlights; // 스니펫에서 검색어가 일치한 구간
+            private List<String> matchedFields; // 검색어가 나온 필드 (title, content, comment, attachment)
+            private List<String> attachmentNames; // 검색어가 나온 첨부파일 이름
             private LocalDateTime updatedAt;
         }
+        
+        /**
+         * 스니펫 강조 구간 (스니펫 문자열 기준 [start, end))
+         */
+        @Data
+        public static class Highlight {
+            private int start;
+            private int end;
+        }
+        
+        /**
+         * 제목 자동완성 항목
+         */
+        @Data
+        public static class TitleSuggestion {
+            private Long id;
+            private String title;
+        }
+        
+        /**
+         * 통합 검색 결과 한 페이지 (관련도순, total은 필터를 적용해 일치하는 전체 페이지 수)
+         */
+        @Data
+        public static class SearchPage {
+            private List<SearchResult> items;
+            private int total;
+            private int offset;
+            private int limit;
+            private SearchFacets facets; // 일치한 전체 페이지의 필터 값별 페이지 수
+        }
+        
+        /**
+         * 통합 검색 필터 값별 결과 수 (값 → 페이지 수, 많은 순)
+         */
+        @Data
+        public static class SearchFacets {
+            private Map<String, Integer> pageTypes;
+            private Map<String, Integer> modifyStaffIds;
+        }
     }
 } 
\ No newline at end of file
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,8 +15,10 @@ import java.time.LocalDateTime;
  * FileAttachment 엔티티
  * 위키 페이지에 첨부된 파일 정보를 저장합니다.
  * WikiPage와 다대일 관계를 가지며, 파일의 메타데이터를 관리합니다.
+ * 업로드 후 거의 바뀌지 않으므로 2차 캐시에 보관합니다.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "file_attachments")
 @Data
 @NoArgsConstructor
@@ -3,6 +3,8 @@ package com.wiki.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,8 +14,10 @@ import java.time.LocalDateTime;
 /**
  * 사용자 정보를 관리하는 엔티티
  * STAFF_ID를 기본키로 사용하여 직원 정보를 관리
+ * 세션 사용자 확인 등 조회가 대부분이므로 2차 캐시에 보관
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
 @Getter
 @Setter
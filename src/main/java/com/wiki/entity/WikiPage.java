@@ -1,8 +1,13 @@
 package com.wiki.entity;
 
+import com.wiki.entity.converter.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,10 +16,23 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 위키 페이지 엔티티
+ * 삭제된 페이지는 휴지통(del_yn = 'Y')으로 이동하며, 엔티티 조회와 children 컬렉션에서 자동으로 제외됩니다.
+ * 휴지통 페이지는 보관 기간이 지나면 WikiPageTrashService가 영구 삭제합니다.
+ * 메타데이터는 2차 캐시에 보관하고, 지연 로딩 본문은 캐시하지 않습니다. (휴지통 이동 등 일괄 UPDATE 시 영역 전체 무효화)
+ */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, includeLazy = false)
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
+@SQLRestriction("del_yn = 'N'")
+@Table(indexes = {
+        // 최근 작성/수정 피드의 키셋 페이지네이션 정렬 순서와 같은 순서의 인덱스
+        @Index(name = "idx_wiki_page_created_at", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_wiki_page_updated_at", columnList = "updated_at DESC, id DESC")
+})
 public class WikiPage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,7 +41,11 @@ public class WikiPage {
     @Column(nullable = false, unique = true)
     private String title;
 
-    @Column(columnDefinition = "TEXT")
+    // 본문은 상세 조회/수정 시에만 필요하므로 지연 로딩 (빌드 시 바이트코드 향상 필요)
+    // 압축해서 content_data에 저장하며, 본문을 읽을 때만 압축을 풉니다.
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_data", columnDefinition = "varbinary")
     private String content;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +63,8 @@ public class WikiPage {
     @Column(nullable = false)
     private String path = "/";
 
+    // 순서 변경은 본문 편집과 충돌하지 않으므로 낙관적 잠금 버전을 올리지 않음
+    @OptimisticLock(excluded = true)
     @Column(nullable = false)
     private Integer displayOrder = 0;
 
@@ -56,9 +80,27 @@ public class WikiPage {
     @CreatedDate
     private LocalDateTime createdAt;
 
+    // 감사 리스너가 모든 UPDATE에서 갱신하므로 버전 증가 판단에서는 제외 (순서 변경만으로 버전이 오르지 않도록)
+    @OptimisticLock(excluded = true)
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Column(name = "del_yn", nullable = false, length = 1, columnDefinition = "varchar(1) default 'N'")
+    private String delYn = "N";
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // 낙관적 잠금 버전 (페이지 상세의 ETag로 노출, If-Match 조건부 수정에 사용)
+    // 새 엔티티는 null로 두어야 save()가 merge가 아닌 persist로 저장함 (저장 시 0부터 시작)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // 마지막으로 발급한 히스토리 버전 번호 (페이지 수정 시 version과 함께 갱신되므로 동시 수정에도 번호가 겹치지 않음)
+    @Column(name = "last_seq_nbr")
+    private Integer lastSeqNbr;
+
     public void addChild(WikiPage child) {
         this.children.add(child);
         child.setParent(this);
@@ -1,17 +1,26 @@
 package com.wiki.entity;
 
+import com.wiki.entity.converter.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+/**
+ * 페이지 히스토리 (버전)
+ * content는 storageType에 따라 전체 내용(FULL, 키프레임) 또는 직전 버전 대비 델타(DELTA)입니다.
+ * 버전 내용은 WikiPageHistoryService를 통해 복원해서 사용합니다.
+ */
 @Entity
 @Table(name = "wiki_page_history")
 @IdClass(WikiPageHistoryId.class)
 @Getter
 @Setter
 public class WikiPageHistory {
+
+    public static final String STORAGE_FULL = "FULL";
+    public static final String STORAGE_DELTA = "DELTA";
     
     @Id
     private Long id;
@@ -23,9 +32,18 @@ public class WikiPageHistory {
     @Column(nullable = false)
     private String title;
 
-    @Column(columnDefinition = "TEXT")
+    // 압축해서 content_data에 저장
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_data", columnDefinition = "varbinary")
     private String content;
 
+    @Column(name = "storage_type", nullable = false, columnDefinition = "varchar(10) default 'FULL'")
+    private String storageType = STORAGE_FULL;
+
+    // 복원된 전체 내용의 길이 (델타 변환 전 기존 행은 null)
+    @Column(name = "content_size")
+    private Integer contentSize;
+
     @Column(name = "parent_id")
     private Long parentId;
 
@@ -56,6 +74,7 @@ public class WikiPageHistory {
         this.seqNbr = seqNbr;
         this.title = wikiPage.getTitle();
         this.content = wikiPage.getContent();
+        this.contentSize = wikiPage.getContent() != null ? wikiPage.getContent().length() : 0;
         this.parentId = wikiPage.getParent() != null ? wikiPage.getParent().getId() : null;
         this.depth = wikiPage.getDepth();
         this.path = wikiPage.getPath();
@@ -0,0 +1,111 @@
+package com.wiki.entity.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 본문 압축 저장 컨버터
+ * 문자열을 UTF-8로 인코딩한 뒤 DEFLATE(zlib)로 압축해 binary 컬럼에 저장합니다.
+ * <pre>
+ * [0]    MAGIC ('W')
+ * [1]    형식 (0: 무압축 UTF-8, 1: DEFLATE 압축 UTF-8)
+ * [2..]  본문
+ * </pre>
+ * 압축해도 작아지지 않는 짧은 본문은 무압축 형식으로 저장합니다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte MAGIC = 'W';
+    private static final byte FORMAT_RAW = 0;
+    private static final byte FORMAT_DEFLATE = 1;
+    private static final int HEADER_LENGTH = 2;
+
+    /** 이보다 짧은 본문은 압축하지 않음 (DEFLATE 오버헤드가 더 큼) */
+    private static final int MIN_COMPRESS_LENGTH = 64;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+
+        byte[] raw = attribute.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESS_LENGTH) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return withHeader(FORMAT_DEFLATE, compressed);
+            }
+        }
+        return withHeader(FORMAT_RAW, raw);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        if (dbData.length < HEADER_LENGTH || dbData[0] != MAGIC) {
+            throw new IllegalStateException("압축 본문 헤더가 올바르지 않습니다.");
+        }
+
+        byte[] body = Arrays.copyOfRange(dbData, HEADER_LENGTH, dbData.length);
+        return switch (dbData[1]) {
+            case FORMAT_RAW -> new String(body, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE -> new String(inflate(body), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("알 수 없는 본문 형식: " + dbData[1]);
+        };
+    }
+
+    private byte[] withHeader(byte format, byte[] body) {
+        byte[] data = new byte[HEADER_LENGTH + body.length];
+        data[0] = MAGIC;
+        data[1] = format;
+        System.arraycopy(body, 0, data, HEADER_LENGTH, body.length);
+        return data;
+    }
+
+    private byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축 본문이 손상되었습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.wiki.event;
+
+/**
+ * 위키 페이지 변경 이벤트
+ * WikiPageService의 쓰기 작업에서 발행되며, 트랜잭션 커밋 이후 캐시/인덱스 갱신에 사용됩니다.
+ *
+ * @param pageId 변경된 페이지 ID
+ * @param type 변경 유형
+ */
+public record WikiPageChangedEvent(Long pageId, Type type) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESTORED,
+        REORDERED,
+        MOVED
+    }
+}
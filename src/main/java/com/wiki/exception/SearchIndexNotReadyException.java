@@ -0,0 +1,19 @@
+package com.wiki.exception;
+
+/**
+ * 검색 색인을 아직 구성하는 중이라 검색할 수 없을 때 발생하는 예외
+ * 기동 직후 일시적인 상태이므로 503과 함께 다시 시도할 시간(Retry-After)을 알려 줍니다.
+ */
+public class SearchIndexNotReadyException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public SearchIndexNotReadyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
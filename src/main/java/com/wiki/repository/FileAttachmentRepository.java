@@ -2,9 +2,18 @@ package com.wiki.repository;
 
 import com.wiki.entity.FileAttachment;
 import com.wiki.entity.WikiPage;
+import com.wiki.repository.projection.SearchFieldView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +27,9 @@ public interface FileAttachmentRepository extends JpaRepository<FileAttachment,
     
     /**
      * 특정 위키 페이지의 모든 첨부 파일을 조회합니다.
-     * 업로드 시간 순으로 정렬됩니다.
+     * 업로드 시간 순으로 정렬됩니다. (쿼리 캐시 사용, 첨부 파일 변경 시 자동 무효화)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<FileAttachment> findByWikiPageOrderByUploadedAtDesc(WikiPage wikiPage);
     
     /**
@@ -28,8 +38,9 @@ public interface FileAttachmentRepository extends JpaRepository<FileAttachment,
     long countByWikiPage(WikiPage wikiPage);
     
     /**
-     * 저장된 파일명으로 첨부 파일을 조회합니다.
+     * 저장된 파일명으로 첨부 파일을 조회합니다. (파일 다운로드마다 호출되므로 쿼리 캐시 사용)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<FileAttachment> findByStoredFileName(String storedFileName);
     
     /**
@@ -42,4 +53,38 @@ public interface FileAttachmentRepository extends JpaRepository<FileAttachment,
      */
     List<FileAttachment> findByWikiPageAndOriginalFileNameContainingIgnoreCase(
             WikiPage wikiPage, String fileName);
-} 
\ No newline at end of file
+    
+    /**
+     * 여러 페이지에 첨부된 파일의 저장 경로를 조회합니다. (휴지통 영구 삭제용)
+     */
+    @Query("SELECT f.filePath FROM FileAttachment f WHERE f.wikiPage.id IN :pageIds")
+    List<String> findFilePathsByPageIds(@Param("pageIds") List<Long> pageIds);
+    
+    /**
+     * 여러 페이지의 첨부 파일 정보를 일괄 삭제합니다. (휴지통 영구 삭제용)
+     */
+    @Modifying
+    @Query("DELETE FROM FileAttachment f WHERE f.wikiPage.id IN :pageIds")
+    int deleteByPageIds(@Param("pageIds") List<Long> pageIds);
+    
+    /**
+     * 페이지에 첨부된 파일의 ID, 페이지 ID, 원본 파일명 (파일 ID 순 키셋 페이지네이션, 검색 색인 구성용)
+     */
+    @Query("SELECT f.id AS id, f.wikiPage.id AS pageId, f.originalFileName AS text FROM FileAttachment f " +
+           "WHERE f.wikiPage IS NOT NULL AND f.id > :afterId ORDER BY f.id")
+    List<SearchFieldView> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * since 이후 업로드된 페이지 첨부파일의 ID, 페이지 ID, 원본 파일명 (파일 ID 순 키셋 페이지네이션, 저장된 검색 색인을 연 뒤 변경분 반영용)
+     */
+    @Query("SELECT f.id AS id, f.wikiPage.id AS pageId, f.originalFileName AS text FROM FileAttachment f " +
+           "WHERE f.wikiPage IS NOT NULL AND f.uploadedAt > :since AND f.id > :afterId ORDER BY f.id")
+    List<SearchFieldView> findSearchFieldsUploadedAfter(@Param("since") LocalDateTime since,
+                                                        @Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * 페이지에 첨부된 파일 ID (저장된 검색 색인에서 그 사이 삭제된 첨부파일을 찾을 때 사용, 삭제 시각이 남지 않으므로 ID만 전체 조회)
+     */
+    @Query("SELECT f.id FROM FileAttachment f WHERE f.wikiPage IS NOT NULL")
+    List<Long> findAttachedIds();
+}
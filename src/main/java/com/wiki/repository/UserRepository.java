@@ -1,7 +1,10 @@
 package com.wiki.repository;
 
 import com.wiki.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -22,12 +25,13 @@ public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByLoginId(String loginId);
     
     /**
-     * 활성 사용자 여부 확인 (로그인 ID + 활성 상태)
+     * 활성 사용자 여부 확인 (로그인 ID + 활성 상태, 쿼리 캐시 사용)
      * 
      * @param loginId 로그인 ID
      * @param isActive 활성 여부
      * @return 사용자 정보 (Optional)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByLoginIdAndIsActive(String loginId, Boolean isActive);
     
     /**
@@ -1,11 +1,15 @@
 package com.wiki.repository;
 
 import com.wiki.entity.WikiPageComment;
+import com.wiki.repository.projection.SearchFieldView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -50,4 +54,32 @@ public interface WikiPageCommentRepository extends JpaRepository<WikiPageComment
      */
     @Query("SELECT c FROM WikiPageComment c WHERE c.commentId = :commentId AND c.delYn = 'N'")
     WikiPageComment findActiveCommentById(@Param("commentId") Long commentId);
-} 
\ No newline at end of file
+    
+    /**
+     * 활성 댓글의 ID, 페이지 ID, 내용 (댓글 ID 순 키셋 페이지네이션, 검색 색인 구성용)
+     */
+    @Query("SELECT c.commentId AS id, c.wikiPageId AS pageId, c.content AS text FROM WikiPageComment c " +
+           "WHERE c.delYn = 'N' AND c.commentId > :afterId ORDER BY c.commentId")
+    List<SearchFieldView> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * since 이후 작성/수정된 활성 댓글 (댓글 ID 순 키셋 페이지네이션, 저장된 검색 색인을 연 뒤 변경분 반영용)
+     */
+    @Query("SELECT c.commentId AS id, c.wikiPageId AS pageId, c.content AS text FROM WikiPageComment c " +
+           "WHERE c.delYn = 'N' AND c.updatedAt > :since AND c.commentId > :afterId ORDER BY c.commentId")
+    List<SearchFieldView> findSearchFieldsUpdatedAfter(@Param("since") LocalDateTime since,
+                                                       @Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * since 이후 논리삭제된 댓글 ID (저장된 검색 색인을 연 뒤 변경분 반영용)
+     */
+    @Query("SELECT c.commentId FROM WikiPageComment c WHERE c.delYn = 'Y' AND c.updatedAt > :since")
+    List<Long> findDeletedIdsUpdatedAfter(@Param("since") LocalDateTime since);
+    
+    /**
+     * 여러 페이지의 댓글을 논리삭제 여부와 관계없이 일괄 삭제합니다. (휴지통 영구 삭제용)
+     */
+    @Modifying
+    @Query("DELETE FROM WikiPageComment c WHERE c.wikiPageId IN :pageIds")
+    int deleteByPageIds(@Param("pageIds") List<Long> pageIds);
+}
@@ -2,6 +2,8 @@ package com.wiki.repository;
 
 import com.wiki.entity.WikiPageHistory;
 import com.wiki.entity.WikiPageHistoryId;
+import com.wiki.repository.projection.WikiPageHistoryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +19,19 @@ public interface WikiPageHistoryRepository extends JpaRepository<WikiPageHistory
     // 특정 페이지의 모든 히스토리 조회 (최신순)
     List<WikiPageHistory> findByIdOrderBySeqNbrDesc(Long id);
     
+    // 특정 페이지의 히스토리 개수 조회
+    long countById(Long id);
+    
+    // 특정 페이지의 히스토리 메타데이터 조회 (최신순, beforeSeqNbr 미만만 - 키셋 페이지네이션)
+    @Query("SELECT h.seqNbr AS seqNbr, h.title AS title, h.modifyStaffId AS modifyStaffId, " +
+           "h.updatedAt AS updatedAt, COALESCE(h.contentSize, 0) AS size " +
+           "FROM WikiPageHistory h " +
+           "WHERE h.id = :id AND (:beforeSeqNbr IS NULL OR h.seqNbr < :beforeSeqNbr) " +
+           "ORDER BY h.seqNbr DESC")
+    List<WikiPageHistoryView> findHistoryViews(@Param("id") Long id,
+                                               @Param("beforeSeqNbr") Integer beforeSeqNbr,
+                                               Pageable pageable);
+    
     // 특정 페이지의 최신 시퀀스 번호 조회
     @Query("SELECT MAX(h.seqNbr) FROM WikiPageHistory h WHERE h.id = :id")
     Optional<Integer> findMaxSeqNbrById(@Param("id") Long id);
@@ -24,8 +39,28 @@ public interface WikiPageHistoryRepository extends JpaRepository<WikiPageHistory
     // 특정 페이지의 특정 버전 조회
     Optional<WikiPageHistory> findByIdAndSeqNbr(Long id, Integer seqNbr);
     
+    // 특정 버전 이하에서 가장 가까운 키프레임(전체 내용 저장) 버전 조회
+    @Query("SELECT MAX(h.seqNbr) FROM WikiPageHistory h " +
+           "WHERE h.id = :id AND h.seqNbr <= :seqNbr AND h.storageType = 'FULL'")
+    Optional<Integer> findKeyframeSeqNbr(@Param("id") Long id, @Param("seqNbr") Integer seqNbr);
+    
+    // 특정 페이지의 버전 구간 조회 (키프레임부터 델타를 차례로 적용할 때 사용)
+    List<WikiPageHistory> findByIdAndSeqNbrBetweenOrderBySeqNbrAsc(Long id, Integer fromSeqNbr, Integer toSeqNbr);
+    
+    // 델타 변환 전 히스토리가 남아 있는 페이지 ID 조회 (일회성 마이그레이션용)
+    @Query("SELECT DISTINCT h.id FROM WikiPageHistory h WHERE h.contentSize IS NULL")
+    List<Long> findPageIdsWithLegacyHistory();
+    
+    // 특정 페이지의 버전을 seqNbr 순으로 일부씩 조회 (afterSeqNbr 초과)
+    List<WikiPageHistory> findByIdAndSeqNbrGreaterThanOrderBySeqNbrAsc(Long id, Integer afterSeqNbr, Pageable pageable);
+    
     // 특정 페이지의 모든 히스토리 삭제
     @Modifying
     @Query("DELETE FROM WikiPageHistory h WHERE h.id = :id")
     void deleteByPageId(@Param("id") Long id);
-} 
\ No newline at end of file
+    
+    // 여러 페이지의 히스토리 일괄 삭제 (휴지통 영구 삭제용)
+    @Modifying
+    @Query("DELETE FROM WikiPageHistory h WHERE h.id IN :ids")
+    int deleteByPageIds(@Param("ids") List<Long> ids);
+}
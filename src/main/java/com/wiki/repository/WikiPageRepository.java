@@ -1,34 +1,248 @@
 package com.wiki.repository;
 
 import com.wiki.entity.WikiPage;
+import com.wiki.repository.projection.TrashedPageView;
+import com.wiki.repository.projection.WikiPageContentView;
+import com.wiki.repository.projection.WikiPageFacetView;
+import com.wiki.repository.projection.WikiPageFeedView;
+import com.wiki.repository.projection.WikiPageSummaryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WikiPageRepository extends JpaRepository<WikiPage, Long> {
+
+    /** WikiPageSummaryView 프로젝션 공통 SELECT 절 (content 미조회) */
+    String SUMMARY_SELECT = "SELECT w.id AS id, w.parent.id AS parentId, w.title AS title, w.depth AS depth, w.path AS path, " +
+                            "w.displayOrder AS displayOrder, w.pageType AS pageType, w.updatedAt AS updatedAt FROM WikiPage w ";
+
+    /** WikiPageFeedView 프로젝션 공통 SELECT 절 (content 미조회) */
+    String FEED_SELECT = "SELECT w.id AS id, w.title AS title, w.parent.id AS parentId, w.path AS path, " +
+                         "w.pageType AS pageType, w.modifyStaffId AS modifyStaffId, " +
+                         "w.createdAt AS createdAt, w.updatedAt AS updatedAt FROM WikiPage w ";
+
     Optional<WikiPage> findByTitle(String title);
     void deleteByTitle(String title);
-    List<WikiPage> findTop10ByOrderByUpdatedAtDesc();
-    List<WikiPage> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(String titleQuery, String contentQuery);
     boolean existsByTitle(String title);
     List<WikiPage> findByParentIsNullOrderByUpdatedAtDesc();
     List<WikiPage> findByParentIsNullOrderByDisplayOrderAscUpdatedAtDesc();
     List<WikiPage> findByParentOrderByDisplayOrderAscUpdatedAtDesc(WikiPage parent);
-    List<WikiPage> findByTitleContainingIgnoreCase(String query);
+    List<WikiPage> findByParentOrderByDisplayOrderAscUpdatedAtAsc(WikiPage parent);
+    
+    /** WikiPageContentView 프로젝션 공통 SELECT 절 (본문 포함) */
+    String CONTENT_SELECT = "SELECT w.id AS id, w.title AS title, w.content AS content, w.updatedAt AS updatedAt, " +
+                            "w.version AS version, w.pageType AS pageType, w.modifyStaffId AS modifyStaffId FROM WikiPage w ";
+
+    /**
+     * 본문 포함 조회 (ID 순 키셋 페이지네이션, 검색 색인 구성용)
+     */
+    @Query(CONTENT_SELECT + "WHERE w.id > :afterId ORDER BY w.id")
+    List<WikiPageContentView> findContentViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * since 이후 수정된 페이지 본문 포함 조회 (ID 순 키셋 페이지네이션, 저장된 검색 색인 세그먼트를 연 뒤 변경분 반영용)
+     */
+    @Query(CONTENT_SELECT + "WHERE w.updatedAt > :since AND w.id > :afterId ORDER BY w.id")
+    List<WikiPageContentView> findContentViewsUpdatedAfter(@Param("since") LocalDateTime since,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 페이지들을 본문 포함으로 조회합니다. (검색 색인 세그먼트에 없는 페이지 반영용)
+     */
+    @Query(CONTENT_SELECT + "WHERE w.id IN :ids")
+    List<WikiPageContentView> findContentViewsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 휴지통에 없는 전체 페이지의 ID, 페이지 타입, 수정자
+     * (검색 색인 세그먼트와 삭제/복원 상태를 맞추고 검색 필터 색인을 채울 때 사용)
+     */
+    @Query("SELECT w.id AS id, w.pageType AS pageType, w.modifyStaffId AS modifyStaffId FROM WikiPage w ORDER BY w.id")
+    List<WikiPageFacetView> findAllFacetViews();
+
+    /**
+     * 페이지와 하위 트리 전체를 본문 포함으로 조회합니다. (휴지통 복원 후 검색 색인 반영용)
+     */
+    @Query(CONTENT_SELECT + "WHERE w.id = :id OR w.path LIKE CONCAT(:pathPrefix, '%')")
+    List<WikiPageContentView> findSubtreeContentViews(@Param("id") Long id, @Param("pathPrefix") String pathPrefix);
+
+    /**
+     * 페이지와 하위 트리 전체의 ID를 조회합니다. (휴지통 이동 시 검색 색인 제거용)
+     */
+    @Query("SELECT w.id FROM WikiPage w WHERE w.id = :id OR w.path LIKE CONCAT(:pathPrefix, '%')")
+    List<Long> findSubtreeIds(@Param("id") Long id, @Param("pathPrefix") String pathPrefix);
     
     /**
-     * 최근 일주일 동안 작성된 페이지 조회
+     * 제목 검색 (요약 프로젝션, content 미조회)
+     */
+    @Query(SUMMARY_SELECT + "WHERE LOWER(w.title) LIKE LOWER(CONCAT('%', :query, '%'))")
+    List<WikiPageSummaryView> findSummariesByTitleContaining(@Param("query") String query);
+    
+    /**
+     * startDate 이후 작성된 페이지 피드 첫 페이지 (작성일시, ID 역순)
+     * (created_at, id) 인덱스 순서 그대로 읽으므로 pageable 크기만큼만 조회합니다.
+     */
+    @Query(FEED_SELECT + "WHERE w.createdAt >= :startDate ORDER BY w.createdAt DESC, w.id DESC")
+    List<WikiPageFeedView> findCreatedFeed(@Param("startDate") LocalDateTime startDate, Pageable pageable);
+
+    /**
+     * 작성 피드 다음 페이지 (커서 위치 (작성일시, ID) 이후 - 키셋 페이지네이션)
+     * createdAt <= :cursorAt 조건은 결과에는 영향이 없고, 인덱스 탐색을 커서 위치부터 시작하게 합니다.
      */
-    @Query("SELECT w FROM WikiPage w WHERE w.createdAt >= :startDate ORDER BY w.createdAt DESC")
-    List<WikiPage> findPagesCreatedAfter(@Param("startDate") LocalDateTime startDate);
+    @Query(FEED_SELECT + "WHERE w.createdAt >= :startDate AND w.createdAt <= :cursorAt " +
+           "AND (w.createdAt < :cursorAt OR (w.createdAt = :cursorAt AND w.id < :cursorId)) " +
+           "ORDER BY w.createdAt DESC, w.id DESC")
+    List<WikiPageFeedView> findCreatedFeedBefore(@Param("startDate") LocalDateTime startDate,
+                                                 @Param("cursorAt") LocalDateTime cursorAt,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    /**
+     * 최근 수정된 페이지 피드 첫 페이지 (수정일시, ID 역순)
+     */
+    @Query(FEED_SELECT + "ORDER BY w.updatedAt DESC, w.id DESC")
+    List<WikiPageFeedView> findUpdatedFeed(Pageable pageable);
+
+    /**
+     * 수정 피드 다음 페이지 (커서 위치 (수정일시, ID) 이후 - 키셋 페이지네이션)
+     */
+    @Query(FEED_SELECT + "WHERE w.updatedAt <= :cursorAt " +
+           "AND (w.updatedAt < :cursorAt OR (w.updatedAt = :cursorAt AND w.id < :cursorId)) " +
+           "ORDER BY w.updatedAt DESC, w.id DESC")
+    List<WikiPageFeedView> findUpdatedFeedBefore(@Param("cursorAt") LocalDateTime cursorAt,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
     
     // PAGE_TYPE별 조회
     List<WikiPage> findByPageTypeAndParentIsNullOrderByDisplayOrderAsc(String pageType);
     List<WikiPage> findByPageTypeOrderByUpdatedAtDesc(String pageType);
-} 
\ No newline at end of file
+
+    /**
+     * 네비게이션 트리 구성용 전체 페이지 조회 (단일 쿼리)
+     * 형제 페이지 정렬 순서(displayOrder, updatedAt)대로 반환하므로 메모리에서 재정렬 없이 트리를 조립할 수 있습니다.
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY w.displayOrder ASC, w.updatedAt ASC")
+    List<WikiPageSummaryView> findAllTreeNodes();
+
+    /**
+     * 하위 트리를 지정한 depth까지만 조회합니다. (요약 프로젝션, 형제 정렬 순서)
+     * 
+     * @param pathPrefix 하위 페이지 path 접두사 (페이지 path + id + "/")
+     * @param maxDepth 조회할 최대 depth (포함)
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.path LIKE CONCAT(:pathPrefix, '%') AND w.depth <= :maxDepth " +
+           "ORDER BY w.displayOrder ASC, w.updatedAt ASC")
+    List<WikiPageSummaryView> findSubtreeSummaries(@Param("pathPrefix") String pathPrefix,
+                                                   @Param("maxDepth") int maxDepth);
+
+    /**
+     * ID 목록으로 요약 프로젝션을 조회합니다. (경로 표시용 상위 페이지 조회 등)
+     */
+    @Query(SUMMARY_SELECT + "WHERE w.id IN :ids")
+    List<WikiPageSummaryView> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * 하위 트리 전체의 path와 depth를 한 번에 변경합니다.
+     * path가 oldPrefix로 시작하는 모든 페이지의 접두사를 newPrefix로 바꾸고 depth에 depthDelta를 더합니다.
+     * 
+     * @param oldPrefix 이동 전 하위 페이지 path 접두사 (이동 페이지의 path + id + "/")
+     * @param oldPrefixLength oldPrefix 길이
+     * @param newPrefix 이동 후 하위 페이지 path 접두사
+     * @param depthDelta depth 변화량
+     * @return 변경된 페이지 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WikiPage w SET w.path = CONCAT(:newPrefix, SUBSTRING(w.path, :oldPrefixLength + 1)), " +
+           "w.depth = w.depth + :depthDelta WHERE w.path LIKE CONCAT(:oldPrefix, '%')")
+    int moveSubtree(@Param("oldPrefix") String oldPrefix,
+                    @Param("oldPrefixLength") int oldPrefixLength,
+                    @Param("newPrefix") String newPrefix,
+                    @Param("depthDelta") int depthDelta);
+
+    /**
+     * 하위 트리 전체의 path, depth, 페이지 타입을 한 번에 변경합니다.
+     * 새 부모 아래로 이동하면서 부모의 페이지 타입을 상속받을 때 사용합니다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WikiPage w SET w.path = CONCAT(:newPrefix, SUBSTRING(w.path, :oldPrefixLength + 1)), " +
+           "w.depth = w.depth + :depthDelta, w.pageType = :pageType WHERE w.path LIKE CONCAT(:oldPrefix, '%')")
+    int moveSubtreeWithPageType(@Param("oldPrefix") String oldPrefix,
+                                @Param("oldPrefixLength") int oldPrefixLength,
+                                @Param("newPrefix") String newPrefix,
+                                @Param("depthDelta") int depthDelta,
+                                @Param("pageType") String pageType);
+
+    /**
+     * 페이지와 하위 트리 전체를 휴지통으로 이동합니다. (path 접두사 기반 일괄 UPDATE)
+     * 이미 휴지통에 있는 하위 페이지는 기존 삭제 시각을 유지합니다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WikiPage w SET w.delYn = 'Y', w.deletedAt = :deletedAt " +
+           "WHERE w.delYn = 'N' AND (w.id = :id OR w.path LIKE CONCAT(:pathPrefix, '%'))")
+    int trashSubtree(@Param("id") Long id,
+                     @Param("pathPrefix") String pathPrefix,
+                     @Param("deletedAt") LocalDateTime deletedAt);
+
+    // 이하 휴지통 관련 쿼리는 엔티티 조회 제한(del_yn = 'N')을 우회하기 위해 네이티브 쿼리 사용
+
+    /**
+     * 휴지통의 삭제 단위(직접 삭제된 최상위 페이지) 목록을 조회합니다.
+     * 부모가 없거나, 부모가 살아 있거나, 부모와 삭제 시각이 다른 페이지가 삭제 단위입니다.
+     */
+    @Query(value = "SELECT w.id AS id, w.title AS title, w.path AS path, w.parent_id AS parentId, w.deleted_at AS deletedAt " +
+                   "FROM wiki_page w LEFT JOIN wiki_page p ON p.id = w.parent_id " +
+                   "WHERE w.del_yn = 'Y' AND (p.id IS NULL OR p.del_yn = 'N' OR p.deleted_at <> w.deleted_at) " +
+                   "ORDER BY w.deleted_at DESC", nativeQuery = true)
+    List<TrashedPageView> findTrashRoots();
+
+    @Query(value = "SELECT w.id AS id, w.title AS title, w.path AS path, w.parent_id AS parentId, w.deleted_at AS deletedAt " +
+                   "FROM wiki_page w WHERE w.id = :id AND w.del_yn = 'Y'", nativeQuery = true)
+    Optional<TrashedPageView> findTrashedById(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM wiki_page w WHERE w.title = :title AND w.del_yn = 'Y'", nativeQuery = true)
+    boolean existsTrashedByTitle(@Param("title") String title);
+
+    /**
+     * 휴지통에 있는 하위 트리 전체의 페이지 ID를 조회합니다.
+     * 먼저 따로 삭제된 하위 페이지도 포함합니다.
+     */
+    @Query(value = "SELECT w.id FROM wiki_page w WHERE w.del_yn = 'Y' " +
+                   "AND (w.id = :id OR w.path LIKE CONCAT(:pathPrefix, '%'))", nativeQuery = true)
+    List<Long> findTrashedSubtreeIds(@Param("id") Long id, @Param("pathPrefix") String pathPrefix);
+
+    /**
+     * 같은 삭제 작업으로 휴지통에 들어간 하위 트리를 복원합니다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE wiki_page SET del_yn = 'N', deleted_at = NULL WHERE del_yn = 'Y' AND deleted_at = :deletedAt " +
+                   "AND (id = :id OR path LIKE CONCAT(:pathPrefix, '%'))", nativeQuery = true)
+    int restoreSubtree(@Param("id") Long id,
+                       @Param("pathPrefix") String pathPrefix,
+                       @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * 보관 기간이 지난 휴지통 페이지 ID를 최대 limit개 조회합니다.
+     */
+    @Query(value = "SELECT w.id FROM wiki_page w WHERE w.del_yn = 'Y' AND w.deleted_at < :cutoff " +
+                   "ORDER BY w.id LIMIT :limit", nativeQuery = true)
+    List<Long> findExpiredTrashIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * ids 중 아직 휴지통에 있는 페이지 ID를 행 잠금과 함께 조회합니다. (영구 삭제 배치용)
+     * 잠근 뒤에는 커밋할 때까지 복원되지 않으므로, 조회 이후 복원된 페이지의 히스토리/첨부파일을 지우지 않습니다.
+     */
+    @Query(value = "SELECT w.id FROM wiki_page w WHERE w.del_yn = 'Y' AND w.id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Long> lockTrashedIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM wiki_page WHERE del_yn = 'Y' AND id IN (:ids)", nativeQuery = true)
+    int purgeTrashedPages(@Param("ids") List<Long> ids);
+}
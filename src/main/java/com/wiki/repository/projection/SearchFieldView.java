@@ -0,0 +1,11 @@
+package com.wiki.repository.projection;
+
+/**
+ * 검색 색인 부속 필드 프로젝션 (댓글 내용, 첨부파일 이름)
+ * 부속 필드는 검색 색인 세그먼트에 저장하지 않으므로 기동할 때 항목 ID, 부모 페이지 ID와 텍스트만 읽어 색인합니다.
+ */
+public interface SearchFieldView {
+    Long getId();
+    Long getPageId();
+    String getText();
+}
@@ -0,0 +1,15 @@
+package com.wiki.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 휴지통 페이지 프로젝션
+ * 휴지통 페이지는 엔티티 조회에서 제외되므로 네이티브 쿼리로 조회합니다.
+ */
+public interface TrashedPageView {
+    Long getId();
+    String getTitle();
+    String getPath();
+    Long getParentId();
+    LocalDateTime getDeletedAt();
+}
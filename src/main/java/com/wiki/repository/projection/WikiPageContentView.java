@@ -0,0 +1,17 @@
+package com.wiki.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 색인 구성용 WikiPage 프로젝션
+ * 본문은 압축 저장되어 DB에서 검색할 수 없으므로, 일부씩 읽어 WikiPageSearchIndex에 색인합니다.
+ */
+public interface WikiPageContentView {
+    Long getId();
+    String getTitle();
+    String getContent();
+    LocalDateTime getUpdatedAt();
+    Long getVersion();
+    String getPageType();
+    String getModifyStaffId();
+}
@@ -0,0 +1,11 @@
+package com.wiki.repository.projection;
+
+/**
+ * 검색 필터용 WikiPage 프로젝션
+ * 저장된 검색 색인 세그먼트에는 페이지 타입/수정자가 없으므로, 세그먼트를 연 뒤 이 컬럼만 읽어 필터 색인을 채웁니다.
+ */
+public interface WikiPageFacetView {
+    Long getId();
+    String getPageType();
+    String getModifyStaffId();
+}
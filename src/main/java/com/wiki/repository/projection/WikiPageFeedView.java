@@ -0,0 +1,18 @@
+package com.wiki.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 최근 작성/수정 피드용 WikiPage 프로젝션
+ * content 컬럼과 하위 트리 없이 목록 한 줄에 필요한 컬럼만 조회합니다.
+ */
+public interface WikiPageFeedView {
+    Long getId();
+    String getTitle();
+    Long getParentId();
+    String getPath();
+    String getPageType();
+    String getModifyStaffId();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,15 @@
+package com.wiki.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 페이지 히스토리 메타데이터 프로젝션
+ * 버전 목록 조회 시 content 컬럼을 읽지 않고 길이만 계산합니다.
+ */
+public interface WikiPageHistoryView {
+    Integer getSeqNbr();
+    String getTitle();
+    String getModifyStaffId();
+    LocalDateTime getUpdatedAt();
+    Integer getSize();
+}
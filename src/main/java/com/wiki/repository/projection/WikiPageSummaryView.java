@@ -0,0 +1,18 @@
+package com.wiki.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록/트리 조회용 WikiPage 요약 프로젝션
+ * content 컬럼과 연관관계를 로딩하지 않고 Summary 응답에 필요한 컬럼만 조회합니다.
+ */
+public interface WikiPageSummaryView {
+    Long getId();
+    Long getParentId();
+    String getTitle();
+    Integer getDepth();
+    String getPath();
+    Integer getDisplayOrder();
+    String getPageType();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,149 @@
+package com.wiki.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 페이지 내용 델타 인코더
+ * 이전 버전(base) 대비 새 버전(target)을 복사/삽입 명령의 나열로 표현합니다.
+ * <ul>
+ *   <li>{@code =offset,length;} base의 offset부터 length만큼 복사</li>
+ *   <li>{@code +length:text} text(length 글자)를 그대로 삽입</li>
+ * </ul>
+ * base를 BLOCK 글자 단위로 해시해 두고 target을 롤링 해시로 훑으며 일치 구간을 찾으므로
+ * 여러 곳을 고친 편집도 O(n)에 인코딩됩니다.
+ */
+final class ContentDelta {
+
+    /** 일치 구간 탐색 단위 (이보다 짧은 공통 구간은 삽입으로 기록) */
+    private static final int BLOCK = 16;
+
+    private static final int PRIME = 31;
+
+    /** PRIME^(BLOCK-1), 롤링 해시에서 빠지는 글자의 가중치 */
+    private static final int OUT_WEIGHT;
+
+    static {
+        int weight = 1;
+        for (int i = 1; i < BLOCK; i++) {
+            weight *= PRIME;
+        }
+        OUT_WEIGHT = weight;
+    }
+
+    private ContentDelta() {}
+
+    /**
+     * base를 target으로 바꾸는 델타를 만듭니다.
+     */
+    static String encode(String base, String target) {
+        StringBuilder delta = new StringBuilder();
+        int targetLength = target.length();
+        if (base.length() < BLOCK || targetLength < BLOCK) {
+            appendInsert(delta, target, 0, targetLength);
+            return delta.toString();
+        }
+
+        // base의 블록 시작 위치 인덱스 (같은 해시는 첫 위치만 유지)
+        Map<Integer, Integer> blocks = new HashMap<>();
+        for (int offset = 0; offset + BLOCK <= base.length(); offset += BLOCK) {
+            blocks.putIfAbsent(hash(base, offset), offset);
+        }
+
+        int insertStart = 0;
+        int i = 0;
+        int h = hash(target, 0);
+        while (i + BLOCK <= targetLength) {
+            Integer candidate = blocks.get(h);
+            if (candidate != null && base.regionMatches(candidate, target, i, BLOCK)) {
+                int copyFrom = candidate;
+                int copyStart = i;
+                int copyEnd = i + BLOCK;
+                int baseEnd = candidate + BLOCK;
+                while (copyEnd < targetLength && baseEnd < base.length()
+                        && base.charAt(baseEnd) == target.charAt(copyEnd)) {
+                    copyEnd++;
+                    baseEnd++;
+                }
+                while (copyStart > insertStart && copyFrom > 0
+                        && base.charAt(copyFrom - 1) == target.charAt(copyStart - 1)) {
+                    copyStart--;
+                    copyFrom--;
+                }
+                // 서로게이트 쌍이 삽입 텍스트와 복사 구간으로 나뉘지 않도록 경계를 안쪽으로 조정
+                if (Character.isLowSurrogate(target.charAt(copyStart))) {
+                    copyStart++;
+                    copyFrom++;
+                }
+                if (Character.isHighSurrogate(target.charAt(copyEnd - 1))) {
+                    copyEnd--;
+                }
+
+                if (copyEnd - copyStart >= BLOCK) {
+                    appendInsert(delta, target, insertStart, copyStart);
+                    delta.append('=').append(copyFrom).append(',').append(copyEnd - copyStart).append(';');
+                    insertStart = copyEnd;
+                    i = copyEnd;
+                    if (i + BLOCK <= targetLength) {
+                        h = hash(target, i);
+                    }
+                    continue;
+                }
+            }
+
+            if (i + BLOCK < targetLength) {
+                h = (h - target.charAt(i) * OUT_WEIGHT) * PRIME + target.charAt(i + BLOCK);
+            }
+            i++;
+        }
+        appendInsert(delta, target, insertStart, targetLength);
+        return delta.toString();
+    }
+
+    /**
+     * base에 델타를 적용해 새 버전을 복원합니다.
+     *
+     * @throws IllegalStateException 델타 형식이 잘못되었거나 base와 맞지 않는 경우
+     */
+    static String apply(String base, String delta) {
+        StringBuilder result = new StringBuilder();
+        int pos = 0;
+        try {
+            while (pos < delta.length()) {
+                char op = delta.charAt(pos);
+                if (op == '=') {
+                    int comma = delta.indexOf(',', pos);
+                    int end = delta.indexOf(';', comma);
+                    int offset = Integer.parseInt(delta.substring(pos + 1, comma));
+                    int length = Integer.parseInt(delta.substring(comma + 1, end));
+                    result.append(base, offset, offset + length);
+                    pos = end + 1;
+                } else if (op == '+') {
+                    int colon = delta.indexOf(':', pos);
+                    int length = Integer.parseInt(delta.substring(pos + 1, colon));
+                    result.append(delta, colon + 1, colon + 1 + length);
+                    pos = colon + 1 + length;
+                } else {
+                    throw new IllegalStateException("알 수 없는 델타 명령: " + op + " (위치 " + pos + ")");
+                }
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalStateException("손상된 델타입니다 (위치 " + pos + ")", e);
+        }
+        return result.toString();
+    }
+
+    private static void appendInsert(StringBuilder delta, String target, int start, int end) {
+        if (end > start) {
+            delta.append('+').append(end - start).append(':').append(target, start, end);
+        }
+    }
+
+    private static int hash(String text, int offset) {
+        int h = 0;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            h = h * PRIME + text.charAt(i);
+        }
+        return h;
+    }
+}
@@ -0,0 +1,582 @@
+package com.wiki.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * 디스크에 쓴 불변 검색 색인 세그먼트
+ * 세그먼트마다 파일 두 개를 쓰고 FileChannel로 메모리 매핑해 읽기만 하므로, 크기와 관계없이 여는 데 수 밀리초면 됩니다.
+ * - .idx: 헤더, 페이지 표(페이지 ID 순 고정 길이 항목), 토큰 표(토큰 문자열 순), 포스팅, 삭제 표시, 토큰 문자열
+ * - .dat: 페이지별 제목, 본문 텍스트, term vector (토큰 ID는 이 세그먼트의 토큰 표 번호)
+ * 포스팅은 (페이지 번호, 제목 출현 횟수, 본문 출현 횟수) 12바이트 고정 길이로 페이지 번호 순이므로 페이지 ID로 이진 탐색합니다.
+ * 삭제 표시는 이 세그먼트가 메모리에 있는 동안 지워진 페이지 ID로, 더 오래된 세그먼트의 같은 페이지를 가립니다.
+ * 매핑 하나는 2GB를 넘을 수 없으므로 파일이 그보다 커지는 세그먼트는 쓰지 않습니다.
+ */
+final class DiskSegment implements SearchSegment {
+
+    static final String INDEX_SUFFIX = ".idx";
+    static final String DATA_SUFFIX = ".dat";
+
+    /** "WSIX" */
+    private static final int MAGIC = 0x57534958;
+    private static final int FORMAT_VERSION = 1;
+    /** magic, 형식 버전, 페이지 수, 토큰 수, 삭제 표시 수, 예약 (int 6개) + 구역 시작 위치 (long 5개) */
+    private static final int HEADER_SIZE = 64;
+    /** 페이지 ID, 버전, 수정 시각(초, 나노초), 제목/본문 토큰 수, .dat 위치 */
+    private static final int DOCUMENT_ENTRY_SIZE = 44;
+    /** 토큰 문자열 위치, 길이(바이트), 문서 빈도, 포스팅 위치 */
+    private static final int TERM_ENTRY_SIZE = 24;
+    private static final int POSTING_SIZE = 12;
+    /** 수정 시각이 없는 페이지 */
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final String name;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer data;
+    private final int documentCount;
+    private final int termCount;
+    private final int tombstoneCount;
+    private final int documentTableOffset;
+    private final int termTableOffset;
+    private final int postingsOffset;
+    private final int tombstonesOffset;
+    /** 페이지 표의 페이지 ID (포스팅의 페이지 번호 → ID 변환과 ID 탐색이 잦아 힙에 복사, 페이지당 8바이트) */
+    private final long[] pageIds;
+    /** 한 글자 한글 검색용 토큰 문자열 (처음 쓸 때 읽음) */
+    private volatile String[] terms;
+
+    private DiskSegment(String name, MappedByteBuffer index, MappedByteBuffer data) {
+        this.name = name;
+        this.index = index;
+        this.data = data;
+        this.documentCount = index.getInt(8);
+        this.termCount = index.getInt(12);
+        this.tombstoneCount = index.getInt(16);
+        this.documentTableOffset = (int) index.getLong(24);
+        this.termTableOffset = (int) index.getLong(32);
+        this.postingsOffset = (int) index.getLong(40);
+        this.tombstonesOffset = (int) index.getLong(48);
+        this.pageIds = new long[documentCount];
+        for (int ordinal = 0; ordinal < documentCount; ordinal++) {
+            pageIds[ordinal] = index.getLong(documentTableOffset + ordinal * DOCUMENT_ENTRY_SIZE);
+        }
+    }
+
+    /**
+     * 세그먼트 파일을 읽기 전용으로 매핑합니다.
+     */
+    static DiskSegment open(Path directory, String name) throws IOException {
+        MappedByteBuffer index = map(directory.resolve(name + INDEX_SUFFIX));
+        MappedByteBuffer data = map(directory.resolve(name + DATA_SUFFIX));
+        if (index.capacity() < HEADER_SIZE || index.getInt(0) != MAGIC || index.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("검색 색인 세그먼트 형식이 올바르지 않습니다: " + name);
+        }
+        return new DiskSegment(name, index, data);
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("검색 색인 세그먼트 파일이 너무 큽니다: " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    int documentCount() {
+        return documentCount;
+    }
+
+    long pageIdAt(int ordinal) {
+        return pageIds[ordinal];
+    }
+
+    long[] tombstones() {
+        long[] pageIds = new long[tombstoneCount];
+        for (int i = 0; i < tombstoneCount; i++) {
+            pageIds[i] = index.getLong(tombstonesOffset + i * Long.BYTES);
+        }
+        return pageIds;
+    }
+
+    /** 페이지 번호 (없으면 음수) */
+    private int ordinalOf(long pageId) {
+        return Arrays.binarySearch(pageIds, pageId);
+    }
+
+    private int entry(long pageId) {
+        int ordinal = ordinalOf(pageId);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("세그먼트에 없는 페이지입니다: " + pageId);
+        }
+        return documentTableOffset + ordinal * DOCUMENT_ENTRY_SIZE;
+    }
+
+    @Override
+    public int[] matchingTermIds(String term) {
+        if (!SearchTokenizer.isSingleHangul(term)) {
+            int termId = termIdOf(term);
+            return termId >= 0 ? new int[] {termId} : new int[0];
+        }
+        String[] dictionary = dictionary();
+        return IntStream.range(0, dictionary.length)
+                .filter(i -> dictionary[i].length() <= 2 && dictionary[i].indexOf(term.charAt(0)) >= 0)
+                .toArray();
+    }
+
+    private int termIdOf(String term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = term(mid).compareTo(term);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private String[] dictionary() {
+        String[] dictionary = terms;
+        if (dictionary == null) {
+            dictionary = new String[termCount];
+            for (int i = 0; i < termCount; i++) {
+                dictionary[i] = term(i);
+            }
+            terms = dictionary;
+        }
+        return dictionary;
+    }
+
+    @Override
+    public Postings postings(int termId) {
+        int entry = termTableOffset + termId * TERM_ENTRY_SIZE;
+        return new DiskPostings((int) index.getLong(entry + 16), index.getInt(entry + 12));
+    }
+
+    @Override
+    public int termCount() {
+        return termCount;
+    }
+
+    @Override
+    public String term(int termId) {
+        int entry = termTableOffset + termId * TERM_ENTRY_SIZE;
+        return readString(index, (int) index.getLong(entry), index.getInt(entry + 8));
+    }
+
+    @Override
+    public long postingCount() {
+        return (long) (tombstonesOffset - postingsOffset) / POSTING_SIZE;
+    }
+
+    @Override
+    public long version(long pageId) {
+        int ordinal = ordinalOf(pageId);
+        return ordinal >= 0 ? index.getLong(documentTableOffset + ordinal * DOCUMENT_ENTRY_SIZE + 8) : -1;
+    }
+
+    @Override
+    public LocalDateTime updatedAt(long pageId) {
+        int entry = entry(pageId);
+        long seconds = index.getLong(entry + 16);
+        return seconds == NO_TIMESTAMP ? null
+                : LocalDateTime.ofEpochSecond(seconds, index.getInt(entry + 24), ZoneOffset.UTC);
+    }
+
+    @Override
+    public int titleLength(long pageId) {
+        return index.getInt(entry(pageId) + 28);
+    }
+
+    @Override
+    public int contentLength(long pageId) {
+        return index.getInt(entry(pageId) + 32);
+    }
+
+    @Override
+    public String title(long pageId) {
+        int position = dataOffset(pageId);
+        return readString(data, position + Integer.BYTES, data.getInt(position));
+    }
+
+    @Override
+    public byte[] termVector(long pageId) {
+        int position = dataOffset(pageId);
+        position += Integer.BYTES + data.getInt(position);
+        position += Integer.BYTES + data.getInt(position);
+        byte[] vector = new byte[data.getInt(position)];
+        data.get(position + Integer.BYTES, vector);
+        return vector;
+    }
+
+    @Override
+    public WikiPageSearchIndex.Document document(long pageId) {
+        int entry = entry(pageId);
+        int position = (int) index.getLong(entry + 36);
+        int titleBytes = data.getInt(position);
+        String title = readString(data, position + Integer.BYTES, titleBytes);
+        position += Integer.BYTES + titleBytes;
+        int textBytes = data.getInt(position);
+        String text = readString(data, position + Integer.BYTES, textBytes);
+        position += Integer.BYTES + textBytes;
+        byte[] vector = new byte[data.getInt(position)];
+        data.get(position + Integer.BYTES, vector);
+        return new WikiPageSearchIndex.Document(pageId, title, updatedAt(pageId), index.getLong(entry + 8), text,
+                index.getInt(entry + 28), index.getInt(entry + 32), vector);
+    }
+
+    /**
+     * 본문은 UTF-16 문자열로 풀지 않고 UTF-8 바이트 그대로 찾습니다. (검색어가 긴 한글일 때 후보 페이지마다 확인)
+     * 바이트를 ISO-8859-1 문자열로 감싸 String.indexOf로 첫 글자를 찾습니다. 한글은 첫 바이트가 몇 가지뿐이므로
+     * 뒤쪽 바이트로 찾은 다음 첫 바이트를 확인합니다. (UTF-8은 글자 경계에서만 첫 바이트가 일치)
+     * 저장된 본문은 extractText가 공백을 ' ' 하나로 바꿔 두었으므로 그 뒤로는 0x20만 건너뛰며 비교합니다.
+     */
+    @Override
+    public boolean containsRuns(long pageId, List<String> runs) {
+        int position = dataOffset(pageId);
+        int titleBytes = data.getInt(position);
+        int textPosition = position + Integer.BYTES + titleBytes;
+        byte[] bytes = new byte[data.getInt(textPosition)];
+        data.get(textPosition + Integer.BYTES, bytes);
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        String title = null;
+        for (String run : runs) {
+            String encodedRun = new String(run.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+            if (containsIgnoringSpaces(text, encodedRun)) {
+                continue;
+            }
+            if (title == null) {
+                title = readString(data, position + Integer.BYTES, titleBytes);
+            }
+            if (!SearchTokenizer.containsIgnoringSpaces(title, run)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** UTF-8 바이트열을 ISO-8859-1로 감싼 text에 run(같은 방식)이 공백을 무시하고 이어서 나오는지 확인합니다. */
+    private static boolean containsIgnoringSpaces(String text, String run) {
+        char lead = run.charAt(0);
+        int firstLength = Math.min(lead < 0x80 ? 1 : lead < 0xE0 ? 2 : lead < 0xF0 ? 3 : 4, run.length());
+        String trail = run.substring(firstLength > 1 ? 1 : 0, firstLength);
+        int trailOffset = firstLength > 1 ? 1 : 0;
+        for (int found = text.indexOf(trail, trailOffset); found >= 0; found = text.indexOf(trail, found + 1)) {
+            int start = found - trailOffset;
+            if (text.charAt(start) != lead) {
+                continue;
+            }
+            int matched = firstLength;
+            for (int i = start + firstLength; i < text.length() && matched < run.length(); i++) {
+                char c = text.charAt(i);
+                if (c == run.charAt(matched)) {
+                    matched++;
+                } else if (c != ' ' || (run.charAt(matched) & 0xC0) == 0x80) {
+                    break;
+                }
+            }
+            if (matched == run.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int dataOffset(long pageId) {
+        return (int) index.getLong(entry(pageId) + 36);
+    }
+
+    private static String readString(MappedByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 세그먼트에 쓸 페이지 (pageIds: segment에서 유효한 페이지 ID, 세그먼트끼리 겹치지 않음)
+     */
+    record Source(SearchSegment segment, long[] pageIds) {}
+
+    /**
+     * 페이지들을 새 세그먼트 파일로 씁니다.
+     * 토큰 사전을 새로 정렬해 번호를 매기고 term vector의 토큰 ID를 바꿔 씁니다. (병합은 여러 세그먼트를 출처로 넘김)
+     * 먼저 토큰별 문서 빈도를 세어 포스팅 위치를 정한 뒤, 페이지 순서대로 읽으며 포스팅을 제자리에 채우므로
+     * 포스팅 전체를 메모리에 모으지 않습니다. 호출한 쪽이 manifest에 이름을 적기 전에는 읽히지 않습니다.
+     */
+    static void write(Path directory, String name, List<Source> sources, Collection<Long> tombstones)
+            throws IOException {
+        List<PageRef> pages = new ArrayList<>();
+        for (int source = 0; source < sources.size(); source++) {
+            for (long pageId : sources.get(source).pageIds()) {
+                pages.add(new PageRef(pageId, sources.get(source).segment()));
+            }
+        }
+        pages.sort(Comparator.comparingLong(PageRef::pageId));
+
+        // 토큰 사전 (출처 세그먼트의 토큰 ID → 새 토큰 번호)
+        Map<SearchSegment, BitSet> usedTermIds = new HashMap<>();
+        Set<String> termSet = new HashSet<>();
+        for (PageRef page : pages) {
+            BitSet used = usedTermIds.computeIfAbsent(page.segment(), segment -> new BitSet());
+            TermVector.forEach(page.segment().termVector(page.pageId()), (termId, start, end) -> used.set(termId));
+            termSet.addAll(SearchTokenizer.tokenize(page.segment().title(page.pageId())));
+        }
+        usedTermIds.forEach((segment, used) -> used.stream().forEach(termId -> termSet.add(segment.term(termId))));
+        String[] dictionary = termSet.toArray(new String[0]);
+        Arrays.sort(dictionary);
+        Map<String, Integer> termOrdinals = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            termOrdinals.put(dictionary[i], i);
+        }
+        Map<SearchSegment, int[]> remaps = new HashMap<>();
+        usedTermIds.forEach((segment, used) -> {
+            int[] remap = new int[segment.termCount()];
+            used.stream().forEach(termId -> remap[termId] = termOrdinals.get(segment.term(termId)));
+            remaps.put(segment, remap);
+        });
+
+        // 토큰별 문서 빈도 → 포스팅 위치
+        TermCounter counter = new TermCounter(dictionary.length);
+        int[] documentFrequencies = new int[dictionary.length];
+        for (PageRef page : pages) {
+            counter.count(page, termOrdinals, remaps.get(page.segment()));
+            for (int i = 0; i < counter.size; i++) {
+                documentFrequencies[counter.touched[i]]++;
+            }
+            counter.clear();
+        }
+
+        byte[][] termBytes = new byte[dictionary.length][];
+        long termBytesLength = 0;
+        for (int i = 0; i < dictionary.length; i++) {
+            termBytes[i] = dictionary[i].getBytes(StandardCharsets.UTF_8);
+            termBytesLength += termBytes[i].length;
+        }
+        long postingCount = Arrays.stream(documentFrequencies).asLongStream().sum();
+        long documentTableOffset = HEADER_SIZE;
+        long termTableOffset = documentTableOffset + (long) pages.size() * DOCUMENT_ENTRY_SIZE;
+        long postingsOffset = termTableOffset + (long) dictionary.length * TERM_ENTRY_SIZE;
+        long tombstonesOffset = postingsOffset + postingCount * POSTING_SIZE;
+        long termStringsOffset = tombstonesOffset + (long) tombstones.size() * Long.BYTES;
+        long indexSize = termStringsOffset + termBytesLength;
+        if (indexSize > Integer.MAX_VALUE) {
+            throw new IOException("검색 색인 세그먼트가 너무 큽니다: " + indexSize + " bytes");
+        }
+
+        Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+        Path dataFile = directory.resolve(name + DATA_SUFFIX);
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.WRITE);
+             DataOutputStream dataOut = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(dataChannel), 1 << 16))) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, indexSize);
+
+            out.putInt(0, MAGIC);
+            out.putInt(4, FORMAT_VERSION);
+            out.putInt(8, pages.size());
+            out.putInt(12, dictionary.length);
+            out.putInt(16, tombstones.size());
+            out.putLong(24, documentTableOffset);
+            out.putLong(32, termTableOffset);
+            out.putLong(40, postingsOffset);
+            out.putLong(48, tombstonesOffset);
+            out.putLong(56, termStringsOffset);
+
+            int[] postingCursors = new int[dictionary.length];
+            long postingPosition = postingsOffset;
+            long stringPosition = termStringsOffset;
+            for (int i = 0; i < dictionary.length; i++) {
+                int entry = (int) (termTableOffset + (long) i * TERM_ENTRY_SIZE);
+                out.putLong(entry, stringPosition);
+                out.putInt(entry + 8, termBytes[i].length);
+                out.putInt(entry + 12, documentFrequencies[i]);
+                out.putLong(entry + 16, postingPosition);
+                out.put((int) stringPosition, termBytes[i]);
+                postingCursors[i] = (int) postingPosition;
+                postingPosition += (long) documentFrequencies[i] * POSTING_SIZE;
+                stringPosition += termBytes[i].length;
+            }
+
+            long dataPosition = 0;
+            for (int ordinal = 0; ordinal < pages.size(); ordinal++) {
+                PageRef page = pages.get(ordinal);
+                int[] remap = remaps.get(page.segment());
+                WikiPageSearchIndex.Document document = page.segment().document(page.pageId());
+
+                counter.count(page, termOrdinals, remap);
+                for (int i = 0; i < counter.size; i++) {
+                    int term = counter.touched[i];
+                    out.putInt(postingCursors[term], ordinal);
+                    out.putInt(postingCursors[term] + 4, counter.titleFrequencies[term]);
+                    out.putInt(postingCursors[term] + 8, counter.contentFrequencies[term]);
+                    postingCursors[term] += POSTING_SIZE;
+                }
+                counter.clear();
+
+                int entry = (int) (documentTableOffset + (long) ordinal * DOCUMENT_ENTRY_SIZE);
+                out.putLong(entry, page.pageId());
+                out.putLong(entry + 8, document.version());
+                LocalDateTime updatedAt = document.updatedAt();
+                out.putLong(entry + 16, updatedAt != null ? updatedAt.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP);
+                out.putInt(entry + 24, updatedAt != null ? updatedAt.getNano() : 0);
+                out.putInt(entry + 28, document.titleLength());
+                out.putInt(entry + 32, document.contentLength());
+                out.putLong(entry + 36, dataPosition);
+
+                byte[] title = document.title().getBytes(StandardCharsets.UTF_8);
+                byte[] text = document.text().getBytes(StandardCharsets.UTF_8);
+                byte[] vector = TermVector.remap(document.termVector(), remap);
+                for (byte[] bytes : new byte[][] {title, text, vector}) {
+                    dataOut.writeInt(bytes.length);
+                    dataOut.write(bytes);
+                    dataPosition += Integer.BYTES + bytes.length;
+                }
+                if (dataPosition > Integer.MAX_VALUE) {
+                    throw new IOException("검색 색인 세그먼트가 너무 큽니다: " + dataPosition + " bytes");
+                }
+            }
+
+            int tombstone = (int) tombstonesOffset;
+            for (long pageId : tombstones) {
+                out.putLong(tombstone, pageId);
+                tombstone += Long.BYTES;
+            }
+
+            dataOut.flush();
+            dataChannel.force(true);
+            out.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(dataFile);
+            throw e;
+        }
+    }
+
+    private record PageRef(long pageId, SearchSegment segment) {}
+
+    /**
+     * 한 페이지의 새 토큰 번호별 제목/본문 출현 횟수 (touched: 이 페이지에 나온 토큰 번호, 중복 없음)
+     */
+    private static final class TermCounter {
+        private final int[] titleFrequencies;
+        private final int[] contentFrequencies;
+        private final int[] touched;
+        private int size;
+
+        TermCounter(int termCount) {
+            titleFrequencies = new int[termCount];
+            contentFrequencies = new int[termCount];
+            touched = new int[termCount];
+        }
+
+        void count(PageRef page, Map<String, Integer> termOrdinals, int[] remap) {
+            for (String token : SearchTokenizer.tokenize(page.segment().title(page.pageId()))) {
+                int term = termOrdinals.get(token);
+                touch(term);
+                titleFrequencies[term]++;
+            }
+            TermVector.forEach(page.segment().termVector(page.pageId()), (termId, start, end) -> {
+                touch(remap[termId]);
+                contentFrequencies[remap[termId]]++;
+            });
+        }
+
+        private void touch(int term) {
+            if (titleFrequencies[term] == 0 && contentFrequencies[term] == 0) {
+                touched[size++] = term;
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                titleFrequencies[touched[i]] = 0;
+                contentFrequencies[touched[i]] = 0;
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * 세그먼트 파일의 포스팅 목록 (페이지 번호는 페이지 ID 순이므로 페이지 ID로 이진 탐색)
+     */
+    private final class DiskPostings implements Postings {
+        private final int offset;
+        private final int size;
+
+        DiskPostings(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long pageIdAt(int i) {
+            return pageIds[index.getInt(offset + i * POSTING_SIZE)];
+        }
+
+        @Override
+        public int indexOf(long pageId) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midId = pageIdAt(mid);
+                if (midId < pageId) {
+                    low = mid + 1;
+                } else if (midId > pageId) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        @Override
+        public int titleFrequencyAt(int i) {
+            return index.getInt(offset + i * POSTING_SIZE + 4);
+        }
+
+        @Override
+        public int contentFrequencyAt(int i) {
+            return index.getInt(offset + i * POSTING_SIZE + 8);
+        }
+    }
+}
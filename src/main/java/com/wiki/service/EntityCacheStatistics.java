@@ -0,0 +1,71 @@
+package com.wiki.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hibernate 2차 캐시/쿼리 캐시 통계
+ * 영역 크기는 ehcache.xml에서 설정하며, prepareStatementCount로 기동 후(또는 초기화 후) 실행된 SQL 수를 확인할 수 있습니다.
+ * hibernate.generate_statistics가 꺼져 있으면 모든 값이 0입니다.
+ */
+@Component
+public class EntityCacheStatistics {
+
+    private final Statistics statistics;
+
+    public EntityCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Stats getStats() {
+        List<RegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::getRegionStats)
+                .toList();
+        return new Stats(statistics.isStatisticsEnabled(),
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(),
+                regions);
+    }
+
+    /**
+     * 누적 통계를 초기화합니다. (캐시 내용은 유지)
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    private RegionStats getRegionStats(String regionName) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+        if (region == null) {
+            return new RegionStats(regionName, 0, 0, 0);
+        }
+        return new RegionStats(regionName, region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+
+    /**
+     * 캐시 통계 (hit/miss/put: 2차 캐시 전체와 쿼리 캐시, statements: 실행된 SQL 수, entityLoads: DB에서 읽은 엔티티 수)
+     */
+    public record Stats(boolean enabled,
+                        long secondLevelHits, long secondLevelMisses, long secondLevelPuts,
+                        long queryCacheHits, long queryCacheMisses, long queryCachePuts,
+                        long statements, long entityLoads,
+                        List<RegionStats> regions) {
+        public double getSecondLevelHitRate() {
+            long total = secondLevelHits + secondLevelMisses;
+            return total == 0 ? 0.0 : (double) secondLevelHits / total;
+        }
+    }
+
+    /** 영역별 통계 (영역 이름은 엔티티 클래스 이름 또는 쿼리 캐시 영역 이름) */
+    public record RegionStats(String name, long hits, long misses, long puts) {}
+}
@@ -5,7 +5,6 @@ import com.wiki.entity.FileAttachment;
 import com.wiki.entity.WikiPage;
 import com.wiki.exception.ResourceNotFoundException;
 import com.wiki.repository.FileAttachmentRepository;
-import com.wiki.repository.WikiPageRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -35,7 +34,8 @@ import java.util.stream.Collectors;
 public class FileService {
     
     private final FileAttachmentRepository fileAttachmentRepository;
-    private final WikiPageRepository wikiPageRepository;
+    private final WikiPageTitleCache wikiPageTitleCache;
+    private final WikiPageSearchIndex wikiPageSearchIndex;
     
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -46,7 +46,7 @@ public class FileService {
      */
     @Transactional
     public FileAttachmentDto.Response uploadFile(String pageTitle, MultipartFile file, String customFileName) {
-        WikiPage wikiPage = wikiPageRepository.findByTitle(pageTitle)
+        WikiPage wikiPage = wikiPageTitleCache.findByTitle(pageTitle)
                 .orElseThrow(() -> new ResourceNotFoundException("페이지를 찾을 수 없습니다: " + pageTitle));
         
         // 페이지별 파일 저장 디렉토리 생성
@@ -100,6 +100,7 @@ public class FileService {
         fileAttachment.setWikiPage(wikiPage);
         
         FileAttachment savedFile = fileAttachmentRepository.save(fileAttachment);
+        wikiPageSearchIndex.indexAttachmentAfterCommit(savedFile);
         return convertToDto(savedFile);
     }
     
@@ -149,7 +150,7 @@ public class FileService {
      * 특정 페이지의 모든 첨부 파일을 조회합니다.
      */
     public List<FileAttachmentDto.Response> getFilesByPageTitle(String pageTitle) {
-        WikiPage wikiPage = wikiPageRepository.findByTitle(pageTitle)
+        WikiPage wikiPage = wikiPageTitleCache.findByTitle(pageTitle)
                 .orElseThrow(() -> new ResourceNotFoundException("페이지를 찾을 수 없습니다: " + pageTitle));
         
         List<FileAttachment> files = fileAttachmentRepository.findByWikiPageOrderByUploadedAtDesc(wikiPage);
@@ -222,6 +223,7 @@ public class FileService {
         
         // 데이터베이스 레코드 삭제
         fileAttachmentRepository.delete(fileAttachment);
+        wikiPageSearchIndex.removeAttachmentAfterCommit(fileId);
     }
     
     /**
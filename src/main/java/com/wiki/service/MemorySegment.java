@@ -0,0 +1,297 @@
+package com.wiki.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 메모리 세그먼트 (마지막 저장 이후 바뀐 페이지의 토큰 사전, 토큰별 포스팅 목록)
+ * 한글 바이그램은 페이지마다 토큰 수가 많으므로 포스팅은 토큰 ID별 정렬 배열로 보관합니다.
+ * 페이지를 뺄 때는 제목 토큰과 본문 term vector의 토큰 ID로 해당 포스팅 목록만 고치고, 삭제 표시를 남겨
+ * 디스크에 쓴 뒤에도 더 오래된 세그먼트의 같은 페이지를 가리도록 합니다.
+ * 디스크에 쓰기 시작하면 더 이상 바꾸지 않으므로 쓰는 동안에도 잠금 없이 읽을 수 있습니다.
+ */
+final class MemorySegment implements SearchSegment {
+
+    private final Map<Long, WikiPageSearchIndex.Document> documents = new HashMap<>();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<PostingList> postingLists = new ArrayList<>();
+    /** 이 세그먼트가 쓰이는 동안 지워진 페이지 ID */
+    private final Set<Long> tombstones = new HashSet<>();
+    private long postingCount;
+
+    /**
+     * 페이지 제목/본문을 토큰으로 나눠 색인할 형태로 만듭니다. (잠금 밖에서 호출)
+     */
+    static IndexedPage index(Long id, String title, String content, LocalDateTime updatedAt, Long version,
+                             String pageType, String modifyStaffId) {
+        String text = SearchTokenizer.extractText(content);
+        List<String> titleTerms = SearchTokenizer.tokenize(title);
+        ContentTokens contentTokens = new ContentTokens();
+        SearchTokenizer.tokenize(text, contentTokens);
+        Map<String, int[]> frequencies = new HashMap<>();
+        for (String term : titleTerms) {
+            frequencies.computeIfAbsent(term, key -> new int[2])[0]++;
+        }
+        for (String term : contentTokens.terms) {
+            frequencies.computeIfAbsent(term, key -> new int[2])[1]++;
+        }
+        return new IndexedPage(id, title, updatedAt, version != null ? version : 0L, text, titleTerms.size(),
+                frequencies, contentTokens, pageType, modifyStaffId);
+    }
+
+    void upsert(IndexedPage page) {
+        WikiPageSearchIndex.Document existing = documents.get(page.id());
+        if (existing != null) {
+            removePostings(existing);
+        }
+
+        for (Map.Entry<String, int[]> entry : page.frequencies().entrySet()) {
+            int termId = termIds.computeIfAbsent(entry.getKey(), term -> {
+                terms.add(term);
+                postingLists.add(new PostingList());
+                return postingLists.size() - 1;
+            });
+            postingLists.get(termId).put(page.id(), entry.getValue()[0], entry.getValue()[1]);
+        }
+        postingCount += page.frequencies().size();
+
+        List<String> contentTerms = page.contentTokens().terms;
+        int[] contentTermIds = new int[contentTerms.size()];
+        for (int i = 0; i < contentTermIds.length; i++) {
+            contentTermIds[i] = termIds.get(contentTerms.get(i));
+        }
+        documents.put(page.id(), new WikiPageSearchIndex.Document(page.id(), page.title(), page.updatedAt(),
+                page.version(), page.text(), page.titleLength(), contentTermIds.length,
+                TermVector.encode(contentTermIds, page.contentTokens().offsets, contentTermIds.length)));
+    }
+
+    void remove(Long pageId) {
+        WikiPageSearchIndex.Document existing = documents.remove(pageId);
+        if (existing != null) {
+            removePostings(existing);
+        }
+        tombstones.add(pageId);
+    }
+
+    /** 디스크에 쓸 내용이 없는지 확인합니다. */
+    boolean isEmpty() {
+        return documents.isEmpty() && tombstones.isEmpty();
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    Set<Long> tombstones() {
+        return tombstones;
+    }
+
+    /** 기동 시 구성이 끝난 뒤 포스팅 배열의 여유 공간을 줄입니다. */
+    void trimToSize() {
+        postingLists.forEach(PostingList::trimToSize);
+    }
+
+    @Override
+    public int[] matchingTermIds(String term) {
+        if (!SearchTokenizer.isSingleHangul(term)) {
+            Integer termId = termIds.get(term);
+            return termId != null ? new int[] {termId} : new int[0];
+        }
+        return termIds.entrySet().stream()
+                .filter(entry -> entry.getKey().length() <= 2 && entry.getKey().indexOf(term.charAt(0)) >= 0)
+                .mapToInt(Map.Entry::getValue)
+                .toArray();
+    }
+
+    @Override
+    public Postings postings(int termId) {
+        return postingLists.get(termId);
+    }
+
+    @Override
+    public int termCount() {
+        return terms.size();
+    }
+
+    @Override
+    public String term(int termId) {
+        return terms.get(termId);
+    }
+
+    @Override
+    public long postingCount() {
+        return postingCount;
+    }
+
+    @Override
+    public long version(long pageId) {
+        WikiPageSearchIndex.Document document = documents.get(pageId);
+        return document != null ? document.version() : -1;
+    }
+
+    @Override
+    public String title(long pageId) {
+        return documents.get(pageId).title();
+    }
+
+    @Override
+    public int titleLength(long pageId) {
+        return documents.get(pageId).titleLength();
+    }
+
+    @Override
+    public int contentLength(long pageId) {
+        return documents.get(pageId).contentLength();
+    }
+
+    @Override
+    public LocalDateTime updatedAt(long pageId) {
+        return documents.get(pageId).updatedAt();
+    }
+
+    @Override
+    public byte[] termVector(long pageId) {
+        return documents.get(pageId).termVector();
+    }
+
+    @Override
+    public WikiPageSearchIndex.Document document(long pageId) {
+        return documents.get(pageId);
+    }
+
+    private void removePostings(WikiPageSearchIndex.Document document) {
+        Set<Integer> ids = new HashSet<>();
+        for (String term : SearchTokenizer.tokenize(document.title())) {
+            ids.add(termIds.get(term));
+        }
+        TermVector.forEach(document.termVector(), (termId, start, end) -> ids.add(termId));
+        for (int termId : ids) {
+            if (postingLists.get(termId).remove(document.id())) {
+                postingCount--;
+            }
+        }
+    }
+
+    /**
+     * 색인할 페이지 (frequencies: 토큰별 출현 횟수, [0]: 제목, [1]: 본문,
+     * pageType/modifyStaffId: 검색 필터 값, 세그먼트에는 저장하지 않음)
+     */
+    record IndexedPage(Long id, String title, LocalDateTime updatedAt, long version, String text,
+                       int titleLength, Map<String, int[]> frequencies, ContentTokens contentTokens,
+                       String pageType, String modifyStaffId) {}
+
+    /** 본문 토큰과 원문 위치 ([2i]: 시작, [2i + 1]: 끝) */
+    static final class ContentTokens implements SearchTokenizer.TokenConsumer {
+        private final List<String> terms = new ArrayList<>();
+        private int[] offsets = new int[64];
+
+        @Override
+        public void accept(String token, int start, int end) {
+            if (2 * terms.size() + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[2 * terms.size()] = start;
+            offsets[2 * terms.size() + 1] = end;
+            terms.add(token);
+        }
+    }
+
+    /**
+     * 한 토큰의 포스팅 목록 (페이지 ID 오름차순 정렬 배열)
+     * 기동 시 구성은 ID 순으로 읽으므로 대부분 끝에 추가되고, 이후 변경은 이진 탐색 위치에 삽입/삭제합니다.
+     */
+    static final class PostingList implements Postings {
+        private long[] pageIds = new long[2];
+        private int[] titleFrequencies = new int[2];
+        private int[] contentFrequencies = new int[2];
+        private int size;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long pageIdAt(int index) {
+            return pageIds[index];
+        }
+
+        @Override
+        public int titleFrequencyAt(int index) {
+            return titleFrequencies[index];
+        }
+
+        @Override
+        public int contentFrequencyAt(int index) {
+            return contentFrequencies[index];
+        }
+
+        @Override
+        public int indexOf(long pageId) {
+            return Arrays.binarySearch(pageIds, 0, size, pageId);
+        }
+
+        void put(long pageId, int titleFrequency, int contentFrequency) {
+            int index = indexOf(pageId);
+            if (index < 0) {
+                index = -index - 1;
+                if (size == pageIds.length) {
+                    int capacity = size + (size >> 1) + 1;
+                    pageIds = Arrays.copyOf(pageIds, capacity);
+                    titleFrequencies = Arrays.copyOf(titleFrequencies, capacity);
+                    contentFrequencies = Arrays.copyOf(contentFrequencies, capacity);
+                }
+                System.arraycopy(pageIds, index, pageIds, index + 1, size - index);
+                System.arraycopy(titleFrequencies, index, titleFrequencies, index + 1, size - index);
+                System.arraycopy(contentFrequencies, index, contentFrequencies, index + 1, size - index);
+                size++;
+            }
+            pageIds[index] = pageId;
+            titleFrequencies[index] = titleFrequency;
+            contentFrequencies[index] = contentFrequency;
+        }
+
+        boolean remove(long pageId) {
+            int index = indexOf(pageId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(pageIds, index + 1, pageIds, index, size - index - 1);
+            System.arraycopy(titleFrequencies, index + 1, titleFrequencies, index, size - index - 1);
+            System.arraycopy(contentFrequencies, index + 1, contentFrequencies, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void trimToSize() {
+            if (size < pageIds.length) {
+                pageIds = Arrays.copyOf(pageIds, size);
+                titleFrequencies = Arrays.copyOf(titleFrequencies, size);
+                contentFrequencies = Arrays.copyOf(contentFrequencies, size);
+            }
+        }
+
+        /** 페이지 ID → 출현 횟수([0]: 제목, [1]: 본문)로 목록을 만듭니다. (여러 토큰의 포스팅을 합칠 때 사용) */
+        static PostingList of(Map<Long, int[]> frequencies) {
+            PostingList list = new PostingList();
+            int capacity = frequencies.size();
+            list.pageIds = frequencies.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            list.titleFrequencies = new int[capacity];
+            list.contentFrequencies = new int[capacity];
+            for (int i = 0; i < capacity; i++) {
+                int[] counts = frequencies.get(list.pageIds[i]);
+                list.titleFrequencies[i] = counts[0];
+                list.contentFrequencies[i] = counts[1];
+            }
+            list.size = capacity;
+            return list;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.wiki.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 검색 필터 색인 (페이지 타입, 수정자, 수정일)
+ * 필터 값마다 그 값을 가진 페이지의 비트맵(비트 위치 = 페이지 ID)을 두고, 요청한 필터의 비트맵을 OR/AND해 허용 페이지 집합을 만듭니다.
+ * 검색은 이 집합과 본문 일치 페이지의 교집합만 점수를 매기므로 필터가 좁을수록 확인할 페이지가 줄어듭니다.
+ * 페이지 ID는 IDENTITY 키라 조밀하므로 비트 위치로 그대로 씁니다. 세그먼트에는 저장하지 않으며 WikiPageSearchIndex의
+ * 색인 상태에 포함되어 같은 잠금 아래에서 갱신됩니다.
+ */
+final class SearchFacets {
+
+    private final Facet<String> pageTypes = new Facet<>(new HashMap<>());
+    private final Facet<String> authors = new Facet<>(new HashMap<>());
+    /** 수정일 → 페이지 비트맵 (날짜 범위를 잘라 읽으려고 정렬 맵을 따로 참조) */
+    private final NavigableMap<LocalDate, BitSet> dayBitmaps = new TreeMap<>();
+    private final Facet<LocalDate> days = new Facet<>(dayBitmaps);
+
+    /** 페이지 타입과 수정자를 바꿉니다. (null이면 그 필터 값이 없는 페이지) */
+    void put(long pageId, String pageType, String modifyStaffId) {
+        pageTypes.put(pageId, pageType);
+        authors.put(pageId, modifyStaffId);
+    }
+
+    /** 하위 트리 일괄 변경 등으로 페이지 타입만 바뀐 경우 (색인에 없는 페이지는 무시) */
+    void setPageType(long pageId, String pageType) {
+        if (pageTypes.values.containsKey(pageId)) {
+            pageTypes.put(pageId, pageType);
+        }
+    }
+
+    void setUpdatedAt(long pageId, LocalDateTime updatedAt) {
+        days.put(pageId, updatedAt != null ? updatedAt.toLocalDate() : null);
+    }
+
+    void remove(long pageId) {
+        pageTypes.remove(pageId);
+        authors.remove(pageId);
+        days.remove(pageId);
+    }
+
+    /**
+     * 필터를 모두 만족하는 페이지 집합을 반환합니다. (필터가 없으면 null)
+     * 같은 필터 안의 여러 값은 OR, 서로 다른 필터는 AND이며 수정일 범위는 양끝 날짜를 포함합니다.
+     */
+    BitSet allowed(WikiPageSearchIndex.Filter filter) {
+        BitSet allowed = null;
+        if (!filter.pageTypes().isEmpty()) {
+            allowed = intersect(allowed, pageTypes.union(filter.pageTypes()));
+        }
+        if (!filter.modifyStaffIds().isEmpty()) {
+            allowed = intersect(allowed, authors.union(filter.modifyStaffIds()));
+        }
+        if (filter.updatedFrom() != null || filter.updatedTo() != null) {
+            NavigableMap<LocalDate, BitSet> range = dayBitmaps;
+            if (filter.updatedFrom() != null) {
+                range = range.tailMap(filter.updatedFrom(), true);
+            }
+            if (filter.updatedTo() != null) {
+                range = range.headMap(filter.updatedTo(), true);
+            }
+            BitSet inRange = new BitSet();
+            range.values().forEach(inRange::or);
+            allowed = intersect(allowed, inRange);
+        }
+        return allowed;
+    }
+
+    /**
+     * 일치한 페이지 집합의 필터 값별 페이지 수 (값 비트맵과 일치 집합의 교집합 크기, 많은 순)
+     */
+    WikiPageSearchIndex.FacetCounts count(BitSet matched) {
+        return new WikiPageSearchIndex.FacetCounts(pageTypes.count(matched), authors.count(matched));
+    }
+
+    private static BitSet intersect(BitSet allowed, BitSet bitmap) {
+        if (allowed == null) {
+            return bitmap;
+        }
+        allowed.and(bitmap);
+        return allowed;
+    }
+
+    static int bit(long pageId) {
+        return Math.toIntExact(pageId);
+    }
+
+    /**
+     * 필터 하나 (bitmaps: 값 → 페이지 비트맵, values: 페이지 ID → 값)
+     */
+    private static final class Facet<K> {
+        private final Map<K, BitSet> bitmaps;
+        private final Map<Long, K> values = new HashMap<>();
+
+        Facet(Map<K, BitSet> bitmaps) {
+            this.bitmaps = bitmaps;
+        }
+
+        void put(long pageId, K value) {
+            remove(pageId);
+            if (value != null) {
+                values.put(pageId, value);
+                bitmaps.computeIfAbsent(value, key -> new BitSet()).set(bit(pageId));
+            }
+        }
+
+        void remove(long pageId) {
+            K previous = values.remove(pageId);
+            if (previous != null) {
+                BitSet bitmap = bitmaps.get(previous);
+                bitmap.clear(bit(pageId));
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(previous);
+                }
+            }
+        }
+
+        /** 값들 중 하나를 가진 페이지 (새 비트맵) */
+        BitSet union(Collection<K> keys) {
+            BitSet union = new BitSet();
+            for (K key : keys) {
+                BitSet bitmap = bitmaps.get(key);
+                if (bitmap != null) {
+                    union.or(bitmap);
+                }
+            }
+            return union;
+        }
+
+        Map<K, Integer> count(BitSet matched) {
+            Map<K, Integer> counts = new HashMap<>();
+            bitmaps.forEach((value, bitmap) -> {
+                if (bitmap.intersects(matched)) {
+                    BitSet both = (BitSet) bitmap.clone();
+                    both.and(matched);
+                    counts.put(value, both.cardinality());
+                }
+            });
+            Map<K, Integer> sorted = new LinkedHashMap<>();
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<K, Integer>comparingByValue().reversed())
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.wiki.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 페이지 부속 필드 색인 (댓글 내용, 첨부파일 이름)
+ * 항목(댓글/첨부파일)마다 부모 페이지 ID와 텍스트를 두고, 토큰마다 그 토큰이 나온 페이지별 항목 수를 셉니다.
+ * 토큰 분리 규칙은 본문과 같으며(SearchTokenizer), 한 글자 한글 검색어도 바로 찾도록 한글 바이그램의 각 글자도 함께 색인합니다.
+ * 항목은 짧고 페이지 본문보다 훨씬 자주 바뀌므로 세그먼트에 나눠 쓰지 않고, 세그먼트를 저장할 때 항목 전체를 필드 파일로 함께 씁니다.
+ * (기동 시 필드 파일을 읽고 커밋 시점 이후 바뀐 항목만 DB에서 다시 읽음)
+ * 페이지가 휴지통으로 옮겨져도 항목은 남겨 둡니다. (복원하면 다시 검색되고, 그 사이에는 유효 세그먼트가 없어 결과에서 빠짐)
+ */
+final class SearchFieldIndex {
+
+    /** 항목 ID → 항목 */
+    private final Map<Long, Entry> entries = new HashMap<>();
+    /** 페이지 ID → 항목 ID */
+    private final Map<Long, Set<Long>> pageEntries = new HashMap<>();
+    /** 토큰 → 페이지 ID → 그 토큰이 나온 항목 수 */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    /**
+     * 항목을 넣거나 바꾸고 항목의 토큰을 반환합니다. (검색 어휘에 추가할 토큰, 중복 제거)
+     */
+    Set<String> put(long entryId, long pageId, String text) {
+        remove(entryId);
+        Set<String> terms = terms(text);
+        entries.put(entryId, new Entry(pageId, text, terms));
+        pageEntries.computeIfAbsent(pageId, key -> new LinkedHashSet<>()).add(entryId);
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> new HashMap<>()).merge(pageId, 1, Integer::sum);
+        }
+        return terms;
+    }
+
+    void remove(long entryId) {
+        Entry entry = entries.remove(entryId);
+        if (entry == null) {
+            return;
+        }
+        Set<Long> ids = pageEntries.get(entry.pageId());
+        ids.remove(entryId);
+        if (ids.isEmpty()) {
+            pageEntries.remove(entry.pageId());
+        }
+        for (String term : entry.terms()) {
+            Map<Long, Integer> pages = postings.get(term);
+            if (pages.merge(entry.pageId(), -1, Integer::sum) == 0) {
+                pages.remove(entry.pageId());
+                if (pages.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /** 페이지들의 항목을 모두 지웁니다. (페이지 영구 삭제) */
+    void removePages(Collection<Long> pageIds) {
+        for (Long pageId : pageIds) {
+            Set<Long> ids = pageEntries.get(pageId);
+            if (ids != null) {
+                List.copyOf(ids).forEach(this::remove);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** 현재 항목의 ID */
+    Set<Long> ids() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    /** 현재 항목 목록 (필드 파일 저장용, 순서 없음) */
+    List<Item> items() {
+        List<Item> items = new ArrayList<>(entries.size());
+        entries.forEach((entryId, entry) -> items.add(new Item(entryId, entry.pageId(), entry.text())));
+        return items;
+    }
+
+    /** terms 중 하나라도 나온 항목이 있는 페이지 (새 비트맵) */
+    BitSet pages(Collection<String> terms) {
+        BitSet pages = new BitSet();
+        for (String term : terms) {
+            Map<Long, Integer> termPages = postings.get(term);
+            if (termPages != null) {
+                termPages.keySet().forEach(pageId -> pages.set(SearchFacets.bit(pageId)));
+            }
+        }
+        return pages;
+    }
+
+    /** 페이지 항목 중 하나에 한글 구간 run이 이어서 나오는지 확인합니다. (띄어쓰기 차이는 무시) */
+    boolean containsRun(long pageId, String run) {
+        for (Long entryId : pageEntries.getOrDefault(pageId, Set.of())) {
+            if (SearchTokenizer.containsIgnoringSpaces(entries.get(entryId).text(), run)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 페이지 항목 중 terms 중 하나라도 나온 항목의 텍스트 (추가한 순) */
+    List<String> matchingTexts(long pageId, Collection<String> terms) {
+        List<String> texts = new ArrayList<>();
+        for (Long entryId : pageEntries.getOrDefault(pageId, Set.of())) {
+            Entry entry = entries.get(entryId);
+            if (terms.stream().anyMatch(entry.terms()::contains)) {
+                texts.add(entry.text());
+            }
+        }
+        return texts;
+    }
+
+    /** 텍스트의 토큰 (한글 바이그램은 두 글자 각각도 포함) */
+    private static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : SearchTokenizer.tokenize(text)) {
+            terms.add(token);
+            if (token.length() == 2 && SearchTokenizer.isSingleHangul(token.substring(0, 1))) {
+                terms.add(token.substring(0, 1));
+                terms.add(token.substring(1));
+            }
+        }
+        return terms;
+    }
+
+    /** 저장/복원할 항목 (id: 댓글 ID 또는 첨부파일 ID) */
+    record Item(long id, long pageId, String text) {}
+
+    /** 색인된 항목 (terms: 중복 없는 토큰) */
+    private record Entry(long pageId, String text, Set<String> terms) {}
+}
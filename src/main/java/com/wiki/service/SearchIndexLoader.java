@@ -0,0 +1,210 @@
+package com.wiki.service;
+
+import com.wiki.repository.FileAttachmentRepository;
+import com.wiki.repository.WikiPageCommentRepository;
+import com.wiki.repository.WikiPageRepository;
+import com.wiki.repository.projection.SearchFieldView;
+import com.wiki.repository.projection.WikiPageContentView;
+import com.wiki.repository.projection.WikiPageFacetView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * 검색 색인 기동 시 구성 (WikiPageSearchIndex.build에서 사용)
+ * 저장된 세그먼트와 필드 파일을 열고 커밋 시점 이후 바뀐 페이지/댓글/첨부파일만 DB에서 다시 읽어 맞추거나,
+ * 저장된 색인이 없으면 전체를 ID 순 배치로 읽어 구성합니다. 잠금 없이 아직 공개하지 않은 상태에만 씁니다.
+ */
+@Slf4j
+final class SearchIndexLoader {
+
+    private final WikiPageRepository wikiPageRepository;
+    private final WikiPageCommentRepository commentRepository;
+    private final FileAttachmentRepository fileAttachmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    /** 한 번에 읽어 압축을 풀 페이지(항목) 수 */
+    private final int batchSize;
+
+    /**
+     * 기동 시 커밋 시점보다 이만큼 앞선 수정분부터 다시 읽습니다.
+     * (커밋 시점 전에 수정 시각이 정해졌지만 트랜잭션 커밋이 늦어 세그먼트에 들어가지 못한 변경)
+     */
+    private static final Duration REPLAY_MARGIN = Duration.ofMinutes(5);
+
+    SearchIndexLoader(WikiPageRepository wikiPageRepository, WikiPageCommentRepository commentRepository,
+                      FileAttachmentRepository fileAttachmentRepository, TransactionTemplate readOnlyTransaction,
+                      int batchSize) {
+        this.wikiPageRepository = wikiPageRepository;
+        this.commentRepository = commentRepository;
+        this.fileAttachmentRepository = fileAttachmentRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * manifest의 세그먼트를 열어 페이지별 유효 세그먼트를 정합니다. (manifest가 없으면 null)
+     */
+    SearchIndexState open(SearchSegmentDirectory segmentDirectory) throws IOException {
+        SearchSegmentDirectory.Manifest manifest = segmentDirectory.open();
+        if (manifest == null) {
+            return null;
+        }
+        List<DiskSegment> segments = new ArrayList<>(manifest.segments().size());
+        for (String name : manifest.segments()) {
+            segments.add(DiskSegment.open(segmentDirectory.path(), name));
+        }
+        SearchIndexState opened = SearchIndexState.open(segments, manifest.commitPoint());
+        if (manifest.fields() != null) {
+            SearchSegmentDirectory.Fields fields = segmentDirectory.readFields(manifest.fields());
+            fields.comments().forEach(item -> opened.putField(opened.comments, item.id(), item.pageId(), item.text()));
+            fields.attachments().forEach(item ->
+                    opened.putField(opened.attachments, item.id(), item.pageId(), item.text()));
+            opened.fieldsFile = manifest.fields();
+            opened.savedFieldChanges = opened.fieldChanges;
+        }
+        return opened;
+    }
+
+    /**
+     * 커밋 시점 이후 수정된 페이지를 다시 읽어 반영하고, 페이지 ID 목록으로 빠지거나 남은 페이지를 맞춥니다.
+     * 휴지통 이동/복원/영구 삭제는 수정 시각을 바꾸지 않으므로 ID만 읽는 조회로 확인합니다.
+     * 세그먼트에는 검색 필터 값이 없으므로 같은 조회로 읽은 페이지 타입/수정자로 필터 색인을 채웁니다.
+     */
+    int replay(SearchIndexState built) {
+        LocalDateTime since = built.commitPoint.minus(REPLAY_MARGIN);
+        int replayed = 0;
+        Long afterId = 0L;
+        List<WikiPageContentView> pages;
+        do {
+            Long from = afterId;
+            pages = readOnlyTransaction.execute(status ->
+                    wikiPageRepository.findContentViewsUpdatedAfter(since, from, PageRequest.of(0, batchSize)));
+            for (WikiPageContentView page : pages) {
+                if (built.version(page.getId()) != (page.getVersion() != null ? page.getVersion() : 0L)) {
+                    built.upsert(toIndexedPage(page));
+                    replayed++;
+                }
+                afterId = page.getId();
+            }
+        } while (pages.size() == batchSize);
+
+        List<WikiPageFacetView> facetViews = readOnlyTransaction.execute(status -> wikiPageRepository.findAllFacetViews());
+        Set<Long> pageIds = new HashSet<>(facetViews.size() * 2);
+        facetViews.forEach(view -> pageIds.add(view.getId()));
+        for (Long pageId : List.copyOf(built.owners.keySet())) {
+            if (!pageIds.contains(pageId)) {
+                built.remove(pageId);
+                replayed++;
+            }
+        }
+        List<Long> missing = pageIds.stream()
+                .filter(pageId -> !built.owners.containsKey(pageId))
+                .sorted()
+                .toList();
+        for (int i = 0; i < missing.size(); i += batchSize) {
+            List<Long> batch = missing.subList(i, Math.min(i + batchSize, missing.size()));
+            readOnlyTransaction.execute(status -> wikiPageRepository.findContentViewsByIds(batch))
+                    .forEach(page -> built.upsert(toIndexedPage(page)));
+            replayed += batch.size();
+        }
+        for (WikiPageFacetView view : facetViews) {
+            if (built.owners.containsKey(view.getId())) {
+                built.facets.put(view.getId(), view.getPageType(), view.getModifyStaffId());
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * 전체 페이지를 ID 순으로 나눠 읽어 메모리 세그먼트에 색인합니다.
+     */
+    void loadAll(SearchIndexState built) {
+        try {
+            Long afterId = 0L;
+            List<WikiPageContentView> pages;
+            do {
+                Long from = afterId;
+                pages = readOnlyTransaction.execute(status ->
+                        wikiPageRepository.findContentViewsAfter(from, PageRequest.of(0, batchSize)));
+                for (WikiPageContentView page : pages) {
+                    built.upsert(toIndexedPage(page));
+                    afterId = page.getId();
+                }
+            } while (pages.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("검색 색인 구성 실패 - 변경분만 색인합니다.", e);
+        }
+    }
+
+    /**
+     * 활성 댓글과 페이지 첨부파일 이름을 ID 순으로 나눠 읽어 부속 필드 색인에 넣습니다. (저장된 필드 파일이 없을 때만 전체)
+     */
+    void loadFields(SearchIndexState built) {
+        try {
+            loadField(built, built.comments, commentRepository::findSearchFieldsAfter);
+            loadField(built, built.attachments, fileAttachmentRepository::findSearchFieldsAfter);
+        } catch (RuntimeException e) {
+            log.error("검색 색인 댓글/첨부파일 이름 구성 실패 - 변경분만 색인합니다.", e);
+        }
+    }
+
+    /**
+     * 필드 파일의 커밋 시점 이후 작성/수정/삭제된 댓글과 새로 올리거나 지운 첨부파일을 반영합니다.
+     * 댓글은 논리삭제도 수정 시각을 바꾸므로 시각으로 찾고, 첨부파일 삭제는 시각이 남지 않으므로 ID만 읽는 조회로 확인합니다.
+     */
+    int replayFields(SearchIndexState built) {
+        LocalDateTime since = built.commitPoint.minus(REPLAY_MARGIN);
+        int replayed = loadField(built, built.comments,
+                (from, page) -> commentRepository.findSearchFieldsUpdatedAfter(since, from, page));
+        List<Long> deletedComments = readOnlyTransaction.execute(status ->
+                commentRepository.findDeletedIdsUpdatedAfter(since));
+        for (Long commentId : deletedComments) {
+            built.removeField(built.comments, commentId);
+            replayed++;
+        }
+
+        replayed += loadField(built, built.attachments,
+                (from, page) -> fileAttachmentRepository.findSearchFieldsUploadedAfter(since, from, page));
+        Set<Long> attached = new HashSet<>(readOnlyTransaction.execute(status ->
+                fileAttachmentRepository.findAttachedIds()));
+        for (Long fileId : built.attachments.ids()) {
+            if (!attached.contains(fileId)) {
+                built.removeField(built.attachments, fileId);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /** 항목을 ID 순으로 나눠 읽어 부속 필드에 넣고 읽은 항목 수를 반환합니다. */
+    private int loadField(SearchIndexState built, SearchFieldIndex field,
+                          BiFunction<Long, PageRequest, List<SearchFieldView>> findAfter) {
+        int loaded = 0;
+        Long afterId = 0L;
+        List<SearchFieldView> views;
+        do {
+            Long from = afterId;
+            views = readOnlyTransaction.execute(status -> findAfter.apply(from, PageRequest.of(0, batchSize)));
+            for (SearchFieldView view : views) {
+                built.putField(field, view.getId(), view.getPageId(), view.getText());
+                afterId = view.getId();
+                loaded++;
+            }
+        } while (views.size() == batchSize);
+        return loaded;
+    }
+
+    static MemorySegment.IndexedPage toIndexedPage(WikiPageContentView page) {
+        return MemorySegment.index(page.getId(), page.getTitle(), page.getContent(), page.getUpdatedAt(),
+                page.getVersion(), page.getPageType(), page.getModifyStaffId());
+    }
+}
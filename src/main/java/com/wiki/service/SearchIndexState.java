@@ -0,0 +1,190 @@
+package com.wiki.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검색 색인 상태 (WikiPageSearchIndex의 lock으로 보호)
+ * 디스크 세그먼트(오래된 순), 디스크에 쓰는 중인 메모리 세그먼트, 변경을 받는 메모리 세그먼트와
+ * 페이지별 유효 세그먼트(owners), 제목 접두어 색인, 부속 필드 색인, BM25 평균 길이용 합계를 담습니다.
+ * 페이지를 고치면 새 내용을 변경용 메모리 세그먼트에 넣고 owners만 바꾸므로 이전 세그먼트에 남은 내용은 검색되지 않습니다.
+ */
+final class SearchIndexState {
+    final List<DiskSegment> disk = new ArrayList<>();
+    final List<MemorySegment> flushing = new ArrayList<>();
+    MemorySegment live = new MemorySegment();
+    final Map<Long, SearchSegment> owners = new HashMap<>();
+    final TitlePrefixIndex titles = new TitlePrefixIndex();
+    /** 유효한 페이지 제목의 트라이그램 색인 (오타 허용 제목 검색) */
+    final TrigramIndex fuzzyTitles = new TrigramIndex(false);
+    /** 세그먼트에 나온 적 있는 토큰 (오타 허용 검색에서 검색어 토큰을 넓힐 때 사용, 줄이지 않음) */
+    final SearchVocabulary vocabulary = new SearchVocabulary();
+    /** 유효한 페이지의 검색 필터 비트맵 (페이지 타입/수정자는 세그먼트를 연 뒤 DB에서 채움) */
+    final SearchFacets facets = new SearchFacets();
+    /** 페이지 부속 필드 (댓글 내용, 첨부파일 이름, 기동할 때 필드 파일과 DB에서 채움) */
+    final SearchFieldIndex comments = new SearchFieldIndex();
+    final SearchFieldIndex attachments = new SearchFieldIndex();
+    /** 부속 필드 변경 횟수와 마지막으로 저장한 필드 파일에 반영된 변경 횟수 (다르면 다음 저장 때 필드 파일을 새로 씀) */
+    long fieldChanges;
+    long savedFieldChanges;
+    /** 현재 manifest의 필드 파일 이름 (저장한 적 없으면 null) */
+    String fieldsFile;
+    /** 유효한 페이지의 제목/본문 토큰 수 합 (BM25 평균 길이 계산용) */
+    long totalTitleLength;
+    long totalContentLength;
+    /** 이 시점까지 반영된 변경은 디스크 세그먼트에 모두 들어 있음 (저장한 적 없으면 null) */
+    LocalDateTime commitPoint;
+
+    /**
+     * 저장된 세그먼트로 상태를 만듭니다.
+     * 최신 세그먼트부터 읽어 페이지마다 처음 나온 세그먼트를 유효로 보고, 삭제 표시가 먼저 나온 페이지는 제외합니다.
+     */
+    static SearchIndexState open(List<DiskSegment> segments, LocalDateTime commitPoint) {
+        SearchIndexState state = new SearchIndexState();
+        state.disk.addAll(segments);
+        state.commitPoint = commitPoint;
+        Set<Long> seen = new HashSet<>();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            DiskSegment segment = segments.get(i);
+            for (int ordinal = 0; ordinal < segment.documentCount(); ordinal++) {
+                long pageId = segment.pageIdAt(ordinal);
+                if (seen.add(pageId)) {
+                    state.acquire(pageId, segment);
+                }
+            }
+            for (long pageId : segment.tombstones()) {
+                seen.add(pageId);
+            }
+            for (int termId = 0; termId < segment.termCount(); termId++) {
+                state.vocabulary.add(segment.term(termId));
+            }
+        }
+        return state;
+    }
+
+    /** 검색할 세그먼트 (디스크, 쓰는 중, 변경용 순) */
+    List<SearchSegment> segments() {
+        List<SearchSegment> segments = new ArrayList<>(disk.size() + flushing.size() + 1);
+        segments.addAll(disk);
+        segments.addAll(flushing);
+        segments.add(live);
+        return segments;
+    }
+
+    /** 유효한 내용의 버전 (색인에 없으면 -1) */
+    long version(long pageId) {
+        SearchSegment owner = owners.get(pageId);
+        return owner != null ? owner.version(pageId) : -1;
+    }
+
+    void upsert(MemorySegment.IndexedPage page) {
+        SearchSegment owner = owners.get(page.id());
+        if (owner != null) {
+            if (owner.version(page.id()) > page.version()) {
+                return;
+            }
+            release(page.id(), owner);
+        }
+        live.upsert(page);
+        page.frequencies().keySet().forEach(vocabulary::add);
+        acquire(page.id(), live);
+        facets.put(page.id(), page.pageType(), page.modifyStaffId());
+    }
+
+    /** 댓글/첨부파일 항목을 부속 필드에 넣고 토큰을 검색 어휘에 추가합니다. */
+    void putField(SearchFieldIndex field, long entryId, long pageId, String text) {
+        field.put(entryId, pageId, text).forEach(vocabulary::add);
+        fieldChanges++;
+    }
+
+    void removeField(SearchFieldIndex field, long entryId) {
+        field.remove(entryId);
+        fieldChanges++;
+    }
+
+    /** 페이지들의 댓글/첨부파일 항목을 모두 지웁니다. (페이지 영구 삭제) */
+    void removeFieldPages(Collection<Long> pageIds) {
+        comments.removePages(pageIds);
+        attachments.removePages(pageIds);
+        fieldChanges++;
+    }
+
+    void remove(Long pageId) {
+        SearchSegment owner = owners.remove(pageId);
+        if (owner != null) {
+            release(pageId, owner);
+            facets.remove(pageId);
+            live.remove(pageId);
+        }
+    }
+
+    double averageTitleLength() {
+        return owners.isEmpty() ? 1.0 : Math.max(1.0, (double) totalTitleLength / owners.size());
+    }
+
+    double averageContentLength() {
+        return owners.isEmpty() ? 1.0 : Math.max(1.0, (double) totalContentLength / owners.size());
+    }
+
+    int diskDocumentCount() {
+        return (int) owners.values().stream().filter(owner -> owner instanceof DiskSegment).count();
+    }
+
+    /** 세그먼트마다 그 세그먼트가 유효한 페이지 ID (새 디스크 세그먼트에 쓸 출처) */
+    List<DiskSegment.Source> sources(List<? extends SearchSegment> segments) {
+        Map<SearchSegment, List<Long>> pageIds = new IdentityHashMap<>();
+        segments.forEach(segment -> pageIds.put(segment, new ArrayList<>()));
+        owners.forEach((pageId, owner) -> {
+            List<Long> ids = pageIds.get(owner);
+            if (ids != null) {
+                ids.add(pageId);
+            }
+        });
+        List<DiskSegment.Source> sources = new ArrayList<>(segments.size());
+        for (SearchSegment segment : segments) {
+            sources.add(new DiskSegment.Source(segment,
+                    pageIds.get(segment).stream().mapToLong(Long::longValue).toArray()));
+        }
+        return sources;
+    }
+
+    /** 새 디스크 세그먼트에 옮겨 쓴 페이지 중 그 사이 바뀌거나 지워지지 않은 페이지를 새 세그먼트로 넘깁니다. */
+    void transfer(List<DiskSegment.Source> sources, DiskSegment target) {
+        for (DiskSegment.Source source : sources) {
+            for (long pageId : source.pageIds()) {
+                owners.replace(pageId, source.segment(), target);
+            }
+        }
+    }
+
+    SearchSegmentDirectory.Manifest manifest() {
+        return new SearchSegmentDirectory.Manifest(commitPoint, disk.stream().map(DiskSegment::name).toList(),
+                fieldsFile);
+    }
+
+    private void acquire(long pageId, SearchSegment segment) {
+        owners.put(pageId, segment);
+        String title = segment.title(pageId);
+        titles.add(pageId, title);
+        if (title != null) {
+            fuzzyTitles.add(pageId, TitlePrefixIndex.toKey(title));
+        }
+        facets.setUpdatedAt(pageId, segment.updatedAt(pageId));
+        totalTitleLength += segment.titleLength(pageId);
+        totalContentLength += segment.contentLength(pageId);
+    }
+
+    private void release(long pageId, SearchSegment segment) {
+        titles.remove(pageId, segment.title(pageId));
+        fuzzyTitles.remove(pageId);
+        totalTitleLength -= segment.titleLength(pageId);
+        totalContentLength -= segment.contentLength(pageId);
+    }
+}
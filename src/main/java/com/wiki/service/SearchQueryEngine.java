@@ -0,0 +1,418 @@
+package com.wiki.service;
+
+import com.wiki.service.WikiPageSearchIndex.Document;
+import com.wiki.service.WikiPageSearchIndex.Field;
+import com.wiki.service.WikiPageSearchIndex.Filter;
+import com.wiki.service.WikiPageSearchIndex.Hit;
+import com.wiki.service.WikiPageSearchIndex.Hits;
+import com.wiki.service.WikiPageSearchIndex.Match;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * 통합 검색 질의 처리 (WikiPageSearchIndex.search에서 읽기 잠금을 잡은 채 사용)
+ * 검색어 토큰(오타 허용이면 비슷한 토큰 포함)의 포스팅 목록을 세그먼트마다 교집합하고, 댓글/첨부파일 이름 일치와
+ * 검색 필터를 반영해 BM25 점수를 매긴 뒤 상위 결과와 필터 값별 페이지 수, 본문 일치 위치를 만듭니다.
+ */
+final class SearchQueryEngine {
+
+    /** BM25 출현 횟수 포화 계수와 문서 길이 정규화 비율 */
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    /** 오타 허용 검색에서 검색어 토큰이 정확히 일치하지 않고 비슷한 토큰으로만 일치했을 때의 점수 비율 */
+    private static final double FUZZY_MATCH_WEIGHT = 0.5;
+
+    /** 댓글/첨부파일 이름에 검색어 토큰이 나온 페이지의 출현 가중치 (본문 출현 한 번 대비, 항목 수와 관계없이 한 번으로 셈) */
+    private static final double COMMENT_WEIGHT = 0.5;
+    private static final double ATTACHMENT_WEIGHT = 1.0;
+
+    /** 점수 높은 순, 같으면 최근 수정순 */
+    private static final Comparator<Candidate> RANKING = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparing(Candidate::updatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparingLong(Candidate::pageId);
+
+    /** 제목 출현 가중치 (본문 출현 대비) */
+    private final double titleBoost;
+    /** 오타 허용 검색에서 허용하는 최대 편집 수 */
+    private final int fuzzyMaxEdits;
+
+    SearchQueryEngine(double titleBoost, int fuzzyMaxEdits) {
+        this.titleBoost = titleBoost;
+        this.fuzzyMaxEdits = fuzzyMaxEdits;
+    }
+
+    /**
+     * 모든 검색어 토큰을 제목, 본문, 댓글, 첨부파일 이름 중 어딘가에 포함한 페이지를 BM25 점수순으로 찾습니다.
+     * 토큰별 출현 횟수는 제목/본문 길이로 각각 정규화한 뒤 제목 쪽에 titleBoost를 곱하고 댓글/첨부파일 이름 가중치를 더해 합산하며,
+     * 점수가 같으면 최근 수정순입니다. 결과마다 검색어 토큰이 나온 필드를 함께 반환합니다.
+     * 세그먼트마다 교집합을 구하고 페이지별 유효 세그먼트의 내용만 점수를 매깁니다. (문서 빈도는 세그먼트별 합과 부속 필드 일치 페이지 수)
+     * 일치하는 전체 페이지 수는 모두 세지만 결과는 상위 offset + limit개만 힙에 남겨 offset부터 limit개를 반환합니다.
+     * fuzzy이면 검색어 토큰마다 어휘에서 편집 거리 이내인 토큰까지 일치로 보고, 비슷한 토큰으로만 일치한 검색어 토큰은
+     * 점수를 FUZZY_MATCH_WEIGHT만큼만 반영합니다. (한글 구간이 원문에 이어서 나오는지는 확인하지 않음)
+     * filter가 있으면 필터 비트맵의 페이지만 후보로 보며, 허용 페이지가 가장 짧은 포스팅 목록보다 적으면 허용 페이지를 기준으로
+     * 포스팅 목록에서 찾습니다. 필터 값별 페이지 수는 필터를 적용한 일치 페이지 전체로 셉니다.
+     */
+    Hits search(SearchIndexState state, Query parsed, int offset, int limit, Filter filter) {
+        Set<String> terms = parsed.terms();
+        List<String> runs = parsed.runs();
+        char[] singleHangul = parsed.singleHangul();
+        boolean fuzzy = parsed.fuzzy();
+        int topSize = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Candidate> top = new PriorityQueue<>(RANKING.reversed());
+        BitSet matched = new BitSet();
+
+        BitSet allowed = state.facets.allowed(filter);
+        int allowedCount = allowed != null ? allowed.cardinality() : Integer.MAX_VALUE;
+        if (allowedCount == 0) {
+            return Hits.EMPTY;
+        }
+        List<List<String>> alternatives = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            alternatives.add(fuzzy ? state.vocabulary.expand(term, fuzzyMaxEdits) : List.of(term));
+        }
+        FieldMatch[] fields = new FieldMatch[alternatives.size()];
+        long[] documentFrequencies = new long[terms.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = FieldMatch.of(state, alternatives.get(i));
+            documentFrequencies[i] = fields[i].count();
+        }
+        List<SegmentQuery> segmentQueries = new ArrayList<>();
+        for (SearchSegment segment : state.segments()) {
+            SegmentQuery segmentQuery = SegmentQuery.of(segment, alternatives, fields);
+            if (segmentQuery != null) {
+                segmentQueries.add(segmentQuery);
+                for (int i = 0; i < documentFrequencies.length; i++) {
+                    documentFrequencies[i] += segmentQuery.postings().get(i).size();
+                }
+            }
+        }
+        if (segmentQueries.isEmpty()) {
+            return Hits.EMPTY;
+        }
+
+        int documentCount = state.owners.size();
+        double[] idf = new double[documentFrequencies.length];
+        for (int i = 0; i < idf.length; i++) {
+            // 가려진 사본까지 센 문서 빈도가 문서 수를 넘으면 idf가 음수가 되므로 문서 수로 제한
+            long documentFrequency = Math.min(documentFrequencies[i], documentCount);
+            idf[i] = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+        Scorer scorer = new Scorer(state, idf, fields, runs);
+
+        for (SegmentQuery segmentQuery : segmentQueries) {
+            SearchSegment segment = segmentQuery.segment();
+            List<SearchSegment.Postings> postings = segmentQuery.postings();
+            // 후보가 가장 적은 검색어 토큰(포스팅 목록과 댓글/첨부파일 이름 일치 페이지) 또는 더 적은 필터 허용 페이지를
+            // 기준으로 나머지 토큰 목록에서 이진 탐색해 교집합
+            int[] order = IntStream.range(0, postings.size()).boxed()
+                    .sorted(Comparator.comparingInt(i -> postings.get(i).size() + fields[i].count()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            SearchSegment.Postings shortest = postings.get(order[0]);
+            BitSet shortestFieldPages = fields[order[0]].pages();
+            int[] positions = new int[order.length];
+            if (allowedCount < shortest.size() + fields[order[0]].count()) {
+                for (int bit = allowed.nextSetBit(0); bit >= 0; bit = allowed.nextSetBit(bit + 1)) {
+                    if (state.owners.get((long) bit) == segment && locate(postings, fields, order, 0, bit, positions)) {
+                        collect(scorer.score(segmentQuery, bit, positions), matched, top, topSize);
+                    }
+                }
+                continue;
+            }
+            for (int i = 0; i < shortest.size(); i++) {
+                long pageId = shortest.pageIdAt(i);
+                if (!accepts(state, segment, allowed, pageId)) {
+                    continue;
+                }
+                positions[order[0]] = i;
+                if (locate(postings, fields, order, 1, pageId, positions)) {
+                    collect(scorer.score(segmentQuery, pageId, positions), matched, top, topSize);
+                }
+            }
+            // 기준 토큰이 제목/본문에는 없고 댓글/첨부파일 이름에만 나온 페이지
+            for (int bit = shortestFieldPages.nextSetBit(0); bit >= 0; bit = shortestFieldPages.nextSetBit(bit + 1)) {
+                positions[order[0]] = shortest.indexOf(bit);
+                if (positions[order[0]] < 0 && accepts(state, segment, allowed, bit)
+                        && locate(postings, fields, order, 1, bit, positions)) {
+                    collect(scorer.score(segmentQuery, bit, positions), matched, top, topSize);
+                }
+            }
+        }
+
+        List<String> allTerms = alternatives.stream().flatMap(List::stream).toList();
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Hit> hits = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (Candidate candidate : ranked.subList(Math.min(offset, ranked.size()), ranked.size())) {
+            Document document = candidate.query().segment().document(candidate.pageId());
+            Set<Field> matchedFields = Field.of(candidate.fieldMask());
+            List<String> attachmentNames = matchedFields.contains(Field.ATTACHMENT)
+                    ? state.attachments.matchingTexts(candidate.pageId(), allTerms) : List.of();
+            hits.add(new Hit(document, candidate.score(), candidate.titleMatch(),
+                    findMatches(document, candidate.query().queryTermIds(), singleHangul), matchedFields,
+                    attachmentNames));
+        }
+        return new Hits(matched.cardinality(), hits, state.facets.count(matched));
+    }
+
+    /**
+     * 페이지가 이 세그먼트에서 유효하고 필터를 통과하는지 확인합니다. (allowed가 null이면 필터 없음)
+     */
+    private static boolean accepts(SearchIndexState state, SearchSegment segment, BitSet allowed, long pageId) {
+        return state.owners.get(pageId) == segment && (allowed == null || allowed.get(SearchFacets.bit(pageId)));
+    }
+
+    /**
+     * order[from]부터의 검색어 토큰 포스팅 목록에서 페이지 위치를 찾아 positions에 채웁니다.
+     * 포스팅 목록에 없으면 위치는 음수이며, 댓글/첨부파일 이름에도 없는 토큰이 하나라도 있으면 false입니다.
+     */
+    private static boolean locate(List<SearchSegment.Postings> postings, FieldMatch[] fields, int[] order, int from,
+                                  long pageId, int[] positions) {
+        for (int j = from; j < order.length; j++) {
+            positions[order[j]] = postings.get(order[j]).indexOf(pageId);
+            if (positions[order[j]] < 0 && !fields[order[j]].contains(pageId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 일치한 페이지를 필터 값별 집계 집합에 넣고 상위 topSize개 힙에 반영합니다. (candidate가 null이면 불일치)
+     */
+    private static void collect(Candidate candidate, BitSet matched, PriorityQueue<Candidate> top, int topSize) {
+        if (candidate == null) {
+            return;
+        }
+        matched.set(SearchFacets.bit(candidate.pageId()));
+        if (top.size() < topSize) {
+            top.add(candidate);
+        } else if (topSize > 0 && RANKING.compare(candidate, top.peek()) < 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    /**
+     * 한 검색 요청의 BM25 점수 계산 (idf/fields: 검색어 토큰별, runs: 이어서 나와야 하는 한글 구간)
+     * 댓글/첨부파일 이름 출현은 항목 수와 관계없이 COMMENT_WEIGHT/ATTACHMENT_WEIGHT만큼의 출현 횟수로 더합니다.
+     */
+    private final class Scorer {
+        private final SearchIndexState state;
+        private final double[] idf;
+        private final FieldMatch[] fields;
+        private final List<String> runs;
+        private final double averageTitleLength;
+        private final double averageContentLength;
+
+        Scorer(SearchIndexState state, double[] idf, FieldMatch[] fields, List<String> runs) {
+            this.state = state;
+            this.idf = idf;
+            this.fields = fields;
+            this.runs = runs;
+            this.averageTitleLength = state.averageTitleLength();
+            this.averageContentLength = state.averageContentLength();
+        }
+
+        /**
+         * 모든 검색어 토큰을 포함한 페이지(positions: 토큰별 포스팅 위치, 음수면 댓글/첨부파일 이름에만 있음)의 점수를 매깁니다.
+         * (한글 구간이 이어지지 않으면 null)
+         */
+        Candidate score(SegmentQuery segmentQuery, long pageId, int[] positions) {
+            SearchSegment segment = segmentQuery.segment();
+            if (!runs.isEmpty() && !containsRuns(segment, pageId)) {
+                return null;
+            }
+
+            double titleNorm = 1 - BM25_B + BM25_B * segment.titleLength(pageId) / averageTitleLength;
+            double contentNorm = 1 - BM25_B + BM25_B * segment.contentLength(pageId) / averageContentLength;
+            int bit = SearchFacets.bit(pageId);
+            double score = 0;
+            boolean titleMatch = true;
+            int fieldMask = 0;
+            for (int j = 0; j < positions.length; j++) {
+                SearchSegment.Postings termPostings = segmentQuery.postings().get(j);
+                int titleFrequency = positions[j] >= 0 ? termPostings.titleFrequencyAt(positions[j]) : 0;
+                int contentFrequency = positions[j] >= 0 ? termPostings.contentFrequencyAt(positions[j]) : 0;
+                boolean inComment = fields[j].count() > 0 && fields[j].comments().get(bit);
+                boolean inAttachment = fields[j].count() > 0 && fields[j].attachments().get(bit);
+                double frequency = titleBoost * titleFrequency / titleNorm + contentFrequency / contentNorm
+                        + (inComment ? COMMENT_WEIGHT : 0) + (inAttachment ? ATTACHMENT_WEIGHT : 0);
+                double termScore = idf[j] * frequency * (BM25_K1 + 1) / (frequency + BM25_K1);
+                SearchSegment.Postings exact = segmentQuery.exactPostings().get(j);
+                boolean exactMatch = exact == termPostings ? positions[j] >= 0
+                        : exact != null && exact.indexOf(pageId) >= 0;
+                if (!exactMatch && (fields[j].count() == 0 || !fields[j].exact().get(bit))) {
+                    termScore *= FUZZY_MATCH_WEIGHT;
+                }
+                score += termScore;
+                titleMatch &= titleFrequency > 0;
+                fieldMask |= (titleFrequency > 0 ? Field.TITLE.mask() : 0) | (contentFrequency > 0 ? Field.CONTENT.mask() : 0)
+                        | (inComment ? Field.COMMENT.mask() : 0) | (inAttachment ? Field.ATTACHMENT.mask() : 0);
+            }
+            if (titleMatch && !runs.isEmpty()) {
+                String title = segment.title(pageId);
+                for (String run : runs) {
+                    titleMatch &= title != null && SearchTokenizer.containsIgnoringSpaces(title, run);
+                }
+            }
+            return new Candidate(segmentQuery, pageId, segment.updatedAt(pageId), score, titleMatch, fieldMask);
+        }
+
+        /**
+         * 각 한글 구간이 제목/본문이나 댓글/첨부파일 이름 중 한 곳에 이어서 나오는지 확인합니다.
+         */
+        private boolean containsRuns(SearchSegment segment, long pageId) {
+            if (segment.containsRuns(pageId, runs)) {
+                return true;
+            }
+            for (String run : runs) {
+                if (!segment.containsRuns(pageId, List.of(run)) && !state.comments.containsRun(pageId, run)
+                        && !state.attachments.containsRun(pageId, run)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 본문에서 검색어 토큰이 나온 위치를 term vector로 찾습니다. (본문 텍스트를 다시 토큰으로 나누지 않음)
+     * 겹치거나 맞닿은 위치는 하나로 합치므로 "서버배포"의 바이그램 세 개는 한 구간이 됩니다.
+     * 한 글자 한글 검색어는 바이그램 안에서 그 글자 위치만 표시합니다.
+     */
+    private static List<Match> findMatches(Document document, Map<Integer, Integer> queryTermIds, char[] singleHangul) {
+        List<Match> matches = new ArrayList<>();
+        TermVector.forEach(document.termVector(), (termId, start, end) -> {
+            Integer ordinal = queryTermIds.get(termId);
+            if (ordinal == null) {
+                return;
+            }
+            if (singleHangul[ordinal] != 0) {
+                start = document.text().indexOf(singleHangul[ordinal], start);
+                end = start + 1;
+            }
+            long terms = 1L << Math.min(ordinal, Long.SIZE - 1);
+            Match last = matches.isEmpty() ? null : matches.get(matches.size() - 1);
+            if (last != null && start <= last.end()) {
+                matches.set(matches.size() - 1, new Match(last.start(), Math.max(last.end(), end), last.terms() | terms));
+            } else {
+                matches.add(new Match(start, end, terms));
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * 토큰으로 나눈 검색어 (terms: 검색어 토큰, runs: 원문에 이어서 나와야 하는 세 글자 이상 한글 구간,
+     * singleHangul: 검색어 토큰 번호별 한 글자 한글 검색어, 아니면 0)
+     */
+    record Query(Set<String> terms, List<String> runs, char[] singleHangul, boolean fuzzy) {
+
+        /** 검색어를 토큰으로 나눕니다. (토큰이 없으면 null) */
+        static Query parse(String query, boolean fuzzy) {
+            Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenizeQuery(query));
+            if (terms.isEmpty()) {
+                return null;
+            }
+            // 세 글자 이상 한글 구간은 바이그램이 모두 있어도 서로 떨어져 있을 수 있으므로 원문에 이어서 나오는지 확인
+            List<String> runs = fuzzy ? List.of() : SearchTokenizer.queryHangulRuns(query).stream()
+                    .filter(run -> run.length() > 2)
+                    .toList();
+            // 본문 일치 위치를 찾을 때 한 글자 한글 검색어는 바이그램 안에서 그 글자 위치만 표시
+            char[] singleHangul = new char[terms.size()];
+            int ordinal = 0;
+            for (String term : terms) {
+                if (SearchTokenizer.isSingleHangul(term)) {
+                    singleHangul[ordinal] = term.charAt(0);
+                }
+                ordinal++;
+            }
+            return new Query(terms, runs, singleHangul, fuzzy);
+        }
+    }
+
+    /** 검색 결과 후보 (query: 페이지가 속한 세그먼트의 검색어 토큰 정보, fieldMask: 검색어 토큰이 나온 필드의 Field.mask() 합) */
+    private record Candidate(SegmentQuery query, long pageId, LocalDateTime updatedAt, double score,
+                             boolean titleMatch, int fieldMask) {}
+
+    /**
+     * 검색어 토큰 하나(alternatives 포함)가 댓글/첨부파일 이름에 나온 페이지
+     * (pages: 둘 중 한 곳, count: pages의 페이지 수, exact: 검색어 토큰 자체로 일치한 페이지)
+     */
+    private record FieldMatch(BitSet comments, BitSet attachments, BitSet pages, int count, BitSet exact) {
+
+        static FieldMatch of(SearchIndexState state, List<String> terms) {
+            BitSet comments = state.comments.pages(terms);
+            BitSet attachments = state.attachments.pages(terms);
+            BitSet pages = (BitSet) comments.clone();
+            pages.or(attachments);
+            BitSet exact = pages;
+            if (terms.size() > 1) {
+                exact = state.comments.pages(terms.subList(0, 1));
+                exact.or(state.attachments.pages(terms.subList(0, 1)));
+            }
+            return new FieldMatch(comments, attachments, pages, pages.cardinality(), exact);
+        }
+
+        boolean contains(long pageId) {
+            return pages.get(SearchFacets.bit(pageId));
+        }
+    }
+
+    /**
+     * 한 세그먼트에서 검색어 토큰별 포스팅 목록 (queryTermIds: 세그먼트의 토큰 ID → 검색어 토큰 번호)
+     * exactPostings는 검색어 토큰 자체의 포스팅 목록입니다. (오타 허용 검색에서 비슷한 토큰으로만 일치했는지 구분, 없으면 null)
+     */
+    private record SegmentQuery(SearchSegment segment, List<SearchSegment.Postings> postings,
+                                List<SearchSegment.Postings> exactPostings, Map<Integer, Integer> queryTermIds) {
+
+        /**
+         * 검색어 토큰마다 alternatives(처음이 검색어 토큰 자체) 중 하나라도 일치하는 포스팅 목록을 만듭니다.
+         * 세그먼트에 없는 검색어 토큰은 빈 목록이며, 그 토큰이 댓글/첨부파일 이름에도 없으면 null
+         * (그 세그먼트의 페이지는 모든 토큰을 포함할 수 없음)
+         */
+        static SegmentQuery of(SearchSegment segment, List<List<String>> alternatives, FieldMatch[] fields) {
+            List<SearchSegment.Postings> postings = new ArrayList<>(alternatives.size());
+            List<SearchSegment.Postings> exactPostings = new ArrayList<>(alternatives.size());
+            Map<Integer, Integer> queryTermIds = new HashMap<>();
+            for (List<String> terms : alternatives) {
+                int[] exactTermIds = segment.matchingTermIds(terms.get(0));
+                int[] termIds = exactTermIds;
+                if (terms.size() > 1) {
+                    termIds = terms.stream()
+                            .flatMapToInt(term -> IntStream.of(segment.matchingTermIds(term)))
+                            .distinct()
+                            .toArray();
+                }
+                if (termIds.length == 0) {
+                    if (fields[postings.size()].count() == 0) {
+                        return null;
+                    }
+                    postings.add(new MemorySegment.PostingList());
+                    exactPostings.add(null);
+                    continue;
+                }
+                for (int termId : termIds) {
+                    queryTermIds.put(termId, postings.size());
+                }
+                SearchSegment.Postings termPostings = segment.postings(termIds);
+                postings.add(termPostings);
+                exactPostings.add(exactTermIds.length == 0 ? null
+                        : exactTermIds == termIds ? termPostings : segment.postings(exactTermIds));
+            }
+            return new SegmentQuery(segment, postings, exactPostings, queryTermIds);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wiki.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 색인 세그먼트
+ * 디스크에 쓴 불변 세그먼트(DiskSegment)와 마지막 저장 이후 변경을 담는 메모리 세그먼트(MemorySegment)를 같은 방식으로 검색합니다.
+ * 같은 페이지가 여러 세그먼트에 남아 있을 수 있으며, 어느 세그먼트의 내용이 유효한지는 WikiPageSearchIndex가 페이지별로 관리합니다.
+ * 토큰 ID는 세그먼트마다 따로 매기므로 다른 세그먼트의 ID와 섞어 쓰면 안 됩니다.
+ */
+interface SearchSegment {
+
+    /**
+     * 검색어 토큰과 일치하는 토큰 ID를 반환합니다. (없으면 빈 배열)
+     * 한 글자 한글 토큰은 그 글자가 들어간 바이그램 토큰 전체와 일치합니다.
+     */
+    int[] matchingTermIds(String term);
+
+    /** 토큰 하나의 포스팅 목록 */
+    Postings postings(int termId);
+
+    /**
+     * 토큰 ID들의 포스팅 목록을 반환합니다. (여러 개면 페이지별 출현 횟수를 합친 목록)
+     */
+    default Postings postings(int[] termIds) {
+        if (termIds.length == 1) {
+            return postings(termIds[0]);
+        }
+        Map<Long, int[]> merged = new HashMap<>();
+        for (int termId : termIds) {
+            Postings postings = postings(termId);
+            for (int i = 0; i < postings.size(); i++) {
+                int[] counts = merged.computeIfAbsent(postings.pageIdAt(i), key -> new int[2]);
+                counts[0] += postings.titleFrequencyAt(i);
+                counts[1] += postings.contentFrequencyAt(i);
+            }
+        }
+        return MemorySegment.PostingList.of(merged);
+    }
+
+    /** 토큰 ID 범위 (0 이상 termCount 미만) */
+    int termCount();
+
+    String term(int termId);
+
+    /** 포스팅 수 (토큰-페이지 쌍, 통계용) */
+    long postingCount();
+
+    /** 페이지 버전 (세그먼트에 없으면 -1) */
+    long version(long pageId);
+
+    String title(long pageId);
+
+    int titleLength(long pageId);
+
+    int contentLength(long pageId);
+
+    LocalDateTime updatedAt(long pageId);
+
+    byte[] termVector(long pageId);
+
+    WikiPageSearchIndex.Document document(long pageId);
+
+    /**
+     * 각 한글 구간(공백 없는 검색어 구간)이 제목이나 본문에 이어서 나오는지 확인합니다. (띄어쓰기 차이는 무시)
+     */
+    default boolean containsRuns(long pageId, List<String> runs) {
+        WikiPageSearchIndex.Document document = document(pageId);
+        for (String run : runs) {
+            boolean inTitle = document.title() != null && SearchTokenizer.containsIgnoringSpaces(document.title(), run);
+            if (!inTitle && !SearchTokenizer.containsIgnoringSpaces(document.text(), run)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 한 토큰의 포스팅 목록 (페이지 ID 오름차순)
+     */
+    interface Postings {
+        int size();
+
+        long pageIdAt(int index);
+
+        /** 페이지 ID의 위치 (없으면 음수) */
+        int indexOf(long pageId);
+
+        int titleFrequencyAt(int index);
+
+        int contentFrequencyAt(int index);
+    }
+}
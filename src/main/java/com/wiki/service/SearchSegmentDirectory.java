@@ -0,0 +1,253 @@
+package com.wiki.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * 검색 색인 세그먼트 디렉터리
+ * 세그먼트 파일, 부속 필드 파일(댓글/첨부파일 이름 항목 전체)과, 현재 세그먼트 목록(오래된 순), 필드 파일, 커밋 시점을 적은
+ * manifest를 관리합니다.
+ * manifest는 임시 파일에 쓰고 동기화한 뒤 원자적 이동으로 바꾸므로 중간에 중단되어도 이전 목록이나 새 목록 중 하나만 보입니다.
+ * manifest에 없는 세그먼트 파일과 필드 파일(쓰다가 중단, 병합/교체 후 지우지 못함)은 열 때 지웁니다.
+ */
+@Slf4j
+final class SearchSegmentDirectory {
+
+    private static final String MANIFEST = "segments.properties";
+    private static final String MANIFEST_TEMP = "segments.properties.tmp";
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String FIELDS_PREFIX = "fields-";
+    private static final String FIELDS_SUFFIX = ".fld";
+
+    private static final int FIELDS_MAGIC = 0x57534946;
+    private static final int FIELDS_FORMAT_VERSION = 1;
+
+    private final Path path;
+    private long nextGeneration;
+
+    SearchSegmentDirectory(Path path) {
+        this.path = path;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * 디렉터리를 만들고 manifest를 읽습니다. (manifest가 없으면 null)
+     * 새 세그먼트/필드 파일 번호는 남아 있는 파일보다 크게 정하고, manifest를 읽으면 거기에 없는 파일을 지웁니다.
+     */
+    Manifest open() throws IOException {
+        Files.createDirectories(path);
+        Map<String, List<Path>> files = new HashMap<>();
+        try (Stream<Path> list = Files.list(path)) {
+            for (Path file : list.toList()) {
+                String segment = segmentName(file);
+                if (segment != null) {
+                    files.computeIfAbsent(segment, key -> new ArrayList<>()).add(file);
+                    nextGeneration = Math.max(nextGeneration,
+                            Long.parseLong(segment.substring(SEGMENT_PREFIX.length())) + 1);
+                }
+                String fields = fieldsName(file);
+                if (fields != null) {
+                    files.computeIfAbsent(fields, key -> new ArrayList<>()).add(file);
+                    nextGeneration = Math.max(nextGeneration,
+                            Long.parseLong(fields.substring(FIELDS_PREFIX.length())) + 1);
+                }
+            }
+        }
+
+        Path manifestFile = path.resolve(MANIFEST);
+        if (!Files.exists(manifestFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        String segments = properties.getProperty("segments", "");
+        Manifest manifest = new Manifest(LocalDateTime.parse(properties.getProperty("commitPoint")),
+                segments.isEmpty() ? List.of() : Arrays.asList(segments.split(",")), properties.getProperty("fields"));
+
+        for (Map.Entry<String, List<Path>> entry : files.entrySet()) {
+            if (!manifest.segments().contains(entry.getKey()) && !entry.getKey().equals(manifest.fields())) {
+                for (Path file : entry.getValue()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /** 새 세그먼트 이름 (세대 번호 순) */
+    synchronized String newSegmentName() {
+        return SEGMENT_PREFIX + nextGeneration++;
+    }
+
+    /** 새 필드 파일 이름 (세그먼트와 같은 세대 번호 사용) */
+    synchronized String newFieldsName() {
+        return FIELDS_PREFIX + nextGeneration++;
+    }
+
+    /**
+     * 부속 필드 항목 전체를 새 필드 파일로 씁니다. manifest에 이 이름을 기록하기 전에는 열리지 않습니다.
+     */
+    void writeFields(String name, List<SearchFieldIndex.Item> comments, List<SearchFieldIndex.Item> attachments)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path.resolve(name + FIELDS_SUFFIX), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(FIELDS_MAGIC);
+            out.writeInt(FIELDS_FORMAT_VERSION);
+            for (List<SearchFieldIndex.Item> items : List.of(comments, attachments)) {
+                out.writeInt(items.size());
+                for (SearchFieldIndex.Item item : items) {
+                    byte[] text = item.text() != null ? item.text().getBytes(StandardCharsets.UTF_8) : new byte[0];
+                    out.writeLong(item.id());
+                    out.writeLong(item.pageId());
+                    out.writeInt(text.length);
+                    out.write(text);
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * 필드 파일을 읽습니다.
+     */
+    Fields readFields(String name) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path.resolve(name + FIELDS_SUFFIX)), 1 << 16);
+             DataInputStream data = new DataInputStream(in)) {
+            if (data.readInt() != FIELDS_MAGIC || data.readInt() != FIELDS_FORMAT_VERSION) {
+                throw new IOException("검색 색인 필드 파일 형식이 다릅니다: " + name);
+            }
+            List<List<SearchFieldIndex.Item>> sections = new ArrayList<>(2);
+            for (int section = 0; section < 2; section++) {
+                int count = data.readInt();
+                List<SearchFieldIndex.Item> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long id = data.readLong();
+                    long pageId = data.readLong();
+                    byte[] text = new byte[data.readInt()];
+                    data.readFully(text);
+                    items.add(new SearchFieldIndex.Item(id, pageId, new String(text, StandardCharsets.UTF_8)));
+                }
+                sections.add(items);
+            }
+            return new Fields(sections.get(0), sections.get(1));
+        }
+    }
+
+    /**
+     * manifest를 원자적으로 바꿉니다. 이후 기동은 이 목록의 세그먼트만 엽니다.
+     */
+    void write(Manifest manifest) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("commitPoint", manifest.commitPoint().toString());
+        properties.setProperty("segments", String.join(",", manifest.segments()));
+        if (manifest.fields() != null) {
+            properties.setProperty("fields", manifest.fields());
+        }
+        Path temp = path.resolve(MANIFEST_TEMP);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            properties.store(out, "search index segments");
+            channel.force(true);
+        }
+        Files.move(temp, path.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 더 이상 manifest에 없는 세그먼트 파일을 지웁니다. (지우지 못하면 다음 기동 시 다시 시도)
+     */
+    void delete(Collection<String> segments) {
+        for (String segment : segments) {
+            try {
+                Files.deleteIfExists(path.resolve(segment + DiskSegment.INDEX_SUFFIX));
+                Files.deleteIfExists(path.resolve(segment + DiskSegment.DATA_SUFFIX));
+            } catch (IOException e) {
+                log.warn("검색 색인 세그먼트 파일 삭제 실패: {}", segment, e);
+            }
+        }
+    }
+
+    /**
+     * 더 이상 manifest에 없는 필드 파일을 지웁니다. (지우지 못하면 다음 기동 시 다시 시도)
+     */
+    void deleteFields(String name) {
+        try {
+            Files.deleteIfExists(path.resolve(name + FIELDS_SUFFIX));
+        } catch (IOException e) {
+            log.warn("검색 색인 필드 파일 삭제 실패: {}", name, e);
+        }
+    }
+
+    /** 필드 파일이면 필드 파일 이름, 아니면 null */
+    private static String fieldsName(Path file) {
+        String fileName = file.getFileName().toString();
+        if (fileName.length() > FIELDS_PREFIX.length() + FIELDS_SUFFIX.length()
+                && fileName.startsWith(FIELDS_PREFIX) && fileName.endsWith(FIELDS_SUFFIX)) {
+            String name = fileName.substring(0, fileName.length() - FIELDS_SUFFIX.length());
+            if (name.substring(FIELDS_PREFIX.length()).chars().allMatch(Character::isDigit)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /** 세그먼트 파일이면 세그먼트 이름, 아니면 null */
+    private static String segmentName(Path file) {
+        String fileName = file.getFileName().toString();
+        for (String suffix : List.of(DiskSegment.INDEX_SUFFIX, DiskSegment.DATA_SUFFIX)) {
+            if (fileName.length() > SEGMENT_PREFIX.length() + suffix.length()
+                    && fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(suffix)) {
+                String name = fileName.substring(0, fileName.length() - suffix.length());
+                if (name.substring(SEGMENT_PREFIX.length()).chars().allMatch(Character::isDigit)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 커밋 지점 (commitPoint: 이 시각까지 색인에 반영된 변경은 segments와 fields에 모두 들어 있음, segments: 오래된 순,
+     * fields: 부속 필드 파일 이름, 저장한 적 없으면 null)
+     */
+    record Manifest(LocalDateTime commitPoint, List<String> segments, String fields) {
+        Manifest {
+            segments = List.copyOf(segments);
+        }
+    }
+
+    /** 필드 파일에 저장된 항목 (댓글, 첨부파일 이름) */
+    record Fields(List<SearchFieldIndex.Item> comments, List<SearchFieldIndex.Item> attachments) {}
+}
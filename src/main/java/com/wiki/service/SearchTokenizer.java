@@ -0,0 +1,261 @@
+package com.wiki.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인/검색어 토큰 분리
+ * 본문(TipTap HTML)은 extractText로 태그를 걷어낸 뒤 tokenize로 나눕니다. 색인과 검색어에 같은 규칙을 적용해야 합니다.
+ * 한글은 띄어쓰기가 일정하지 않으므로 공백을 건너뛰며 이어지는 한글 구간을 두 글자씩 겹쳐 자른 바이그램으로 색인합니다.
+ * (예: "위키 문서" → 위키, 키문, 문서) 검색어는 공백으로 나눈 부분마다 같은 방식으로 자르므로
+ * "위키문서"와 "위키 문서"가 서로 검색되고, "백업 복구"는 "백업 &amp; 복구"처럼 사이에 기호가 있어도 찾습니다.
+ * 한 글자 구간은 그 글자 하나를 토큰으로 씁니다. 영문/숫자 등 나머지 글자는 이어진 구간을 소문자 단어 하나로 봅니다.
+ */
+final class SearchTokenizer {
+
+    /** 에디터(TipTap)가 문단 안에서 쓰는 태그 */
+    private static final Set<String> INLINE_TAGS = Set.of(
+            "a", "b", "strong", "i", "em", "u", "s", "del", "code", "mark", "span", "sub", "sup");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * HTML 본문에서 검색/스니펫용 텍스트를 추출합니다.
+     * 블록 태그는 공백으로 바꿔 문단 경계의 단어가 붙지 않게 하고, 인라인 태그(굵게, 링크 등)는 단어 중간에 올 수 있으므로 그냥 지웁니다.
+     * 자주 쓰는 문자 참조를 복원한 뒤 연속 공백을 하나로 줄입니다.
+     */
+    static String extractText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder text = new StringBuilder(html.length());
+        int i = 0;
+        while (i < html.length()) {
+            char c = html.charAt(i);
+            if (c == '<' && isTagStart(html, i + 1)) {
+                int end = html.indexOf('>', i + 1);
+                if (end < 0) {
+                    break;
+                }
+                if (!isInlineTag(html, i + 1, end)) {
+                    appendSpace(text);
+                }
+                i = end + 1;
+            } else if (c == '&') {
+                int end = html.indexOf(';', i + 1);
+                String decoded = end > 0 && end - i <= 10 ? decodeEntity(html.substring(i + 1, end)) : null;
+                if (decoded != null) {
+                    if (decoded.isBlank()) {
+                        appendSpace(text);
+                    } else {
+                        text.append(decoded);
+                    }
+                    i = end + 1;
+                } else {
+                    text.append(c);
+                    i++;
+                }
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(text);
+                i++;
+            } else {
+                text.append(c);
+                i++;
+            }
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * 텍스트를 토큰 목록으로 나눕니다. (등장 순서대로, 중복 포함)
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, (token, start, end) -> tokens.add(token));
+        return tokens;
+    }
+
+    /**
+     * 텍스트를 토큰으로 나눠 원문 위치와 함께 순서대로 넘깁니다.
+     * 공백을 건너뛴 바이그램은 그 공백까지 포함한 구간입니다. (예: "위키 문서"의 "키문"은 "키 문")
+     */
+    static void tokenize(String text, TokenConsumer consumer) {
+        forEachRun(text, (run, hangul, start, hangulOffsets) -> {
+            if (!hangul) {
+                consumer.accept(run.toLowerCase(Locale.ROOT), start, start + run.length());
+            } else if (run.length() == 1) {
+                consumer.accept(run, start, start + 1);
+            } else {
+                for (int i = 0; i + 1 < run.length(); i++) {
+                    consumer.accept(run.substring(i, i + 2), hangulOffsets[i], hangulOffsets[i + 1] + 1);
+                }
+            }
+        });
+    }
+
+    /**
+     * 검색어를 토큰 목록으로 나눕니다. 공백으로 나눈 부분마다 tokenize를 적용합니다.
+     */
+    static List<String> tokenizeQuery(String query) {
+        List<String> tokens = new ArrayList<>();
+        for (String part : splitQuery(query)) {
+            tokens.addAll(tokenize(part));
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색어의 한글 구간 목록을 반환합니다. (바이그램이 모두 있는 페이지에서 글자가 실제로 이어지는지 확인할 때 사용)
+     */
+    static List<String> queryHangulRuns(String query) {
+        List<String> runs = new ArrayList<>();
+        for (String part : splitQuery(query)) {
+            forEachRun(part, (run, hangul, start, hangulOffsets) -> {
+                if (hangul) {
+                    runs.add(run);
+                }
+            });
+        }
+        return runs;
+    }
+
+    /**
+     * 공백을 무시하고 text에 run이 이어서 나오는지 확인합니다. (run은 공백 없는 한글 구간)
+     */
+    static boolean containsIgnoringSpaces(String text, String run) {
+        for (int start = text.indexOf(run.charAt(0)); start >= 0; start = text.indexOf(run.charAt(0), start + 1)) {
+            int matched = 1;
+            for (int i = start + 1; i < text.length() && matched < run.length(); i++) {
+                char c = text.charAt(i);
+                if (c == run.charAt(matched)) {
+                    matched++;
+                } else if (!Character.isWhitespace(c)) {
+                    break;
+                }
+            }
+            if (matched == run.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 한 글자 한글 토큰인지 확인합니다. (색인에는 한 글자 구간에서만 생기므로 검색 시 바이그램까지 넓혀 찾아야 함)
+     */
+    static boolean isSingleHangul(String token) {
+        return token.length() == 1 && isHangul(token.charAt(0));
+    }
+
+    /**
+     * 텍스트를 단어 구간과 한글 구간으로 나눠 순서대로 넘깁니다.
+     * 한글 구간은 공백을 사이에 두고 이어지는 한글을 공백 없이 합친 문자열입니다. (한글 음절/자모는 모두 BMP 범위)
+     */
+    private static void forEachRun(String text, RunConsumer consumer) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        StringBuilder hangulRun = new StringBuilder();
+        int[] hangulOffsets = new int[text.length()];
+        int wordStart = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            boolean hangul = isHangul(codePoint);
+            boolean word = !hangul && Character.isLetterOrDigit(codePoint);
+
+            if (!word && wordStart >= 0) {
+                consumer.accept(text.substring(wordStart, i), false, wordStart, null);
+                wordStart = -1;
+            }
+            if (hangul) {
+                hangulOffsets[hangulRun.length()] = i;
+                hangulRun.append((char) codePoint);
+            } else if (hangulRun.length() > 0 && !Character.isWhitespace(codePoint)) {
+                consumer.accept(hangulRun.toString(), true, hangulOffsets[0], hangulOffsets);
+                hangulRun.setLength(0);
+            }
+            if (word && wordStart < 0) {
+                wordStart = i;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (wordStart >= 0) {
+            consumer.accept(text.substring(wordStart), false, wordStart, null);
+        }
+        if (hangulRun.length() > 0) {
+            consumer.accept(hangulRun.toString(), true, hangulOffsets[0], hangulOffsets);
+        }
+    }
+
+    private static String[] splitQuery(String query) {
+        return query == null ? new String[0] : query.trim().split("\\s+");
+    }
+
+    private static boolean isHangul(int codePoint) {
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL;
+    }
+
+    private static boolean isTagStart(String html, int index) {
+        if (index >= html.length()) {
+            return false;
+        }
+        char next = html.charAt(index);
+        return Character.isLetter(next) || next == '/' || next == '!';
+    }
+
+    private static boolean isInlineTag(String html, int nameStart, int end) {
+        int start = html.charAt(nameStart) == '/' ? nameStart + 1 : nameStart;
+        int nameEnd = start;
+        while (nameEnd < end && Character.isLetterOrDigit(html.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        return INLINE_TAGS.contains(html.substring(start, nameEnd).toLowerCase(Locale.ROOT));
+    }
+
+    private static void appendSpace(StringBuilder text) {
+        if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+            text.append(' ');
+        }
+    }
+
+    private static String decodeEntity(String entity) {
+        switch (entity) {
+            case "amp": return "&";
+            case "lt": return "<";
+            case "gt": return ">";
+            case "quot": return "\"";
+            case "apos": return "'";
+            case "nbsp": return " ";
+            default:
+                break;
+        }
+        if (entity.length() > 1 && entity.charAt(0) == '#') {
+            try {
+                int codePoint = entity.charAt(1) == 'x' || entity.charAt(1) == 'X'
+                        ? Integer.parseInt(entity.substring(2), 16)
+                        : Integer.parseInt(entity.substring(1));
+                return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** 토큰과 원문에서의 위치 [start, end) */
+    @FunctionalInterface
+    interface TokenConsumer {
+        void accept(String token, int start, int end);
+    }
+
+    /** 구간과 원문 시작 위치 (hangulOffsets: 한글 구간의 글자별 원문 위치, 호출이 끝나면 재사용되므로 보관하지 않음) */
+    @FunctionalInterface
+    private interface RunConsumer {
+        void accept(String run, boolean hangul, int start, int[] hangulOffsets);
+    }
+}
@@ -0,0 +1,84 @@
+package com.wiki.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 어휘 (오타 허용 검색에서 검색어 토큰을 비슷한 색인 토큰으로 넓힐 때 사용)
+ * 세그먼트마다 토큰 ID가 다르므로 토큰 문자열을 한 번씩만 모아 자모 단위 키의 트라이그램으로 색인합니다.
+ * 한글 바이그램도 자모로 풀어 비교하므로 "베포"는 한 글자 차이인 "배포"로 넓혀집니다.
+ * 페이지가 지워져도 토큰은 빼지 않습니다. (남은 토큰은 세그먼트에서 찾지 못해 결과에 영향이 없음)
+ */
+final class SearchVocabulary {
+
+    /** 오타를 허용할 최소 키 길이 (이보다 짧으면 한 글자만 바꿔도 다른 낱말이 되는 경우가 많음) */
+    private static final int MIN_KEY_LENGTH = 4;
+
+    /** 검색어 토큰 하나를 넓힐 최대 토큰 수 (가까운 순) */
+    private static final int MAX_EXPANSIONS = 16;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final TrigramIndex trigrams = new TrigramIndex(true);
+
+    void add(String term) {
+        if (ids.containsKey(term)) {
+            return;
+        }
+        String key = fuzzyKey(term);
+        if (key != null) {
+            ids.put(term, terms.size());
+            trigrams.add(terms.size(), key);
+            terms.add(term);
+        }
+    }
+
+    int size() {
+        return terms.size();
+    }
+
+    /**
+     * term과 편집 거리 이내인 색인 토큰을 가까운 순으로 최대 MAX_EXPANSIONS개 반환합니다. (term 자신이 항상 처음)
+     * 허용 편집 수는 키 길이에 따라 정하며 maxEdits를 넘지 않습니다.
+     */
+    List<String> expand(String term, int maxEdits) {
+        List<String> expanded = new ArrayList<>();
+        expanded.add(term);
+        String key = fuzzyKey(term);
+        if (key == null) {
+            return expanded;
+        }
+        for (TrigramIndex.Match match : trigrams.find(key, editBudget(key.length(), maxEdits))) {
+            String candidate = terms.get((int) match.id());
+            if (!candidate.equals(term)) {
+                expanded.add(candidate);
+                if (expanded.size() > MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * 키 길이에 따른 허용 편집 수 (4~7자 1번, 8자 이상 2번, maxEdits 이하)
+     */
+    static int editBudget(int keyLength, int maxEdits) {
+        int budget = keyLength < MIN_KEY_LENGTH ? 0 : keyLength < 8 ? 1 : 2;
+        return Math.min(budget, maxEdits);
+    }
+
+    /**
+     * 오타를 허용할 토큰이면 비교용 키를, 아니면 null을 반환합니다.
+     * (한 글자 한글 토큰은 이미 바이그램까지 넓혀 찾고, 숫자만으로 된 토큰은 한 자리만 달라도 다른 값이므로 제외)
+     */
+    private static String fuzzyKey(String term) {
+        if (SearchTokenizer.isSingleHangul(term) || term.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        String key = TitlePrefixIndex.toKey(term);
+        return key.length() >= MIN_KEY_LENGTH ? key : null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.wiki.service;
+
+import java.util.Arrays;
+
+/**
+ * 페이지 본문의 토큰 순서와 위치 (term vector)
+ * 토큰마다 (토큰 ID, 앞 토큰과의 시작 위치 차이, 길이)를 가변 길이 정수(7비트씩, 상위 비트가 이어짐 표시)로 이어 붙입니다.
+ * 위치 차이와 길이는 대부분 1바이트라 토큰당 3~5바이트로, 검색 결과의 일치 위치를 본문을 다시 읽지 않고 찾을 때 씁니다.
+ */
+final class TermVector {
+
+    private TermVector() {
+    }
+
+    /**
+     * 토큰 ID와 원문 위치([2i]: 시작, [2i + 1]: 끝)를 인코딩합니다. (시작 위치는 오름차순)
+     */
+    static byte[] encode(int[] termIds, int[] offsets, int count) {
+        byte[] vector = new byte[count * 4];
+        int length = 0;
+        int previousStart = 0;
+        for (int i = 0; i < count; i++) {
+            if (length + 15 > vector.length) {
+                vector = Arrays.copyOf(vector, vector.length * 2 + 15);
+            }
+            int start = offsets[2 * i];
+            length = writeVarInt(vector, length, termIds[i]);
+            length = writeVarInt(vector, length, start - previousStart);
+            length = writeVarInt(vector, length, offsets[2 * i + 1] - start);
+            previousStart = start;
+        }
+        return Arrays.copyOf(vector, length);
+    }
+
+    /**
+     * 인코딩된 토큰을 순서대로 넘깁니다.
+     */
+    static void forEach(byte[] vector, TermConsumer consumer) {
+        int[] position = {0};
+        int start = 0;
+        while (position[0] < vector.length) {
+            int termId = readVarInt(vector, position);
+            start += readVarInt(vector, position);
+            int end = start + readVarInt(vector, position);
+            consumer.accept(termId, start, end);
+        }
+    }
+
+    /**
+     * 토큰 ID를 newTermIds[기존 ID]로 바꿔 다시 인코딩합니다. (세그먼트를 새로 쓸 때 토큰 번호 변환)
+     */
+    static byte[] remap(byte[] vector, int[] newTermIds) {
+        int[] count = {0};
+        forEach(vector, (termId, start, end) -> count[0]++);
+        int[] termIds = new int[count[0]];
+        int[] offsets = new int[count[0] * 2];
+        count[0] = 0;
+        forEach(vector, (termId, start, end) -> {
+            termIds[count[0]] = newTermIds[termId];
+            offsets[2 * count[0]] = start;
+            offsets[2 * count[0] + 1] = end;
+            count[0]++;
+        });
+        return encode(termIds, offsets, termIds.length);
+    }
+
+    private static int writeVarInt(byte[] target, int index, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[index++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[index++] = (byte) value;
+        return index;
+    }
+
+    private static int readVarInt(byte[] source, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = source[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /** 토큰 ID와 원문 위치 [start, end) */
+    @FunctionalInterface
+    interface TermConsumer {
+        void accept(int termId, int start, int end);
+    }
+}
@@ -0,0 +1,94 @@
+package com.wiki.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 제목 접두어 색인 (자동완성)
+ * 제목을 자모 단위 키로 바꿔 (키, 페이지 ID) 순으로 정렬해 두고, 접두어 키 이상인 첫 위치부터 접두어가 일치하는 동안 읽습니다.
+ * 한글은 두벌식 입력 순서대로 자모를 풀어 쓰므로 입력 중인 글자도 접두어로 일치합니다. (예: "ㅇ", "위", "윜" → "위키")
+ * 세그먼트와 관계없이 유효한 페이지 전체를 담으며, WikiPageSearchIndex의 색인 상태에 포함되어 같은 잠금 아래에서 갱신됩니다.
+ */
+final class TitlePrefixIndex {
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    /** 입력한 겹자모(호환 자모)를 두벌식 입력 순서로 풀어 쓴 값 */
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ"));
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private final TreeSet<Entry> entries = new TreeSet<>(
+            Comparator.comparing(Entry::key).thenComparingLong(Entry::id));
+
+    void add(long id, String title) {
+        if (title != null) {
+            entries.add(new Entry(toKey(title), id, title));
+        }
+    }
+
+    void remove(long id, String title) {
+        if (title != null) {
+            entries.remove(new Entry(toKey(title), id, null));
+        }
+    }
+
+    /**
+     * 제목이 prefix로 시작하는 페이지를 키 순서(가나다순, 접두어와 같은 제목이 가장 먼저)로 최대 limit개 반환합니다.
+     */
+    List<WikiPageSearchIndex.Suggestion> find(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        List<WikiPageSearchIndex.Suggestion> suggestions = new ArrayList<>(limit);
+        for (Entry entry : entries.tailSet(new Entry(key, Long.MIN_VALUE, null))) {
+            if (suggestions.size() >= limit || !entry.key().startsWith(key)) {
+                break;
+            }
+            suggestions.add(new WikiPageSearchIndex.Suggestion(entry.id(), entry.title()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * 제목/입력값을 비교용 키로 바꿉니다.
+     * 한글 음절은 초성/중성/종성으로, 겹받침과 이중모음은 입력 순서대로 나누며 나머지 글자는 소문자로 바꿉니다.
+     * 받침과 초성을 같은 자모로 쓰므로 "윜"(입력 중)의 키가 "위키"의 키의 접두어가 됩니다.
+     */
+    static String toKey(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_BASE;
+                key.append(CHOSEONG.charAt(index / 588))
+                        .append(JUNGSEONG[index % 588 / 28])
+                        .append(JONGSEONG[index % 28]);
+            } else {
+                key.append(COMPOUND_JAMO.getOrDefault(c, String.valueOf(c)));
+            }
+        }
+        return key.toString();
+    }
+
+    private record Entry(String key, long id, String title) {}
+}
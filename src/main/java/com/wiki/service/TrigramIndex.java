@@ -0,0 +1,251 @@
+package com.wiki.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 트라이그램 색인 (오타 허용 검색의 후보 찾기)
+ * 키(TitlePrefixIndex.toKey로 바꾼 자모 단위 문자열)를 세 글자씩 겹쳐 자른 트라이그램마다 ID 목록을 두고,
+ * 검색어 키와 트라이그램을 충분히 공유하는 ID만 모은 뒤 편집 거리로 확인합니다.
+ * 편집 한 번은 트라이그램을 최대 세 개 바꾸므로 편집 거리 k 이내로 일치하는 키는 검색어 트라이그램 중 (개수 - 3k)개 이상을 공유합니다.
+ * 후보는 검색어 트라이그램의 ID 목록만 읽어 모으므로 전체 키 수에 비례해 훑지 않습니다.
+ * 키 전체와 비교하는 색인(wholeKey)은 키 앞뒤에 경계 문자를 두 개씩 붙여 자르므로, 네 글자 키의 가운데 글자가 바뀌어도
+ * 경계 쪽 트라이그램이 남아 후보에서 빠지지 않습니다. (한글 바이그램 토큰의 자모 키가 4~6자)
+ * 키의 일부 구간과 비교하는 색인은 검색어가 제목 가운데에 있어 경계 문자를 붙일 수 없으므로 바이그램도 함께 두고,
+ * 검색어 트라이그램으로는 공유 수 하한이 1 미만이 되는 짧은 검색어(예: 4자 키에 편집 1번)는 바이그램으로 후보를 찾습니다.
+ */
+final class TrigramIndex {
+
+    private static final String START = "\u0002\u0002";
+    private static final String END = "\u0003\u0003";
+
+    /** 트라이그램/바이그램(글자를 16비트씩 이어 붙이고 바이그램은 48번째 비트로 구분한 값) → ID 목록 */
+    private final Map<Long, IdList> postings = new HashMap<>();
+    private final Map<Long, String> keys = new HashMap<>();
+    /** 키 전체와 비교하는지 여부 (아니면 키의 일부 구간과 비교) */
+    private final boolean wholeKey;
+    /** 색인하는 n-gram 길이 (긴 것부터, 후보를 고를 수 있는 가장 긴 길이를 씀) */
+    private final int[] gramSizes;
+
+    TrigramIndex(boolean wholeKey) {
+        this.wholeKey = wholeKey;
+        this.gramSizes = wholeKey ? new int[] {3} : new int[] {3, 2};
+    }
+
+    void add(long id, String key) {
+        String previous = keys.put(id, key);
+        if (previous != null) {
+            removePostings(id, previous);
+        }
+        for (int gramSize : gramSizes) {
+            for (long gram : grams(key, gramSize)) {
+                postings.computeIfAbsent(gram, value -> new IdList()).add(id);
+            }
+        }
+    }
+
+    void remove(long id) {
+        String key = keys.remove(id);
+        if (key != null) {
+            removePostings(id, key);
+        }
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * queryKey와 편집 거리 maxEdits 이내로 일치하는 ID를 거리순(같으면 ID순)으로 반환합니다.
+     * wholeKey가 아니면 키의 일부 구간과 비교합니다. (제목에 검색어가 들어 있는지)
+     * 편집 한 번은 길이 q인 n-gram을 최대 q개 바꾸므로, (개수 - q * maxEdits)가 1 이상인 가장 긴 q로 후보를 고릅니다.
+     * n-gram이 없는 짧은 검색어(구간 비교에서 두 글자 미만)는 후보를 고를 수 없으므로 빈 목록을 반환합니다.
+     */
+    List<Match> find(String queryKey, int maxEdits) {
+        long[] grams = new long[0];
+        int minShared = 0;
+        for (int gramSize : gramSizes) {
+            grams = grams(queryKey, gramSize);
+            minShared = grams.length - gramSize * maxEdits;
+            if (minShared >= 1) {
+                break;
+            }
+        }
+        if (grams.length == 0) {
+            return List.of();
+        }
+        minShared = Math.max(1, minShared);
+
+        // 공유 수가 minShared 이상이려면 짧은 목록 (개수 - minShared + 1)개 중 하나에는 있어야 하므로 그 목록들로만 후보를 만들고,
+        // 나머지 목록은 이미 있는 후보의 공유 수만 늘림
+        List<IdList> lists = new ArrayList<>(grams.length);
+        for (long gram : grams) {
+            IdList list = postings.get(gram);
+            lists.add(list != null ? list : IdList.EMPTY);
+        }
+        lists.sort(Comparator.comparingInt(IdList::size));
+        int seedLists = grams.length - minShared + 1;
+        Map<Long, int[]> shared = new HashMap<>();
+        for (int i = 0; i < lists.size(); i++) {
+            IdList list = lists.get(i);
+            for (int j = 0; j < list.size; j++) {
+                int[] count = i < seedLists ? shared.computeIfAbsent(list.ids[j], id -> new int[1])
+                        : shared.get(list.ids[j]);
+                if (count != null) {
+                    count[0]++;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Map.Entry<Long, int[]> entry : shared.entrySet()) {
+            if (entry.getValue()[0] < minShared) {
+                continue;
+            }
+            String key = keys.get(entry.getKey());
+            int distance = wholeKey ? distance(queryKey, key, maxEdits) : substringDistance(queryKey, key, maxEdits);
+            if (distance <= maxEdits) {
+                matches.add(new Match(entry.getKey(), distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparingLong(Match::id));
+        return matches;
+    }
+
+    /**
+     * 두 문자열의 편집 거리 (삽입/삭제/치환). maxEdits를 넘으면 계산을 멈추고 maxEdits + 1을 반환합니다.
+     */
+    static int distance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    /**
+     * pattern을 text의 가장 가까운 구간과 비교한 편집 거리 (text 앞뒤 글자는 비용 없이 건너뜀).
+     * maxEdits를 넘으면 계산을 멈추고 maxEdits + 1을 반환합니다.
+     */
+    static int substringDistance(String pattern, String text, int maxEdits) {
+        if (text.length() < pattern.length() - maxEdits) {
+            return maxEdits + 1;
+        }
+        // 열: text 위치, 행: pattern 글자 (첫 행이 모두 0이므로 text 어디서든 시작 가능)
+        int[] previous = new int[text.length() + 1];
+        int[] current = new int[text.length() + 1];
+        for (int i = 1; i <= pattern.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= text.length(); j++) {
+                int cost = pattern.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = maxEdits + 1;
+        for (int value : previous) {
+            best = Math.min(best, value);
+        }
+        return best;
+    }
+
+    /** 키의 길이 gramSize(3 또는 2)인 n-gram (wholeKey이면 경계 문자를 붙여 자름, 중복 제거) */
+    private long[] grams(String key, int gramSize) {
+        if (wholeKey) {
+            key = START + key + END;
+        }
+        if (key.length() < gramSize) {
+            return new long[0];
+        }
+        long[] grams = new long[key.length() - gramSize + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gramSize == 3
+                    ? ((long) key.charAt(i) << 32) | ((long) key.charAt(i + 1) << 16) | key.charAt(i + 2)
+                    : (1L << 48) | ((long) key.charAt(i) << 16) | key.charAt(i + 1);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private void removePostings(long id, String key) {
+        for (int gramSize : gramSizes) {
+            for (long gram : grams(key, gramSize)) {
+                IdList list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /** 편집 거리 이내로 일치한 ID */
+    record Match(long id, int distance) {}
+
+    /**
+     * 트라이그램 하나의 ID 목록 (오름차순 정렬 배열)
+     * ID는 대부분 증가하는 순서로 추가되므로 끝에 붙고, 제거는 이진 탐색 위치에서 당깁니다.
+     */
+    private static final class IdList {
+        private static final IdList EMPTY = new IdList();
+
+        private long[] ids = new long[2];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
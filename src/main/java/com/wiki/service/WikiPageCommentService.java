@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 public class WikiPageCommentService {
     
     private final WikiPageCommentRepository commentRepository;
+    private final WikiPageSearchIndex wikiPageSearchIndex;
     
     /**
      * 특정 페이지의 댓글 목록 조회
@@ -70,6 +71,7 @@ public class WikiPageCommentService {
         // 댓글 생성 및 저장
         WikiPageComment comment = new WikiPageComment(pageId, request.getContent().trim(), staffId);
         WikiPageComment savedComment = commentRepository.save(comment);
+        wikiPageSearchIndex.indexCommentAfterCommit(savedComment);
         
         log.info("댓글 생성 완료 - ID: {}, 페이지ID: {}", savedComment.getCommentId(), pageId);
         
@@ -111,6 +113,7 @@ public class WikiPageCommentService {
         // 댓글 수정
         comment.updateContent(request.getContent().trim());
         WikiPageComment updatedComment = commentRepository.save(comment);
+        wikiPageSearchIndex.indexCommentAfterCommit(updatedComment);
         
         log.info("댓글 수정 완료 - ID: {}", commentId);
         
@@ -143,6 +146,7 @@ public class WikiPageCommentService {
         // 논리 삭제 처리
         comment.delete();
         commentRepository.save(comment);
+        wikiPageSearchIndex.removeCommentAfterCommit(commentId);
         
         log.info("댓글 삭제 완료 - ID: {}", commentId);
     }
@@ -0,0 +1,183 @@
+package com.wiki.service;
+
+import com.wiki.entity.WikiPage;
+import com.wiki.entity.WikiPageHistory;
+import com.wiki.repository.WikiPageHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 페이지 히스토리 저장소 서비스
+ * 버전 내용을 직전 버전 대비 델타로 저장하고, keyframeInterval 버전마다 전체 내용(키프레임)을 저장합니다.
+ * 어떤 버전이든 가장 가까운 키프레임에서 최대 keyframeInterval - 1개의 델타만 적용하면 복원됩니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class WikiPageHistoryService {
+
+    private final WikiPageHistoryRepository wikiPageHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.history.keyframe-interval:10}")
+    private int keyframeInterval;
+
+    @Value("${app.history.migration-batch-size:50}")
+    private int migrationBatchSize;
+
+    /**
+     * 페이지의 현재 상태를 새 버전으로 저장합니다.
+     * 키프레임 주기가 아니고 직전 버전 대비 델타가 전체 내용보다 작으면 델타로 저장합니다.
+     */
+    @Transactional
+    public void saveVersion(WikiPage page, Integer seqNbr) {
+        WikiPageHistory history = new WikiPageHistory(page, seqNbr);
+        String delta = encodeAgainstPrevious(page.getId(), seqNbr, page.getContent());
+        if (delta != null) {
+            history.setStorageType(WikiPageHistory.STORAGE_DELTA);
+            history.setContent(delta);
+        }
+        wikiPageHistoryRepository.save(history);
+    }
+
+    /**
+     * 버전의 전체 내용을 복원합니다.
+     * 엔티티의 content는 바꾸지 않으므로 쓰기 트랜잭션 안에서 호출해도 저장 형태가 유지됩니다.
+     */
+    public String getContent(WikiPageHistory history) {
+        if (!WikiPageHistory.STORAGE_DELTA.equals(history.getStorageType())) {
+            return history.getContent();
+        }
+
+        Integer keyframeSeqNbr = wikiPageHistoryRepository.findKeyframeSeqNbr(history.getId(), history.getSeqNbr())
+                .orElseThrow(() -> new IllegalStateException(
+                        "키프레임이 없는 히스토리입니다: " + history.getId() + " v" + history.getSeqNbr()));
+
+        String content = null;
+        for (WikiPageHistory version : wikiPageHistoryRepository.findByIdAndSeqNbrBetweenOrderBySeqNbrAsc(
+                history.getId(), keyframeSeqNbr, history.getSeqNbr())) {
+            content = decode(version, content);
+        }
+        return content;
+    }
+
+    /**
+     * 전체 내용으로 저장된 기존 히스토리를 델타 형식으로 일회 변환합니다.
+     * content_size가 비어 있는 행이 있는 페이지만 대상으로 하며, 페이지의 버전 전체를 배치 단위로 다시 인코딩합니다.
+     * 중간에 중단되어도 각 행은 유효한 형태로 남고, 다음 기동 시 이어서 변환합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void migrateLegacyHistory() {
+        List<Long> pageIds = wikiPageHistoryRepository.findPageIdsWithLegacyHistory();
+        if (pageIds.isEmpty()) {
+            return;
+        }
+
+        log.info("히스토리 델타 변환 시작 - 대상 페이지 {}개", pageIds.size());
+        int converted = 0;
+        for (Long pageId : pageIds) {
+            try {
+                converted += reencodePage(pageId);
+            } catch (RuntimeException e) {
+                // 한 페이지 실패가 다른 페이지 변환을 막지 않도록 로그만 남기고 다음 기동 때 재시도
+                log.warn("히스토리 델타 변환 실패 - 페이지 {}: {}", pageId, e.getMessage());
+            }
+        }
+        log.info("히스토리 델타 변환 완료 - {}개 버전", converted);
+    }
+
+    private int reencodePage(Long pageId) {
+        MigrationState state = new MigrationState(0, 0, null);
+        int converted = 0;
+        while (true) {
+            MigrationState current = state;
+            MigrationState next = transactionTemplate.execute(status -> reencodeBatch(pageId, current));
+            if (next == null || next.lastSeqNbr() == current.lastSeqNbr()) {
+                return converted;
+            }
+            converted += next.lastSeqNbr() - current.lastSeqNbr();
+            state = next;
+        }
+    }
+
+    private MigrationState reencodeBatch(Long pageId, MigrationState state) {
+        List<WikiPageHistory> versions = wikiPageHistoryRepository.findByIdAndSeqNbrGreaterThanOrderBySeqNbrAsc(
+                pageId, state.lastSeqNbr(), PageRequest.of(0, migrationBatchSize));
+
+        int keyframeSeqNbr = state.keyframeSeqNbr();
+        String previous = state.content();
+        for (WikiPageHistory version : versions) {
+            String content = decode(version, previous);
+            String delta = null;
+            if (previous != null && content != null
+                    && version.getSeqNbr() - keyframeSeqNbr < keyframeInterval) {
+                delta = ContentDelta.encode(previous, content);
+                if (delta.length() >= content.length()) {
+                    delta = null;
+                }
+            }
+
+            if (delta != null) {
+                version.setStorageType(WikiPageHistory.STORAGE_DELTA);
+                version.setContent(delta);
+            } else {
+                version.setStorageType(WikiPageHistory.STORAGE_FULL);
+                version.setContent(content);
+                keyframeSeqNbr = version.getSeqNbr();
+            }
+            version.setContentSize(content != null ? content.length() : 0);
+            previous = content;
+        }
+
+        if (versions.isEmpty()) {
+            return state;
+        }
+        return new MigrationState(versions.get(versions.size() - 1).getSeqNbr(), keyframeSeqNbr, previous);
+    }
+
+    /**
+     * 직전 버전 대비 델타를 만듭니다. 키프레임으로 저장해야 하면 null을 반환합니다.
+     */
+    private String encodeAgainstPrevious(Long pageId, Integer seqNbr, String content) {
+        if (content == null || seqNbr <= 1) {
+            return null;
+        }
+
+        Optional<Integer> keyframeSeqNbr = wikiPageHistoryRepository.findKeyframeSeqNbr(pageId, seqNbr - 1);
+        if (keyframeSeqNbr.isEmpty() || seqNbr - keyframeSeqNbr.get() >= keyframeInterval) {
+            return null;
+        }
+
+        Optional<WikiPageHistory> previous = wikiPageHistoryRepository.findByIdAndSeqNbr(pageId, seqNbr - 1);
+        if (previous.isEmpty()) {
+            return null;
+        }
+
+        String base = getContent(previous.get());
+        String delta = ContentDelta.encode(base != null ? base : "", content);
+        return delta.length() < content.length() ? delta : null;
+    }
+
+    private String decode(WikiPageHistory version, String previous) {
+        if (WikiPageHistory.STORAGE_DELTA.equals(version.getStorageType())) {
+            return ContentDelta.apply(previous != null ? previous : "", version.getContent());
+        }
+        return version.getContent();
+    }
+
+    /** 마이그레이션 배치 간에 이어 가는 상태 (마지막 버전, 마지막 키프레임, 마지막 버전의 전체 내용) */
+    private record MigrationState(int lastSeqNbr, int keyframeSeqNbr, String content) {}
+}
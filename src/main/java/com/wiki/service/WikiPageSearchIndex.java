@@ -0,0 +1,594 @@
+package com.wiki.service;
+
+import com.wiki.entity.FileAttachment;
+import com.wiki.entity.WikiPage;
+import com.wiki.entity.WikiPageComment;
+import com.wiki.exception.SearchIndexNotReadyException;
+import com.wiki.repository.FileAttachmentRepository;
+import com.wiki.repository.WikiPageCommentRepository;
+import com.wiki.repository.WikiPageRepository;
+import com.wiki.repository.projection.WikiPageContentView;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 페이지 제목/본문 역색인 (제목 자동완성용 접두어 색인, 오타 허용 검색용 트라이그램 색인, 검색 필터 비트맵, 댓글/첨부파일 이름 색인 포함)
+ * 통합 검색은 DB를 읽지 않고 이 색인만으로 답합니다. 토큰 분리 규칙은 SearchTokenizer(HTML 제거, 한글 바이그램)를 따르며,
+ * 본문은 태그를 걷어낸 텍스트를 그대로 보관해 스니펫과 한글 구간 확인에 씁니다. (원문 HTML보다 작고 압축 해제 비용이 없음)
+ * 색인은 디스크에 쓴 불변 세그먼트(DiskSegment, 메모리 매핑)와 그 뒤 변경을 담는 메모리 세그먼트(MemorySegment)로 나뉩니다.
+ * 페이지 쓰기 트랜잭션이 커밋되면 그 트랜잭션이 넘긴 내용을 메모리 세그먼트에 넣고, 주기적으로 메모리 세그먼트를 새 디스크
+ * 세그먼트로 써서 커밋 시점을 manifest에 기록하며, 디스크 세그먼트가 많아지면 백그라운드에서 하나로 병합합니다.
+ * 기동 시에는 manifest의 세그먼트를 열고 커밋 시점 이후 수정된 페이지만 DB에서 다시 읽습니다. (세그먼트가 없으면 전체 구성)
+ * 커밋 직후 스레드는 아직 DB 커넥션을 반납하지 않았으므로 갱신 중에는 DB를 다시 읽지 않습니다.
+ * 댓글 내용과 첨부파일 이름은 부모 페이지의 부속 필드로 따로 색인하며(SearchFieldIndex), 세그먼트를 저장할 때 항목 전체를
+ * 필드 파일로 함께 쓰고 기동 시에는 커밋 시점 이후 바뀐 항목만 DB에서 다시 읽습니다.
+ * 이 클래스는 잠금과 색인 상태(SearchIndexState) 교체, 커밋 후 반영, 세그먼트 저장/병합을 맡고,
+ * 기동 시 구성은 SearchIndexLoader, 검색어 매칭과 BM25 점수 계산은 SearchQueryEngine이 맡습니다.
+ */
+@Component
+@Slf4j
+public class WikiPageSearchIndex {
+
+    private final WikiPageRepository wikiPageRepository;
+    private final WikiPageCommentRepository commentRepository;
+    private final FileAttachmentRepository fileAttachmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 현재 색인 (lock으로 보호) */
+    private SearchIndexState state = new SearchIndexState();
+    /** 기동 시 구성 중에 들어온 변경 (구성이 끝나면 새 색인에 다시 적용, 구성 중이 아니면 null) */
+    private List<Consumer<SearchIndexState>> changesDuringBuild;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    /** 세그먼트 디렉터리 (디스크에 쓰지 않으면 null) */
+    private volatile SearchSegmentDirectory directory;
+
+    @Value("${app.search.index-build-batch-size:100}")
+    private int buildBatchSize;
+
+    /** 제목 출현 가중치 (본문 출현 대비) */
+    @Value("${app.search.title-boost:3.0}")
+    private double titleBoost;
+
+    /** 세그먼트를 저장할 디렉터리 (비우면 디스크에 쓰지 않고 기동할 때마다 전체 페이지로 구성) */
+    @Value("${app.search.index-dir:}")
+    private String indexDir;
+
+    /** 디스크 세그먼트가 이 수를 넘으면 하나로 병합 */
+    @Value("${app.search.max-segments:8}")
+    private int maxSegments;
+
+    /** 오타 허용 검색에서 허용하는 최대 편집 수 (검색어 길이에 따라 이보다 적게 허용할 수 있음) */
+    @Value("${app.search.fuzzy-max-edits:2}")
+    private int fuzzyMaxEdits;
+
+    /** 검색이 기동 시 색인 구성을 기다리는 최대 시간 */
+    private static final long READY_WAIT_MS = 30000;
+    /** 구성을 기다리다 포기한 검색에 알려 줄 재시도 대기 시간 (초) */
+    private static final long READY_RETRY_AFTER_SECONDS = 10;
+
+    public WikiPageSearchIndex(WikiPageRepository wikiPageRepository, WikiPageCommentRepository commentRepository,
+                               FileAttachmentRepository fileAttachmentRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.wikiPageRepository = wikiPageRepository;
+        this.commentRepository = commentRepository;
+        this.fileAttachmentRepository = fileAttachmentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 저장된 세그먼트를 열고 커밋 시점 이후 변경을 반영합니다. 세그먼트가 없거나 열 수 없으면 전체 페이지로 구성합니다.
+     * 본문 압축 전환(빈 초기화 단계)이 끝난 뒤 실행되며, 구성 중 커밋된 변경은 구성이 끝난 색인에 이어서 적용합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            changesDuringBuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long startedAt = System.nanoTime();
+        SearchIndexLoader loader = new SearchIndexLoader(wikiPageRepository, commentRepository, fileAttachmentRepository,
+                readOnlyTransaction, buildBatchSize);
+        SearchIndexState built = null;
+        if (indexDir != null && !indexDir.isBlank()) {
+            SearchSegmentDirectory segmentDirectory = new SearchSegmentDirectory(Path.of(indexDir));
+            try {
+                built = loader.open(segmentDirectory);
+            } catch (IOException | RuntimeException e) {
+                log.warn("검색 색인 세그먼트를 열 수 없어 전체 페이지로 다시 구성합니다. ({})", indexDir, e);
+            }
+            directory = segmentDirectory;
+        }
+
+        int replayed = 0;
+        boolean reopened = built != null;
+        if (reopened) {
+            try {
+                replayed = loader.replay(built);
+            } catch (RuntimeException e) {
+                log.error("검색 색인 변경분 반영 실패 - 이후 변경분만 색인합니다.", e);
+            }
+        } else {
+            built = new SearchIndexState();
+            loader.loadAll(built);
+        }
+        if (built.fieldsFile != null) {
+            try {
+                replayed += loader.replayFields(built);
+            } catch (RuntimeException e) {
+                log.error("검색 색인 댓글/첨부파일 이름 변경분 반영 실패 - 이후 변경분만 색인합니다.", e);
+            }
+        } else {
+            loader.loadFields(built);
+        }
+        built.live.trimToSize();
+
+        SearchIndexState opened = built;
+        lock.writeLock().lock();
+        try {
+            changesDuringBuild.forEach(change -> change.accept(opened));
+            changesDuringBuild = null;
+            state = opened;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready.complete(null);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        if (reopened) {
+            log.info("검색 색인 세그먼트 열기 완료 - 페이지 {}개, 세그먼트 {}개, 변경분 {}개 반영, 댓글 {}개, 첨부파일 {}개 ({} ms)",
+                    opened.owners.size(), opened.disk.size(), replayed, opened.comments.size(),
+                    opened.attachments.size(), elapsedMs);
+        } else {
+            log.info("검색 색인 구성 완료 - 페이지 {}개, 토큰 {}개, 포스팅 {}개, 댓글 {}개, 첨부파일 {}개 ({} ms)",
+                    opened.owners.size(), opened.live.termCount(), opened.live.postingCount(),
+                    opened.comments.size(), opened.attachments.size(), elapsedMs);
+        }
+    }
+
+
+    /**
+     * 메모리 세그먼트를 디스크 세그먼트로 쓰고 커밋 시점을 기록합니다. 디스크 세그먼트가 max-segments개를 넘으면 하나로 병합합니다.
+     * 쓰는 동안에도 메모리 세그먼트는 그대로 검색되며, 그 사이 변경은 새 메모리 세그먼트에 쌓입니다.
+     * 실패하면 메모리 세그먼트를 그대로 두고 다음 주기에 다시 씁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.search.flush-interval-ms:60000}",
+               initialDelayString = "${app.search.flush-interval-ms:60000}")
+    public void flush() {
+        SearchSegmentDirectory segmentDirectory = directory;
+        if (segmentDirectory == null || !ready.isDone()) {
+            return;
+        }
+        synchronized (segmentDirectory) {
+            try {
+                writeMemorySegments(segmentDirectory);
+                mergeSegments(segmentDirectory);
+            } catch (IOException | RuntimeException e) {
+                log.error("검색 색인 세그먼트 저장 실패 - 다음 주기에 다시 시도합니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 종료 전에 남은 변경을 저장해 다음 기동 시 다시 읽을 페이지를 줄입니다.
+     */
+    @PreDestroy
+    void close() {
+        flush();
+    }
+
+    /**
+     * 메모리 세그먼트를 새 디스크 세그먼트로, 마지막 저장 뒤 바뀐 부속 필드를 새 필드 파일로 쓰고 manifest를 바꿉니다.
+     * 필드 항목은 커밋 시점을 정할 때 함께 복사하므로 필드 파일과 세그먼트는 같은 커밋 시점까지의 변경을 담습니다.
+     */
+    private void writeMemorySegments(SearchSegmentDirectory segmentDirectory) throws IOException {
+        List<MemorySegment> writing;
+        List<DiskSegment.Source> sources;
+        LocalDateTime commitPoint;
+        long fieldChanges;
+        List<SearchFieldIndex.Item> comments = null;
+        List<SearchFieldIndex.Item> attachments = null;
+        lock.writeLock().lock();
+        try {
+            if (!state.live.isEmpty()) {
+                state.flushing.add(state.live);
+                state.live = new MemorySegment();
+            }
+            fieldChanges = state.fieldChanges;
+            boolean fieldsChanged = fieldChanges != state.savedFieldChanges;
+            if (state.flushing.isEmpty() && !fieldsChanged) {
+                return;
+            }
+            commitPoint = LocalDateTime.now();
+            writing = List.copyOf(state.flushing);
+            sources = state.sources(writing);
+            if (fieldsChanged) {
+                comments = state.comments.items();
+                attachments = state.attachments.items();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 쓰기 시작한 메모리 세그먼트는 더 이상 바뀌지 않으므로 잠금 없이 읽음
+        String name = null;
+        DiskSegment segment = null;
+        Set<Long> tombstones = new HashSet<>();
+        if (!writing.isEmpty()) {
+            writing.forEach(memory -> tombstones.addAll(memory.tombstones()));
+            name = segmentDirectory.newSegmentName();
+            DiskSegment.write(segmentDirectory.path(), name, sources, tombstones);
+            segment = DiskSegment.open(segmentDirectory.path(), name);
+        }
+        String fieldsName = null;
+        if (comments != null) {
+            fieldsName = segmentDirectory.newFieldsName();
+            segmentDirectory.writeFields(fieldsName, comments, attachments);
+        }
+
+        SearchSegmentDirectory.Manifest manifest;
+        String previousFields;
+        lock.writeLock().lock();
+        try {
+            if (segment != null) {
+                state.transfer(sources, segment);
+                state.flushing.removeAll(writing);
+                state.disk.add(segment);
+            }
+            previousFields = state.fieldsFile;
+            if (fieldsName != null) {
+                state.fieldsFile = fieldsName;
+                state.savedFieldChanges = fieldChanges;
+            }
+            state.commitPoint = commitPoint;
+            manifest = state.manifest();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        segmentDirectory.write(manifest);
+        if (fieldsName != null && previousFields != null) {
+            segmentDirectory.deleteFields(previousFields);
+        }
+        if (segment != null) {
+            log.info("검색 색인 세그먼트 저장 - {} (페이지 {}개, 삭제 {}개)",
+                    name, segment.documentCount(), tombstones.size());
+        }
+        if (fieldsName != null) {
+            log.info("검색 색인 필드 파일 저장 - {} (댓글 {}개, 첨부파일 {}개)", fieldsName, comments.size(), attachments.size());
+        }
+    }
+
+    /**
+     * 디스크 세그먼트 전체를 하나로 병합합니다. 가장 오래된 세그먼트까지 합치므로 삭제 표시는 더 필요 없습니다.
+     * 병합 중 바뀐 페이지는 새 메모리 세그먼트에 있으므로 병합한 세그먼트의 이전 내용은 넘겨받지 않습니다.
+     */
+    private void mergeSegments(SearchSegmentDirectory segmentDirectory) throws IOException {
+        List<DiskSegment> merging;
+        List<DiskSegment.Source> sources;
+        lock.readLock().lock();
+        try {
+            if (state.disk.size() <= maxSegments) {
+                return;
+            }
+            merging = List.copyOf(state.disk);
+            sources = state.sources(merging);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String name = segmentDirectory.newSegmentName();
+        DiskSegment.write(segmentDirectory.path(), name, sources, List.of());
+        DiskSegment merged = DiskSegment.open(segmentDirectory.path(), name);
+
+        SearchSegmentDirectory.Manifest manifest;
+        lock.writeLock().lock();
+        try {
+            state.transfer(sources, merged);
+            state.disk.removeAll(merging);
+            state.disk.add(0, merged);
+            manifest = state.manifest();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        segmentDirectory.write(manifest);
+        segmentDirectory.delete(merging.stream().map(DiskSegment::name).toList());
+        log.info("검색 색인 세그먼트 병합 - {}개 → {} (페이지 {}개)", merging.size(), name, merged.documentCount());
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 페이지를 색인에 반영합니다. (제목/본문/버전은 호출 시점 값)
+     * 커밋 순서가 뒤바뀌어도 버전이 더 낮은 내용이 최신 내용을 덮어쓰지 않습니다.
+     */
+    public void indexAfterCommit(WikiPage page) {
+        MemorySegment.IndexedPage indexed = MemorySegment.index(page.getId(), page.getTitle(), page.getContent(),
+                page.getUpdatedAt(), page.getVersion(), page.getPageType(), page.getModifyStaffId());
+        afterCommit(index -> index.upsert(indexed));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 색인에 페이지를 반영합니다. (휴지통 복원 등 프로젝션으로 읽은 페이지)
+     */
+    public void indexAfterCommit(Collection<WikiPageContentView> pages) {
+        List<MemorySegment.IndexedPage> indexed = new ArrayList<>(pages.size());
+        for (WikiPageContentView page : pages) {
+            indexed.add(SearchIndexLoader.toIndexedPage(page));
+        }
+        afterCommit(index -> indexed.forEach(index::upsert));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 페이지들의 검색 필터용 페이지 타입을 바꿉니다. (하위 트리 일괄 UPDATE는 본문을 바꾸지 않음)
+     */
+    public void updatePageTypeAfterCommit(Collection<Long> pageIds, String pageType) {
+        List<Long> ids = List.copyOf(pageIds);
+        afterCommit(index -> ids.forEach(pageId -> index.facets.setPageType(pageId, pageType)));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 페이지들을 색인에서 제거합니다. (댓글/첨부파일 이름은 휴지통 복원에 대비해 남겨 둠)
+     */
+    public void removeAfterCommit(Collection<Long> pageIds) {
+        List<Long> ids = List.copyOf(pageIds);
+        afterCommit(index -> ids.forEach(index::remove));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 페이지들의 댓글/첨부파일 이름을 색인에서 제거합니다. (페이지 영구 삭제)
+     */
+    public void removeFieldsAfterCommit(Collection<Long> pageIds) {
+        List<Long> ids = List.copyOf(pageIds);
+        afterCommit(index -> index.removeFieldPages(ids));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 댓글 내용을 부모 페이지의 댓글 필드로 색인합니다. (작성/수정)
+     */
+    public void indexCommentAfterCommit(WikiPageComment comment) {
+        long commentId = comment.getCommentId();
+        long pageId = comment.getWikiPageId();
+        String content = comment.getContent();
+        afterCommit(index -> index.putField(index.comments, commentId, pageId, content));
+    }
+
+    public void removeCommentAfterCommit(Long commentId) {
+        afterCommit(index -> index.removeField(index.comments, commentId));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 첨부파일 이름을 부모 페이지의 첨부파일 필드로 색인합니다. (페이지에 첨부되지 않은 파일은 무시)
+     */
+    public void indexAttachmentAfterCommit(FileAttachment fileAttachment) {
+        if (fileAttachment.getWikiPage() == null) {
+            return;
+        }
+        long fileId = fileAttachment.getId();
+        long pageId = fileAttachment.getWikiPage().getId();
+        String fileName = fileAttachment.getOriginalFileName();
+        afterCommit(index -> index.putField(index.attachments, fileId, pageId, fileName));
+    }
+
+    public void removeAttachmentAfterCommit(Long fileId) {
+        afterCommit(index -> index.removeField(index.attachments, fileId));
+    }
+
+    public Hits search(String query, int offset, int limit, boolean fuzzy, Filter filter) {
+        SearchQueryEngine.Query parsed = SearchQueryEngine.Query.parse(query, fuzzy);
+        if (parsed == null) {
+            return Hits.EMPTY;
+        }
+        awaitReady();
+
+        lock.readLock().lock();
+        try {
+            return new SearchQueryEngine(titleBoost, fuzzyMaxEdits).search(state, parsed, offset, limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * 제목에 검색어가 편집 거리 이내로 들어 있는 페이지를 거리순(같으면 제목순)으로 최대 limit개 반환합니다. (오타 허용 제목 검색)
+     * 검색어와 제목을 자모 단위 키로 바꿔 비교하므로 한글 음절 하나의 받침/모음 오타는 편집 한 번입니다.
+     * 허용 편집 수는 검색어 키 길이에 따라 정하며(SearchVocabulary.editBudget), 후보는 트라이그램 색인에서 고릅니다.
+     */
+    public List<FuzzyTitle> searchTitlesFuzzy(String query, int limit) {
+        String key = query != null ? TitlePrefixIndex.toKey(query.strip()) : "";
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int maxEdits = SearchVocabulary.editBudget(key.length(), fuzzyMaxEdits);
+        awaitReady();
+
+        lock.readLock().lock();
+        try {
+            List<FuzzyTitle> titles = new ArrayList<>();
+            for (TrigramIndex.Match match : state.fuzzyTitles.find(key, maxEdits)) {
+                SearchSegment owner = state.owners.get(match.id());
+                if (owner != null) {
+                    titles.add(new FuzzyTitle(match.id(), owner.title(match.id()), match.distance()));
+                }
+            }
+            titles.sort(Comparator.comparingInt(FuzzyTitle::distance)
+                    .thenComparing(FuzzyTitle::title, Comparator.nullsLast(Comparator.naturalOrder())));
+            return titles.size() > limit ? List.copyOf(titles.subList(0, limit)) : titles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 제목이 prefix로 시작하는 페이지를 최대 limit개 반환합니다. (자동완성, 입력 중인 한글 음절도 일치)
+     */
+    public List<Suggestion> suggestTitles(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        awaitReady();
+
+        lock.readLock().lock();
+        try {
+            return state.titles.find(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats getStats() {
+        lock.readLock().lock();
+        try {
+            long terms = 0;
+            long postings = 0;
+            for (SearchSegment segment : state.segments()) {
+                terms += segment.termCount();
+                postings += segment.postingCount();
+            }
+            return new Stats(ready.isDone(), state.owners.size(), state.disk.size(),
+                    state.owners.size() - state.diskDocumentCount(), terms, postings, state.comments.size(),
+                    state.attachments.size(), state.commitPoint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<SearchIndexState> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<SearchIndexState> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (changesDuringBuild != null) {
+                changesDuringBuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void awaitReady() {
+        try {
+            ready.get(READY_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new SearchIndexNotReadyException("검색 색인을 준비하는 중입니다. 잠시 후 다시 시도하세요.",
+                    READY_RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("검색 색인을 사용할 수 없습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("검색이 중단되었습니다.", e);
+        }
+    }
+
+
+    /**
+     * 색인 상태 (ready: 기동 시 구성 완료 여부, documents: 페이지 수, segments: 디스크 세그먼트 수,
+     * memoryDocuments: 아직 디스크에 쓰지 않은 페이지 수, terms/postings: 세그먼트별 토큰 수/토큰-페이지 쌍 수의 합 (이전 내용 포함),
+     * comments/attachments: 색인된 댓글/첨부파일 수, commitPoint: 마지막으로 세그먼트를 저장한 시점)
+     */
+    public record Stats(boolean ready, int documents, int segments, int memoryDocuments, long terms, long postings,
+                        int comments, int attachments, LocalDateTime commitPoint) {}
+
+    /** 검색 결과 (total: 일치하는 전체 페이지 수, hits: 요청한 범위의 결과, facets: 일치 페이지의 필터 값별 페이지 수) */
+    public record Hits(int total, List<Hit> hits, FacetCounts facets) {
+        static final Hits EMPTY = new Hits(0, List.of(), new FacetCounts(Map.of(), Map.of()));
+    }
+
+    /**
+     * 검색 필터 (같은 항목의 여러 값은 OR, 항목끼리는 AND, 비어 있으면 적용하지 않음)
+     * (updatedFrom/updatedTo: 수정일 범위, 양끝 날짜 포함)
+     */
+    public record Filter(Set<String> pageTypes, Set<String> modifyStaffIds, LocalDate updatedFrom,
+                         LocalDate updatedTo) {
+        public static final Filter NONE = new Filter(Set.of(), Set.of(), null, null);
+    }
+
+    /** 필터 값별 일치 페이지 수 (페이지 수 많은 순) */
+    public record FacetCounts(Map<String, Integer> pageTypes, Map<String, Integer> modifyStaffIds) {}
+
+    /**
+     * 검색 결과 한 건
+     * (score: BM25 점수, titleMatch: 제목에 모든 검색어 토큰이 있는지 여부, matches: 본문에서 검색어 토큰이 나온 위치,
+     * fields: 검색어 토큰이 하나라도 나온 필드, attachmentNames: 검색어 토큰이 나온 첨부파일 이름)
+     */
+    public record Hit(Document document, double score, boolean titleMatch, List<Match> matches, Set<Field> fields,
+                      List<String> attachmentNames) {}
+
+    /** 검색 필드 (페이지 제목/본문과 부속 필드인 댓글 내용, 첨부파일 이름) */
+    public enum Field {
+        TITLE, CONTENT, COMMENT, ATTACHMENT;
+
+        int mask() {
+            return 1 << ordinal();
+        }
+
+        /** mask()를 OR한 비트 집합의 필드 */
+        static Set<Field> of(int fieldMask) {
+            Set<Field> fields = EnumSet.noneOf(Field.class);
+            for (Field field : values()) {
+                if ((fieldMask & field.mask()) != 0) {
+                    fields.add(field);
+                }
+            }
+            return fields;
+        }
+    }
+
+    /** 본문 text에서 검색어 토큰이 나온 구간 [start, end) (terms: 일치한 검색어 토큰 번호의 비트 집합) */
+    public record Match(int start, int end, long terms) {}
+
+    /**
+     * 색인된 페이지
+     * (text: HTML 태그를 걷어낸 본문, titleLength/contentLength: 토큰 수, termVector: 본문 토큰 ID와 위치, TermVector 참고)
+     */
+    public record Document(Long id, String title, LocalDateTime updatedAt, long version, String text,
+                           int titleLength, int contentLength, byte[] termVector) {}
+
+    /** 제목 자동완성 결과 */
+    public record Suggestion(Long id, String title) {}
+
+    /** 오타 허용 제목 검색 결과 (distance: 제목에서 가장 가까운 구간과의 자모 단위 편집 거리) */
+    public record FuzzyTitle(Long id, String title, int distance) {}
+
+}
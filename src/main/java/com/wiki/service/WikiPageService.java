@@ -3,80 +3,184 @@ package com.wiki.service;
 import com.wiki.dto.WikiPageDto;
 import com.wiki.entity.WikiPage;
 import com.wiki.entity.WikiPageHistory;
-import com.wiki.entity.FileAttachment;
+import com.wiki.event.WikiPageChangedEvent;
 import com.wiki.repository.WikiPageRepository;
 import com.wiki.repository.WikiPageHistoryRepository;
-import com.wiki.repository.FileAttachmentRepository;
+import com.wiki.repository.projection.WikiPageFeedView;
+import com.wiki.repository.projection.WikiPageHistoryView;
+import com.wiki.repository.projection.WikiPageSummaryView;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class WikiPageService {
     private final WikiPageRepository wikiPageRepository;
     private final WikiPageHistoryRepository wikiPageHistoryRepository;
-    private final FileAttachmentRepository fileAttachmentRepository;
+    private final WikiPageHistoryService wikiPageHistoryService;
+    private final WikiPageTreeCache wikiPageTreeCache;
+    private final WikiPageTitleCache wikiPageTitleCache;
+    private final WikiPageSearchIndex wikiPageSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
+    /** 희소 displayOrder 간격 (형제 사이에 재배치 없이 끼워 넣을 수 있는 여유) */
+    private static final int ORDER_GAP = 1024;
+
+    /** 최근 작성 피드 기간 (일) */
+    private static final int RECENT_WEEK_DAYS = 7;
+
+    /**
+     * 네비게이션 트리를 조회합니다.
+     * 캐시된 스냅샷을 반환하므로 트랜잭션(DB 커넥션)을 열지 않습니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<WikiPageDto.Response.Summary> getRecentPages() {
-        List<WikiPage> rootPages = wikiPageRepository.findByParentIsNullOrderByDisplayOrderAscUpdatedAtDesc();
-        
-        // 자식 페이지들을 명시적으로 로딩
-        for (WikiPage page : rootPages) {
-            loadChildrenRecursively(page);
-        }
-        
-        List<WikiPageDto.Response.Summary> result = new ArrayList<>();
-        for (WikiPage page : rootPages) {
-            result.add(convertToSummary(page));
-        }
-        return result;
+        return wikiPageTreeCache.getSnapshot().getRoots();
     }
     
     /**
-     * 최근 일주일 동안 작성된 모든 페이지를 조회합니다.
+     * 직렬화된 네비게이션 트리를 조회합니다.
+     * 캐시된 스냅샷의 JSON/gzip 바이트를 그대로 반환하므로 트랜잭션(DB 커넥션)을 열지 않습니다.
      * 
-     * @return 최근 일주일 동안 작성된 페이지 목록
+     * @param pageType 최상위 페이지 타입 필터 (null이면 전체 트리)
      */
-    public List<WikiPageDto.Response.Summary> getRecentWeekPages() {
-        System.out.println("최근 일주일 페이지 조회 요청");
-        
-        // 일주일 전 날짜 계산
-        LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(7);
-        System.out.println("일주일 전 날짜: " + oneWeekAgo);
-        
-        List<WikiPage> recentPages = wikiPageRepository.findPagesCreatedAfter(oneWeekAgo);
-        System.out.println("최근 일주일 페이지 수: " + recentPages.size());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WikiPageTreeSnapshot.Encoded getEncodedTree(String pageType) {
+        return wikiPageTreeCache.getEncodedTree(pageType);
+    }
+    
+    /**
+     * 최근 일주일 동안 작성된 페이지를 최신순으로 한 페이지씩 조회합니다.
+     * (작성일시, ID) 키셋 페이지네이션이므로 뒤쪽 페이지도 OFFSET 없이 인덱스로 바로 찾습니다.
+     * 
+     * @param cursor 이전 페이지의 nextCursor (null이면 첫 페이지)
+     * @param size 한 번에 조회할 페이지 수
+     */
+    public WikiPageDto.Response.FeedPage getRecentWeekPages(String cursor, int size) {
+        LocalDateTime oneWeekAgo = LocalDateTime.now().minusDays(RECENT_WEEK_DAYS);
+        FeedCursor position = FeedCursor.decode(cursor);
         
-        List<WikiPageDto.Response.Summary> result = new ArrayList<>();
-        for (WikiPage page : recentPages) {
-            result.add(convertToSummary(page));
-        }
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<WikiPageFeedView> views = position == null
+                ? wikiPageRepository.findCreatedFeed(oneWeekAgo, limit)
+                : wikiPageRepository.findCreatedFeedBefore(oneWeekAgo, position.at(), position.id(), limit);
+        return toFeedPage(views, size, WikiPageFeedView::getCreatedAt);
+    }
+
+    /**
+     * 최근 수정된 페이지를 최신순으로 한 페이지씩 조회합니다. ((수정일시, ID) 키셋 페이지네이션)
+     * 
+     * @param cursor 이전 페이지의 nextCursor (null이면 첫 페이지)
+     * @param size 한 번에 조회할 페이지 수
+     */
+    public WikiPageDto.Response.FeedPage getRecentlyUpdatedPages(String cursor, int size) {
+        FeedCursor position = FeedCursor.decode(cursor);
         
-        return result;
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<WikiPageFeedView> views = position == null
+                ? wikiPageRepository.findUpdatedFeed(limit)
+                : wikiPageRepository.findUpdatedFeedBefore(position.at(), position.id(), limit);
+        return toFeedPage(views, size, WikiPageFeedView::getUpdatedAt);
     }
 
-    public WikiPageDto.Response.Detail getPage(String title) {
-        Optional<WikiPage> pageOptional = wikiPageRepository.findByTitle(title);
+    /**
+     * 페이지 상세를 조회합니다.
+     * 하위 페이지는 요청한 depth까지만, 상위 페이지는 path 컬럼 기반 경로(breadcrumb)로만 포함합니다.
+     * 
+     * @param title 페이지 제목
+     * @param depth 포함할 하위 페이지 단계 수 (1이면 직접 자식만)
+     */
+    public WikiPageDto.Response.Detail getPage(String title, int depth) {
+        Optional<WikiPage> pageOptional = wikiPageTitleCache.findByTitle(title);
         if (pageOptional.isPresent()) {
-            WikiPage page = pageOptional.get();
-            // 페이지 히스토리 조회
-            List<WikiPageHistory> historyList = wikiPageHistoryRepository.findByIdOrderBySeqNbrDesc(page.getId());
-            return convertToDetail(page, historyList);
+            return convertToDetail(pageOptional.get(), depth);
         } else {
             throw new EntityNotFoundException("Page not found: " + title);
         }
     }
 
+    /**
+     * 페이지 버전 목록을 최신순으로 조회합니다. (내용 제외)
+     * seqNbr 기준 키셋 페이지네이션이므로 뒤쪽 페이지도 OFFSET 없이 인덱스로 바로 찾습니다.
+     * 
+     * @param before 이 seqNbr 미만의 버전만 조회 (null이면 최신 버전부터)
+     * @param size 한 번에 조회할 버전 수
+     */
+    public WikiPageDto.Response.HistoryPage getPageHistory(String title, Integer before, int size) {
+        WikiPage page = wikiPageTitleCache.findByTitle(title)
+                .orElseThrow(() -> new EntityNotFoundException("Page not found: " + title));
+        
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        List<WikiPageHistoryView> views = wikiPageHistoryRepository.findHistoryViews(
+                page.getId(), before, PageRequest.of(0, size + 1));
+        
+        List<WikiPageDto.Response.HistoryItem> items = new ArrayList<>();
+        for (WikiPageHistoryView view : views.subList(0, Math.min(size, views.size()))) {
+            WikiPageDto.Response.HistoryItem item = new WikiPageDto.Response.HistoryItem();
+            item.setSeqNbr(view.getSeqNbr());
+            item.setTitle(view.getTitle());
+            item.setModifyStaffId(view.getModifyStaffId());
+            item.setUpdatedAt(view.getUpdatedAt());
+            item.setSize(view.getSize() != null ? view.getSize() : 0);
+            items.add(item);
+        }
+        
+        WikiPageDto.Response.HistoryPage historyPage = new WikiPageDto.Response.HistoryPage();
+        historyPage.setItems(items);
+        historyPage.setNextBefore(views.size() > size ? items.get(items.size() - 1).getSeqNbr() : null);
+        return historyPage;
+    }
+
+    /**
+     * 페이지의 특정 버전 내용을 조회합니다.
+     */
+    public WikiPageDto.Response.History getPageVersion(String title, Integer seqNbr) {
+        WikiPage page = wikiPageTitleCache.findByTitle(title)
+                .orElseThrow(() -> new EntityNotFoundException("Page not found: " + title));
+        WikiPageHistory history = wikiPageHistoryRepository.findByIdAndSeqNbr(page.getId(), seqNbr)
+                .orElseThrow(() -> new EntityNotFoundException("Version not found: " + title + " v" + seqNbr));
+        
+        WikiPageDto.Response.History historyDto = new WikiPageDto.Response.History();
+        historyDto.setId(history.getId());
+        historyDto.setSeqNbr(history.getSeqNbr());
+        historyDto.setTitle(history.getTitle());
+        historyDto.setContent(wikiPageHistoryService.getContent(history));
+        historyDto.setModifyStaffId(history.getModifyStaffId());
+        historyDto.setCreatedAt(history.getCreatedAt());
+        historyDto.setUpdatedAt(history.getUpdatedAt());
+        return historyDto;
+    }
+
     @Transactional
     public WikiPageDto.Response.Detail createPage(WikiPageDto.Request.Create request, String currentUserStaffId) {
+        validateTitleNotInTrash(request.getTitle());
+        
         WikiPage page = new WikiPage();
         page.setTitle(request.getTitle());
         page.setContent(request.getContent());
@@ -101,78 +205,122 @@ public class WikiPageService {
             page.setPageType(request.getPageType());
         }
 
-        WikiPage savedPage = wikiPageRepository.save(page);
-        
         // 초기 히스토리 저장 (시퀀스 1번)
+        page.setLastSeqNbr(1);
+        WikiPage savedPage = wikiPageRepository.save(page);
         savePageHistory(savedPage, 1);
+        wikiPageSearchIndex.indexAfterCommit(savedPage);
         
+        eventPublisher.publishEvent(new WikiPageChangedEvent(savedPage.getId(), WikiPageChangedEvent.Type.CREATED));
         return convertToDetail(savedPage);
     }
 
+    /**
+     * 페이지를 수정합니다.
+     * expectedVersion이 있으면 현재 버전과 같을 때만 수정합니다. 확인 후 커밋 전에 다른 수정이 끼어들어도
+     * 엔티티 버전 검사로 커밋이 실패하므로, 잠금 없이 나중 저장이 먼저 저장된 내용을 덮어쓰지 않습니다.
+     * expectedVersion이 없으면 행 잠금을 걸고 최신 상태를 다시 읽은 뒤 수정하므로,
+     * 조건 없는 동시 수정은 차례로 반영되고 버전 충돌로 실패하지 않습니다.
+     * 
+     * @param expectedVersion 클라이언트가 마지막으로 본 버전 (null이면 조건 없이 수정)
+     * @throws OptimisticLockingFailureException expectedVersion이 있고 다른 사용자가 먼저 수정한 경우
+     */
     @Transactional
-    public WikiPageDto.Response.Detail updatePage(String title, WikiPageDto.Request.Update request, String currentUserStaffId) {
-        Optional<WikiPage> pageOptional = wikiPageRepository.findByTitle(title);
+    public WikiPageDto.Response.Detail updatePage(String title, WikiPageDto.Request.Update request, String currentUserStaffId,
+                                                  Long expectedVersion) {
+        Optional<WikiPage> pageOptional = wikiPageTitleCache.findByTitle(title);
         WikiPage page;
         if (pageOptional.isPresent()) {
             page = pageOptional.get();
         } else {
             throw new EntityNotFoundException("Page not found: " + title);
         }
+        if (expectedVersion == null) {
+            // 조회 후 다른 수정이 먼저 커밋됐을 수 있으므로 잠금을 잡고 최신 버전으로 다시 읽음
+            entityManager.refresh(page, LockModeType.PESSIMISTIC_WRITE);
+        } else if (!expectedVersion.equals(page.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    "다른 사용자가 먼저 수정했습니다. (요청 버전 " + expectedVersion + ", 현재 버전 " + page.getVersion() + ")");
+        }
 
         // 수정자 정보 설정
         page.setModifyStaffId(currentUserStaffId);
 
         // 제목 업데이트
         if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
-            page.setTitle(request.getTitle().trim());
+            String newTitle = request.getTitle().trim();
+            if (!newTitle.equals(page.getTitle())) {
+                validateTitleNotInTrash(newTitle);
+                wikiPageTitleCache.invalidate(page.getTitle());
+            }
+            page.setTitle(newTitle);
         }
         
         page.setContent(request.getContent());
         
+        // 하위 페이지 일괄 갱신에 필요한 이동 전 위치
+        String oldSubtreePrefix = subtreePrefix(page);
+        int oldDepth = page.getDepth();
+        String subtreePageType = null;
+        
         // 페이지 타입 업데이트 로직: 최상위 페이지만 직접 타입 변경 가능
         if (page.getParent() == null && request.getPageType() != null && !request.getPageType().trim().isEmpty()) {
             // 최상위 페이지의 타입 변경 시 모든 하위 페이지들도 동일 타입으로 변경
             String newPageType = request.getPageType().trim();
-            page.setPageType(newPageType);
-            updateChildrenPageType(page, newPageType);
+            if (!newPageType.equals(page.getPageType())) {
+                page.setPageType(newPageType);
+                subtreePageType = newPageType;
+            }
         }
 
+        boolean moved = false;
         if (request.getParentId() != null && 
             (page.getParent() == null || !page.getParent().getId().equals(request.getParentId()))) {
             
-            if (page.getParent() != null) {
-                page.getParent().removeChild(page);
-            }
-
-            Optional<WikiPage> newParentOptional = wikiPageRepository.findById(request.getParentId());
-            if (newParentOptional.isPresent()) {
-                WikiPage newParent = newParentOptional.get();
-                // 새 부모의 페이지 타입을 상속받음
-                page.setPageType(newParent.getPageType());
-                updateChildrenPageType(page, newParent.getPageType());
-                newParent.addChild(page);
-            } else {
-                throw new EntityNotFoundException("Parent page not found");
+            WikiPage newParent = wikiPageRepository.findById(request.getParentId())
+                    .orElseThrow(() -> new EntityNotFoundException("Parent page not found"));
+            if (isSelfOrDescendant(newParent, page)) {
+                throw new IllegalArgumentException("자신 또는 자신의 하위 페이지를 부모로 설정할 수 없습니다.");
             }
+            // 새 부모의 페이지 타입을 상속받음
+            attachToParent(page, newParent);
+            subtreePageType = newParent.getPageType();
+            moved = true;
         }
 
         // 새로운 히스토리 저장
-        Integer nextSeqNbr = getNextSequenceNumber(page.getId());
+        Integer nextSeqNbr = allocateSequenceNumber(page);
+        // 히스토리 INSERT보다 버전 검사가 있는 페이지 UPDATE를 먼저 반영 (충돌 시 번호 중복 대신 버전 충돌로 실패)
+        wikiPageRepository.flush();
         savePageHistory(page, nextSeqNbr);
 
+        // 응답에 올라간 버전과 히스토리를 함께 반영
+        wikiPageRepository.flush();
+
+        Long pageId = page.getId();
+        if (moved || subtreePageType != null) {
+            updateSubtree(oldSubtreePrefix, oldDepth, page, subtreePageType);
+            // 일괄 UPDATE가 영속성 컨텍스트를 비우므로 응답용으로 다시 조회
+            page = wikiPageRepository.findById(pageId)
+                    .orElseThrow(() -> new EntityNotFoundException("Page not found: " + title));
+        }
+
+        wikiPageSearchIndex.indexAfterCommit(page);
+        eventPublisher.publishEvent(new WikiPageChangedEvent(page.getId(), WikiPageChangedEvent.Type.UPDATED));
         return convertToDetail(page);
     }
 
     /**
-     * 페이지와 관련된 모든 데이터를 삭제합니다.
-     * 연관된 댓글, 파일, 히스토리도 함께 삭제됩니다.
+     * 페이지와 모든 하위 페이지를 휴지통으로 이동합니다.
+     * path 접두사 기반 UPDATE 한 번으로 처리하고 바로 반환하며,
+     * 히스토리와 첨부파일을 포함한 영구 삭제는 보관 기간이 지난 뒤 WikiPageTrashService가 백그라운드로 수행합니다.
      * 
      * @param title 삭제할 페이지 제목
      * @throws EntityNotFoundException 페이지를 찾을 수 없는 경우
      */
     @Transactional
     public void deletePage(String title) {
-        Optional<WikiPage> pageOptional = wikiPageRepository.findByTitle(title);
+        Optional<WikiPage> pageOptional = wikiPageTitleCache.findByTitle(title);
         WikiPage page;
         if (pageOptional.isPresent()) {
             page = pageOptional.get();
@@ -180,56 +328,157 @@ public class WikiPageService {
             throw new EntityNotFoundException("Page not found: " + title);
         }
 
-        System.out.println("페이지 삭제 시작: " + title);
+        Long pageId = page.getId();
+        String pathPrefix = subtreePrefix(page);
+        List<Long> subtreeIds = wikiPageRepository.findSubtreeIds(pageId, pathPrefix);
+        int trashed = wikiPageRepository.trashSubtree(pageId, pathPrefix, LocalDateTime.now());
+        wikiPageSearchIndex.removeAfterCommit(subtreeIds);
+        // 하위 페이지 항목은 다음 조회 때 휴지통 페이지로 확인되어 제거됨
+        wikiPageTitleCache.invalidate(title);
+        log.debug("페이지 휴지통 이동 완료: {} ({}개)", title, trashed);
         
-        // 자식 페이지들 먼저 삭제 (재귀적)
-        List<WikiPage> children = new ArrayList<>(page.getChildren());
-        for (WikiPage child : children) {
-            deletePage(child.getTitle()); // 재귀 호출
+        eventPublisher.publishEvent(new WikiPageChangedEvent(pageId, WikiPageChangedEvent.Type.DELETED));
+    }
+
+    /**
+     * 페이지들의 순서를 변경합니다.
+     * 
+     * @param orderUpdates 순서 변경 정보 리스트
+     */
+    @Transactional
+    public void updatePagesOrder(List<WikiPageDto.Request.UpdateOrder> orderUpdates) {
+        Map<Long, Integer> orderById = new HashMap<>();
+        for (WikiPageDto.Request.UpdateOrder orderUpdate : orderUpdates) {
+            orderById.put(orderUpdate.getId(), orderUpdate.getDisplayOrder());
         }
         
-        // 1. 첨부파일들 먼저 처리 (FK 오류 방지)
-        List<FileAttachment> attachments = fileAttachmentRepository.findByWikiPageOrderByUploadedAtDesc(page);
-        for (FileAttachment attachment : attachments) {
-            fileAttachmentRepository.delete(attachment);  // 완전 삭제
-            System.out.println("첨부파일 삭제 완료: " + attachment.getOriginalFileName());
+        // 대상 페이지를 한 번에 조회하고, 변경분은 flush 시 JDBC 배치 UPDATE로 반영
+        List<WikiPage> pages = wikiPageRepository.findAllById(orderById.keySet());
+        int changed = 0;
+        for (WikiPage page : pages) {
+            Integer displayOrder = orderById.get(page.getId());
+            if (displayOrder != null && !displayOrder.equals(page.getDisplayOrder())) {
+                page.setDisplayOrder(displayOrder);
+                changed++;
+            }
         }
         
-        // 2. 페이지 히스토리 삭제 (복합키 때문에 수동)
-        wikiPageHistoryRepository.deleteByPageId(page.getId());
-        System.out.println("페이지 히스토리 삭제 완료: " + page.getId());
-        
-        // 3. 부모-자식 관계 해제
-        if (page.getParent() != null) {
-            page.getParent().removeChild(page);
+        if (changed > 0) {
+            eventPublisher.publishEvent(new WikiPageChangedEvent(null, WikiPageChangedEvent.Type.REORDERED));
         }
-
-        // 4. 페이지 삭제 (연관 데이터들이 이미 삭제되어 안전함)
-        wikiPageRepository.delete(page);
-        
-        System.out.println("페이지 삭제 완료: " + title);
+        log.debug("페이지 순서 변경 완료: {}/{}개", changed, orderUpdates.size());
     }
 
     /**
-     * 페이지들의 순서를 변경합니다.
+     * 페이지를 두 형제 페이지 사이로 이동합니다.
+     * displayOrder를 ORDER_GAP 간격의 희소 값으로 유지하므로 대부분의 이동은 이동한 페이지 한 건만 변경합니다.
+     * 두 형제 사이에 남은 간격이 없을 때만 형제 목록 전체의 순서를 다시 매깁니다.
      * 
-     * @param orderUpdates 순서 변경 정보 리스트
+     * @param move 이동 정보 (prevPageId/nextPageId가 null이면 맨 앞/맨 뒤)
+     * @throws IllegalArgumentException 페이지가 없거나 같은 부모의 형제가 아닌 경우
      */
     @Transactional
-    public void updatePagesOrder(List<WikiPageDto.Request.UpdateOrder> orderUpdates) {
-        System.out.println("페이지 순서 변경 시작");
+    public void movePageBetween(WikiPageDto.Request.MoveBetween move) {
+        List<Long> ids = new ArrayList<>();
+        ids.add(move.getPageId());
+        if (move.getPrevPageId() != null) {
+            ids.add(move.getPrevPageId());
+        }
+        if (move.getNextPageId() != null) {
+            ids.add(move.getNextPageId());
+        }
+        Map<Long, WikiPage> pagesById = new HashMap<>();
+        for (WikiPage found : wikiPageRepository.findAllById(ids)) {
+            pagesById.put(found.getId(), found);
+        }
         
-        for (WikiPageDto.Request.UpdateOrder orderUpdate : orderUpdates) {
-            Optional<WikiPage> pageOptional = wikiPageRepository.findById(orderUpdate.getId());
-            if (pageOptional.isPresent()) {
-                WikiPage page = pageOptional.get();
-                page.setDisplayOrder(orderUpdate.getDisplayOrder());
-                wikiPageRepository.save(page);
-                System.out.println("페이지 순서 변경: " + page.getTitle() + " -> " + orderUpdate.getDisplayOrder());
+        WikiPage page = requireSibling(pagesById, move.getPageId(), null);
+        WikiPage prev = move.getPrevPageId() != null ? requireSibling(pagesById, move.getPrevPageId(), page) : null;
+        WikiPage next = move.getNextPageId() != null ? requireSibling(pagesById, move.getNextPageId(), page) : null;
+        if (prev == null && next == null) {
+            return;
+        }
+        
+        Integer displayOrder = sparseOrderBetween(prev, next);
+        if (displayOrder != null) {
+            page.setDisplayOrder(displayOrder);
+        } else {
+            rebalanceSiblingOrder(page, prev, next);
+        }
+        
+        eventPublisher.publishEvent(new WikiPageChangedEvent(page.getId(), WikiPageChangedEvent.Type.REORDERED));
+    }
+    
+    /**
+     * 조회된 페이지 중 ID에 해당하는 페이지를 반환합니다.
+     * 기준 페이지가 주어지면 같은 부모를 가진 형제인지도 확인합니다.
+     */
+    private WikiPage requireSibling(Map<Long, WikiPage> pagesById, Long id, WikiPage sibling) {
+        WikiPage page = pagesById.get(id);
+        if (page == null) {
+            throw new IllegalArgumentException("존재하지 않는 페이지입니다: " + id);
+        }
+        if (sibling != null && !Objects.equals(parentIdOf(page), parentIdOf(sibling))) {
+            throw new IllegalArgumentException("같은 부모의 형제 페이지 사이로만 이동할 수 있습니다: " + id);
+        }
+        return page;
+    }
+    
+    private Long parentIdOf(WikiPage page) {
+        return page.getParent() != null ? page.getParent().getId() : null;
+    }
+    
+    /**
+     * 두 형제 사이의 희소 순서 값을 계산합니다. 남은 간격이 없으면 null을 반환합니다.
+     */
+    private Integer sparseOrderBetween(WikiPage prev, WikiPage next) {
+        long candidate;
+        if (prev == null) {
+            candidate = (long) next.getDisplayOrder() - ORDER_GAP;
+        } else if (next == null) {
+            candidate = (long) prev.getDisplayOrder() + ORDER_GAP;
+        } else {
+            long low = prev.getDisplayOrder();
+            long high = next.getDisplayOrder();
+            if (high - low < 2) {
+                return null;
             }
+            candidate = low + (high - low) / 2;
+        }
+        if (candidate < Integer.MIN_VALUE || candidate > Integer.MAX_VALUE) {
+            return null;
         }
+        return (int) candidate;
+    }
+    
+    /**
+     * 형제 목록의 순서를 ORDER_GAP 간격으로 다시 매기면서 페이지를 prev 뒤(또는 next 앞)에 배치합니다.
+     * 변경된 형제들은 flush 시 JDBC 배치 UPDATE로 반영됩니다.
+     */
+    private void rebalanceSiblingOrder(WikiPage page, WikiPage prev, WikiPage next) {
+        List<WikiPage> siblings = page.getParent() != null
+                ? wikiPageRepository.findByParentOrderByDisplayOrderAscUpdatedAtAsc(page.getParent())
+                : wikiPageRepository.findByParentIsNullOrderByDisplayOrderAscUpdatedAtDesc();
+        siblings.removeIf(sibling -> sibling.getId().equals(page.getId()));
+        
+        int insertAt = siblings.size();
+        for (int i = 0; i < siblings.size(); i++) {
+            Long siblingId = siblings.get(i).getId();
+            if (prev != null && siblingId.equals(prev.getId())) {
+                insertAt = i + 1;
+                break;
+            }
+            if (prev == null && siblingId.equals(next.getId())) {
+                insertAt = i;
+                break;
+            }
+        }
+        siblings.add(insertAt, page);
         
-        System.out.println("페이지 순서 변경 완료");
+        for (int i = 0; i < siblings.size(); i++) {
+            siblings.get(i).setDisplayOrder((i + 1) * ORDER_GAP);
+        }
+        log.debug("형제 페이지 순서 재배치: {}개", siblings.size());
     }
 
     /**
@@ -248,24 +497,18 @@ public class WikiPageService {
             newParent = wikiPageRepository.findById(updateParent.getNewParentId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 부모 페이지입니다: " + updateParent.getNewParentId()));
             
-            // 순환 참조 방지: 자신의 자식을 부모로 설정하려는 경우
-            if (isDescendant(newParent, page)) {
+            // 순환 참조 방지: 자신 또는 자신의 자식을 부모로 설정하려는 경우
+            if (isSelfOrDescendant(newParent, page)) {
                 throw new IllegalArgumentException("자신의 하위 페이지를 부모로 설정할 수 없습니다.");
             }
         }
         
-        // 기존 부모에서 제거
-        WikiPage oldParent = page.getParent();
-        if (oldParent != null) {
-            oldParent.removeChild(page);
-        }
+        String oldSubtreePrefix = subtreePrefix(page);
+        int oldDepth = page.getDepth();
         
         // 새 부모에 추가 및 페이지 타입 상속
         if (newParent != null) {
-            newParent.addChild(page);
-            // 새 부모의 페이지 타입을 상속받음
-            page.setPageType(newParent.getPageType());
-            updateChildrenPageType(page, newParent.getPageType());
+            attachToParent(page, newParent);
         } else {
             // 최상위로 이동 - 페이지 타입은 기존 타입 유지
             page.setParent(null);
@@ -278,55 +521,79 @@ public class WikiPageService {
             page.setDisplayOrder(updateParent.getDisplayOrder());
         }
         
-        // 하위 페이지들의 depth와 path 재귀적으로 업데이트
-        updateDescendantsPaths(page);
-        
         wikiPageRepository.save(page);
+        
+        // 하위 페이지들의 depth, path(와 페이지 타입)를 path 접두사 기반 일괄 UPDATE로 변경
+        updateSubtree(oldSubtreePrefix, oldDepth, page, newParent != null ? newParent.getPageType() : null);
+        
+        eventPublisher.publishEvent(new WikiPageChangedEvent(page.getId(), WikiPageChangedEvent.Type.MOVED));
         System.out.println("페이지 부모 변경 완료: " + page.getTitle());
     }
     
     /**
-     * 페이지가 다른 페이지의 하위 페이지인지 확인합니다.
+     * 휴지통에 같은 제목의 페이지가 있는지 확인합니다.
+     * 휴지통 페이지도 제목 유니크 제약을 차지하므로, 저장 시 제약 위반 대신 안내 메시지를 반환합니다.
      */
-    private boolean isDescendant(WikiPage potentialDescendant, WikiPage ancestor) {
-        WikiPage current = potentialDescendant.getParent();
-        while (current != null) {
-            if (current.getId().equals(ancestor.getId())) {
-                return true;
-            }
-            current = current.getParent();
+    private void validateTitleNotInTrash(String title) {
+        if (title != null && wikiPageRepository.existsTrashedByTitle(title)) {
+            throw new IllegalArgumentException("휴지통에 같은 제목의 페이지가 있습니다. 복원하거나 휴지통에서 영구 삭제한 뒤 다시 시도하세요: " + title);
         }
-        return false;
     }
     
     /**
-     * 하위 페이지들의 depth와 path를 재귀적으로 업데이트합니다.
+     * 후보 페이지가 기준 페이지 자신이거나 그 하위 페이지인지 확인합니다.
+     * 조상을 따라 올라가지 않고 materialized path 접두사로 판단합니다.
      */
-    private void updateDescendantsPaths(WikiPage page) {
-        if (page.getChildren() != null) {
-            for (WikiPage child : page.getChildren()) {
-                child.setDepth(page.getDepth() + 1);
-                child.setPath(page.getPath() + page.getId() + "/");
-                updateDescendantsPaths(child);
-                wikiPageRepository.save(child);
-            }
-        }
+    private boolean isSelfOrDescendant(WikiPage candidate, WikiPage ancestor) {
+        return candidate.getId().equals(ancestor.getId())
+                || candidate.getPath().startsWith(subtreePrefix(ancestor));
+    }
+    
+    /**
+     * 페이지를 새 부모 아래로 옮기고 부모의 페이지 타입을 상속받습니다.
+     * 부모의 children 컬렉션은 건드리지 않으므로 형제 목록을 로딩하지 않습니다.
+     */
+    private void attachToParent(WikiPage page, WikiPage newParent) {
+        page.setParent(newParent);
+        page.setDepth(newParent.getDepth() + 1);
+        page.setPath(subtreePrefix(newParent));
+        page.setPageType(newParent.getPageType());
     }
     
     /**
-     * 하위 페이지들의 페이지 타입을 재귀적으로 업데이트합니다.
+     * 하위 페이지들의 path 접두사 (페이지 path + id + "/")
+     */
+    private String subtreePrefix(WikiPage page) {
+        return page.getPath() + page.getId() + "/";
+    }
+    
+    /**
+     * 이동한 페이지의 하위 트리를 path 접두사 기반 일괄 UPDATE로 갱신합니다.
+     * 하위 트리 크기와 관계없이 UPDATE 한 번으로 끝나며, 실행 전 대기 중인 변경을 flush하고 영속성 컨텍스트를 비웁니다.
      * 
-     * @param page 업데이트할 페이지
-     * @param pageType 새로운 페이지 타입
-     */
-    private void updateChildrenPageType(WikiPage page, String pageType) {
-        if (page.getChildren() != null) {
-            for (WikiPage child : page.getChildren()) {
-                child.setPageType(pageType);
-                updateChildrenPageType(child, pageType);
-                wikiPageRepository.save(child);
-            }
+     * @param oldSubtreePrefix 이동 전 하위 페이지 path 접두사
+     * @param oldDepth 이동 전 페이지 depth
+     * @param page 이동이 반영된 페이지
+     * @param pageType 하위 페이지에 적용할 페이지 타입 (null이면 유지)
+     */
+    private void updateSubtree(String oldSubtreePrefix, int oldDepth, WikiPage page, String pageType) {
+        String newSubtreePrefix = subtreePrefix(page);
+        int depthDelta = page.getDepth() - oldDepth;
+        
+        int updated;
+        if (pageType != null) {
+            updated = wikiPageRepository.moveSubtreeWithPageType(
+                    oldSubtreePrefix, oldSubtreePrefix.length(), newSubtreePrefix, depthDelta, pageType);
+            // 검색 필터의 페이지 타입도 이 페이지와 하위 트리 전체에 반영 (본문은 그대로이므로 다시 색인하지 않음)
+            wikiPageSearchIndex.updatePageTypeAfterCommit(
+                    wikiPageRepository.findSubtreeIds(page.getId(), newSubtreePrefix), pageType);
+        } else if (!oldSubtreePrefix.equals(newSubtreePrefix)) {
+            updated = wikiPageRepository.moveSubtree(
+                    oldSubtreePrefix, oldSubtreePrefix.length(), newSubtreePrefix, depthDelta);
+        } else {
+            return;
         }
+        log.debug("하위 페이지 일괄 갱신: {} -> {} ({}개)", oldSubtreePrefix, newSubtreePrefix, updated);
     }
 
     /**
@@ -380,181 +647,332 @@ public class WikiPageService {
     }
 
     public List<WikiPageDto.Response.Summary> searchPages(String query) {
-        List<WikiPage> pages = wikiPageRepository.findByTitleContainingIgnoreCase(query);
+        return convertToSummaries(wikiPageRepository.findSummariesByTitleContaining(query));
+    }
+    
+    /**
+     * 제목에 검색어가 오타를 포함해 들어 있는 페이지를 가까운 순으로 최대 limit개 반환합니다.
+     * 검색 색인의 트라이그램 색인으로 찾고 요약은 트리 스냅샷에서 가져오므로 DB를 읽지 않습니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<WikiPageDto.Response.Summary> searchPagesFuzzy(String query, int limit) {
+        WikiPageTreeSnapshot snapshot = wikiPageTreeCache.getSnapshot();
         List<WikiPageDto.Response.Summary> result = new ArrayList<>();
-        for (WikiPage page : pages) {
-            result.add(convertToSummary(page));
+        for (WikiPageSearchIndex.FuzzyTitle title : wikiPageSearchIndex.searchTitlesFuzzy(query, limit)) {
+            // 색인 반영과 스냅샷 교체 시점이 달라 스냅샷에 아직 없는 페이지는 제외
+            WikiPageDto.Response.Summary node = snapshot.getNode(title.id());
+            if (node != null) {
+                result.add(node);
+            }
         }
         return result;
     }
     
     /**
      * PAGE_TYPE별 페이지 목록을 조회합니다.
+     * 캐시된 스냅샷을 반환하므로 트랜잭션(DB 커넥션)을 열지 않습니다.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<WikiPageDto.Response.Summary> getPagesByType(String pageType) {
         System.out.println("페이지 타입별 조회 - pageType: " + pageType);
         
-        List<WikiPage> pages = wikiPageRepository.findByPageTypeAndParentIsNullOrderByDisplayOrderAsc(pageType);
-        
-        List<WikiPageDto.Response.Summary> result = new ArrayList<>();
-        for (WikiPage page : pages) {
-            loadChildrenRecursively(page);
-            result.add(convertToSummary(page));
-        }
+        List<WikiPageDto.Response.Summary> result = wikiPageTreeCache.getSnapshot().getRoots(pageType);
         
         System.out.println("페이지 타입별 조회 결과: " + result.size() + "개");
         return result;
     }
     
     /**
-     * 제목과 내용에서 통합 검색합니다.
+     * 제목과 내용에서 통합 검색합니다. (관련도순)
      * 
      * @param query 검색 키워드
-     * @return 검색 결과 페이지 목록
+     * @param offset 건너뛸 결과 수
+     * @param limit 반환할 최대 결과 수
+     * @param fuzzy 검색어 토큰과 편집 거리 이내인 토큰도 일치로 볼지 여부 (오타 허용)
+     * @param filter 페이지 타입/수정자/수정일 필터 (없으면 Filter.NONE)
+     * @return 요청한 범위의 검색 결과, 전체 결과 수와 필터 값별 결과 수
      */
-    public List<WikiPageDto.Response.SearchResult> searchPagesInTitleAndContent(String query) {
-        System.out.println("통합 검색 요청 - query: " + query);
-        List<WikiPage> pages = wikiPageRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(query, query);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WikiPageDto.Response.SearchPage searchPagesInTitleAndContent(String query, int offset, int limit,
+                                                                        boolean fuzzy,
+                                                                        WikiPageSearchIndex.Filter filter) {
+        // 역색인에서 모든 검색어 토큰을 포함한 페이지를 찾으므로 DB를 읽지 않음 (스니펫도 요청한 범위만 생성)
+        WikiPageSearchIndex.Hits hits = wikiPageSearchIndex.search(query, offset, limit, fuzzy, filter);
         
-        List<WikiPageDto.Response.SearchResult> result = new ArrayList<>();
-        for (WikiPage page : pages) {
-            result.add(convertToSearchResult(page, query));
+        List<WikiPageDto.Response.SearchResult> items = new ArrayList<>(hits.hits().size());
+        for (WikiPageSearchIndex.Hit hit : hits.hits()) {
+            items.add(convertToSearchResult(hit));
         }
         
-        System.out.println("검색 결과: " + result.size() + "개");
-        return result;
+        WikiPageDto.Response.SearchPage searchPage = new WikiPageDto.Response.SearchPage();
+        searchPage.setItems(items);
+        searchPage.setTotal(hits.total());
+        searchPage.setOffset(offset);
+        searchPage.setLimit(limit);
+        WikiPageDto.Response.SearchFacets facets = new WikiPageDto.Response.SearchFacets();
+        facets.setPageTypes(hits.facets().pageTypes());
+        facets.setModifyStaffIds(hits.facets().modifyStaffIds());
+        searchPage.setFacets(facets);
+        return searchPage;
+    }
+    
+    /**
+     * 제목이 입력값으로 시작하는 페이지를 반환합니다. (자동완성, 메모리 색인만 사용)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<WikiPageDto.Response.TitleSuggestion> suggestTitles(String prefix, int limit) {
+        List<WikiPageDto.Response.TitleSuggestion> suggestions = new ArrayList<>();
+        for (WikiPageSearchIndex.Suggestion page : wikiPageSearchIndex.suggestTitles(prefix, limit)) {
+            WikiPageDto.Response.TitleSuggestion suggestion = new WikiPageDto.Response.TitleSuggestion();
+            suggestion.setId(page.id());
+            suggestion.setTitle(page.title());
+            suggestions.add(suggestion);
+        }
+        return suggestions;
     }
     
     /**
      * 검색 결과 DTO로 변환합니다.
      */
-    private WikiPageDto.Response.SearchResult convertToSearchResult(WikiPage page, String query) {
+    private WikiPageDto.Response.SearchResult convertToSearchResult(WikiPageSearchIndex.Hit hit) {
+        WikiPageSearchIndex.Document page = hit.document();
         WikiPageDto.Response.SearchResult searchResult = new WikiPageDto.Response.SearchResult();
-        searchResult.setId(page.getId());
-        searchResult.setTitle(page.getTitle());
-        searchResult.setUpdatedAt(page.getUpdatedAt());
+        searchResult.setId(page.id());
+        searchResult.setTitle(page.title());
+        searchResult.setUpdatedAt(page.updatedAt());
+        searchResult.setScore(hit.score());
+        
+        // 내용에서 검색어 주변의 스니펫 생성 (최대 200자, 색인의 일치 위치 사용)
+        applySnippet(searchResult, page.text(), hit.matches(), 200);
         
-        // 내용에서 검색어 주변의 스니펫 생성 (최대 200자)
-        String snippet = generateSnippet(page.getContent(), query, 200);
-        searchResult.setSnippet(snippet);
+        // 제목에 검색어가 포함되어 있는지 여부
+        searchResult.setTitleMatch(hit.titleMatch());
         
-        // 제목에 검색어가 포함되어 있는지 확인
-        boolean titleMatch = page.getTitle().toLowerCase().contains(query.toLowerCase());
-        searchResult.setTitleMatch(titleMatch);
+        // 검색어가 나온 필드 (댓글/첨부파일 이름에서만 일치한 페이지는 스니펫에 검색어가 없을 수 있음)
+        searchResult.setMatchedFields(hit.fields().stream()
+                .map(field -> field.name().toLowerCase(Locale.ROOT))
+                .toList());
+        searchResult.setAttachmentNames(hit.attachmentNames());
         
         return searchResult;
     }
     
     /**
-     * 검색어 주변의 텍스트 스니펫을 생성합니다.
+     * 검색어 주변의 텍스트 스니펫과 강조 구간을 설정합니다.
+     * 색인이 찾아 둔 본문 일치 위치 중 maxLength 안에 가장 많은 종류의 검색어 토큰(같으면 더 많은 위치)이 들어가는 구간을 고릅니다.
      */
-    private String generateSnippet(String content, String query, int maxLength) {
+    private void applySnippet(WikiPageDto.Response.SearchResult searchResult, String content,
+                              List<WikiPageSearchIndex.Match> matches, int maxLength) {
+        searchResult.setHighlights(new ArrayList<>());
         if (content == null || content.isEmpty()) {
-            return "";
+            searchResult.setSnippet("");
+            return;
+        }
+        if (matches.isEmpty()) {
+            // 본문에 검색어가 없으면(제목만 일치) 앞에서부터 자르기
+            searchResult.setSnippet(content.length() > maxLength ? content.substring(0, maxLength) + "..." : content);
+            return;
         }
         
-        String lowerContent = content.toLowerCase();
-        String lowerQuery = query.toLowerCase();
-        
-        int queryIndex = lowerContent.indexOf(lowerQuery);
-        
-        if (queryIndex == -1) {
-            // 검색어가 내용에 없으면 앞에서부터 자르기
-            return content.length() > maxLength ? content.substring(0, maxLength) + "..." : content;
+        // 구간 [left, right]의 검색어 토큰 번호별 위치 수를 유지하며 오른쪽 끝을 늘려 감
+        int[] termCounts = new int[Long.SIZE];
+        int distinctTerms = 0;
+        int bestLeft = 0;
+        int bestRight = 0;
+        int bestDistinctTerms = 0;
+        int left = 0;
+        for (int right = 0; right < matches.size(); right++) {
+            distinctTerms += countTerms(termCounts, matches.get(right).terms(), 1);
+            while (left < right && matches.get(right).end() - matches.get(left).start() > maxLength) {
+                distinctTerms -= countTerms(termCounts, matches.get(left).terms(), -1);
+                left++;
+            }
+            if (distinctTerms > bestDistinctTerms
+                    || (distinctTerms == bestDistinctTerms && right - left > bestRight - bestLeft)) {
+                bestDistinctTerms = distinctTerms;
+                bestLeft = left;
+                bestRight = right;
+            }
         }
         
-        // 검색어 주변의 텍스트 추출
-        int start = Math.max(0, queryIndex - maxLength / 2);
+        // 고른 일치 구간이 가운데 오도록 스니펫 범위 결정
+        int matchStart = matches.get(bestLeft).start();
+        int matchEnd = Math.min(matches.get(bestRight).end(), matchStart + maxLength);
+        int start = Math.max(0, matchStart - (maxLength - (matchEnd - matchStart)) / 2);
         int end = Math.min(content.length(), start + maxLength);
+        start = Math.max(0, end - maxLength);
         
         // 단어 경계에서 자르기 위해 조정
         if (start > 0) {
             int spaceIndex = content.indexOf(' ', start);
-            if (spaceIndex != -1 && spaceIndex < queryIndex) {
+            if (spaceIndex != -1 && spaceIndex < matchStart) {
                 start = spaceIndex + 1;
             }
         }
         
         if (end < content.length()) {
             int spaceIndex = content.lastIndexOf(' ', end);
-            if (spaceIndex != -1 && spaceIndex > queryIndex + query.length()) {
+            if (spaceIndex != -1 && spaceIndex >= matchEnd) {
                 end = spaceIndex;
             }
         }
         
-        String snippet = content.substring(start, end);
+        String prefix = start > 0 ? "..." : "";
+        searchResult.setSnippet(prefix + content.substring(start, end) + (end < content.length() ? "..." : ""));
         
-        if (start > 0) {
-            snippet = "..." + snippet;
+        // 강조 구간은 스니펫 문자열 기준 위치
+        for (WikiPageSearchIndex.Match match : matches) {
+            if (match.end() <= start || match.start() >= end) {
+                continue;
+            }
+            WikiPageDto.Response.Highlight highlight = new WikiPageDto.Response.Highlight();
+            highlight.setStart(prefix.length() + Math.max(match.start(), start) - start);
+            highlight.setEnd(prefix.length() + Math.min(match.end(), end) - start);
+            searchResult.getHighlights().add(highlight);
         }
-        if (end < content.length()) {
-            snippet = snippet + "...";
+    }
+
+    /**
+     * terms 비트 집합의 검색어 토큰 번호별 위치 수를 delta만큼 바꾸고, 0↔1로 바뀐 번호 수를 반환합니다.
+     */
+    private static int countTerms(int[] termCounts, long terms, int delta) {
+        int changed = 0;
+        for (long remaining = terms; remaining != 0; remaining &= remaining - 1) {
+            int ordinal = Long.numberOfTrailingZeros(remaining);
+            termCounts[ordinal] += delta;
+            if (termCounts[ordinal] == (delta > 0 ? 1 : 0)) {
+                changed++;
+            }
         }
-        
-        return snippet;
+        return changed;
     }
 
     // 페이지 히스토리 저장
     private void savePageHistory(WikiPage page, Integer seqNbr) {
-        WikiPageHistory history = new WikiPageHistory(page, seqNbr);
-        wikiPageHistoryRepository.save(history);
+        wikiPageHistoryService.saveVersion(page, seqNbr);
     }
 
-    // 다음 시퀀스 번호 가져오기
-    private Integer getNextSequenceNumber(Long pageId) {
-        Optional<Integer> maxSeqOptional = wikiPageHistoryRepository.findMaxSeqNbrById(pageId);
-        if (maxSeqOptional.isPresent()) {
-            return maxSeqOptional.get() + 1;
-        } else {
-            return 1;
+    // 다음 시퀀스 번호 발급 (페이지 엔티티의 카운터를 증가시키므로 히스토리 길이와 무관하게 O(1), 동시 발급은 @Version이 막음)
+    private Integer allocateSequenceNumber(WikiPage page) {
+        Integer lastSeqNbr = page.getLastSeqNbr();
+        if (lastSeqNbr == null) {
+            // 카운터 도입 전 페이지는 처음 한 번만 기존 히스토리에서 시작
+            lastSeqNbr = wikiPageHistoryRepository.findMaxSeqNbrById(page.getId()).orElse(0);
         }
+        page.setLastSeqNbr(lastSeqNbr + 1);
+        return page.getLastSeqNbr();
     }
 
-    // 재귀적으로 모든 자식 페이지를 로딩하는 헬퍼 메서드
-    private void loadChildrenRecursively(WikiPage page) {
-        // 자식 컬렉션에 접근하여 지연 로딩 트리거
-        page.getChildren().size(); 
+    /**
+     * 피드 조회 결과(size + 1건)를 한 페이지로 만듭니다.
+     * 
+     * @param sortKey 피드 정렬 기준 일시 (다음 커서 위치)
+     */
+    private WikiPageDto.Response.FeedPage toFeedPage(List<WikiPageFeedView> views, int size,
+                                                     Function<WikiPageFeedView, LocalDateTime> sortKey) {
+        List<WikiPageDto.Response.FeedItem> items = new ArrayList<>(Math.min(size, views.size()));
+        for (WikiPageFeedView view : views.subList(0, Math.min(size, views.size()))) {
+            WikiPageDto.Response.FeedItem item = new WikiPageDto.Response.FeedItem();
+            item.setId(view.getId());
+            item.setTitle(view.getTitle());
+            item.setParentId(view.getParentId());
+            item.setPath(view.getPath());
+            item.setPageType(view.getPageType());
+            item.setModifyStaffId(view.getModifyStaffId());
+            item.setCreatedAt(view.getCreatedAt());
+            item.setUpdatedAt(view.getUpdatedAt());
+            items.add(item);
+        }
         
-        // 모든 자식에 대해 재귀적으로 로딩
-        for (WikiPage child : page.getChildren()) {
-            loadChildrenRecursively(child);
+        WikiPageDto.Response.FeedPage feedPage = new WikiPageDto.Response.FeedPage();
+        feedPage.setItems(items);
+        if (views.size() > size) {
+            WikiPageFeedView last = views.get(size - 1);
+            feedPage.setNextCursor(new FeedCursor(sortKey.apply(last), last.getId()).encode());
         }
+        return feedPage;
     }
 
-    private WikiPageDto.Response.Summary convertToSummary(WikiPage page) {
-        WikiPageDto.Response.Summary summary = new WikiPageDto.Response.Summary();
-        summary.setId(page.getId());
-        summary.setTitle(page.getTitle());
-        summary.setParentId(page.getParent() != null ? page.getParent().getId() : null);
-        summary.setDepth(page.getDepth());
-        summary.setPath(page.getPath());
-        summary.setDisplayOrder(page.getDisplayOrder());
-        summary.setPageType(page.getPageType());
-        summary.setUpdatedAt(page.getUpdatedAt());
+    /**
+     * 요약 프로젝션 목록을 Summary 목록으로 변환합니다.
+     * 하위 페이지 목록은 DB를 다시 조회하지 않고 네비게이션 트리 스냅샷에서 가져옵니다.
+     */
+    private List<WikiPageDto.Response.Summary> convertToSummaries(List<WikiPageSummaryView> views) {
+        WikiPageTreeSnapshot snapshot = wikiPageTreeCache.getSnapshot();
+        List<WikiPageDto.Response.Summary> result = new ArrayList<>(views.size());
+        for (WikiPageSummaryView view : views) {
+            WikiPageDto.Response.Summary summary = WikiPageTreeSnapshot.convertToSummary(view);
+            WikiPageDto.Response.Summary node = snapshot.getNode(view.getId());
+            summary.setChildren(node != null ? node.getChildren() : new ArrayList<>());
+            result.add(summary);
+        }
+        return result;
+    }
+
+    /**
+     * 페이지의 하위 트리를 depth 단계까지 조회해 조립합니다.
+     * 단계 수와 관계없이 path 접두사 기반 쿼리 한 번으로 조회합니다.
+     */
+    private List<WikiPageDto.Response.Summary> loadChildren(WikiPage page, int depth) {
+        List<WikiPageSummaryView> nodes = wikiPageRepository.findSubtreeSummaries(
+                subtreePrefix(page), page.getDepth() + depth);
+        
+        Map<Long, WikiPageDto.Response.Summary> summaries = new HashMap<>(nodes.size() * 2);
+        for (WikiPageSummaryView node : nodes) {
+            WikiPageDto.Response.Summary summary = WikiPageTreeSnapshot.convertToSummary(node);
+            summary.setChildren(new ArrayList<>());
+            summaries.put(node.getId(), summary);
+        }
         
         List<WikiPageDto.Response.Summary> children = new ArrayList<>();
-        // 자식 페이지들을 displayOrder로 정렬
-        List<WikiPage> sortedChildren = page.getChildren().stream()
-                .sorted((p1, p2) -> {
-                    int orderCompare = Integer.compare(p1.getDisplayOrder(), p2.getDisplayOrder());
-                    return orderCompare != 0 ? orderCompare : p1.getUpdatedAt().compareTo(p2.getUpdatedAt());
-                })
-                .collect(java.util.stream.Collectors.toList());
-                
-        for (WikiPage child : sortedChildren) {
-            children.add(convertToSummary(child));
+        for (WikiPageSummaryView node : nodes) {
+            WikiPageDto.Response.Summary summary = summaries.get(node.getId());
+            if (page.getId().equals(node.getParentId())) {
+                children.add(summary);
+            } else {
+                WikiPageDto.Response.Summary parent = summaries.get(node.getParentId());
+                if (parent != null) {
+                    parent.getChildren().add(summary);
+                }
+            }
+        }
+        return children;
+    }
+    
+    /**
+     * path 컬럼("/1/6/")에서 상위 페이지 ID를 꺼내 최상위부터 부모까지의 요약을 조회합니다.
+     */
+    private List<WikiPageSummaryView> loadAncestors(WikiPage page) {
+        List<Long> ancestorIds = new ArrayList<>();
+        for (String segment : page.getPath().split("/")) {
+            if (!segment.isEmpty()) {
+                ancestorIds.add(Long.valueOf(segment));
+            }
+        }
+        if (ancestorIds.isEmpty()) {
+            return new ArrayList<>();
         }
-        summary.setChildren(children);
         
-        return summary;
+        Map<Long, WikiPageSummaryView> found = new HashMap<>();
+        for (WikiPageSummaryView view : wikiPageRepository.findSummariesByIdIn(ancestorIds)) {
+            found.put(view.getId(), view);
+        }
+        List<WikiPageSummaryView> ancestors = new ArrayList<>(ancestorIds.size());
+        for (Long ancestorId : ancestorIds) {
+            WikiPageSummaryView view = found.get(ancestorId);
+            if (view != null) {
+                ancestors.add(view);
+            }
+        }
+        return ancestors;
     }
 
     private WikiPageDto.Response.Detail convertToDetail(WikiPage page) {
-        // 히스토리 없이 호출되는 경우 (createPage, updatePage)
-        return convertToDetail(page, new ArrayList<>());
+        // 직접 자식만 포함 (createPage, updatePage)
+        return convertToDetail(page, 1);
     }
 
-    private WikiPageDto.Response.Detail convertToDetail(WikiPage page, List<WikiPageHistory> historyList) {
+    private WikiPageDto.Response.Detail convertToDetail(WikiPage page, int depth) {
         WikiPageDto.Response.Detail detail = new WikiPageDto.Response.Detail();
         detail.setId(page.getId());
         detail.setTitle(page.getTitle());
@@ -566,39 +984,54 @@ public class WikiPageService {
         detail.setPageType(page.getPageType());
         detail.setCreatedAt(page.getCreatedAt());
         detail.setUpdatedAt(page.getUpdatedAt());
+        detail.setVersion(page.getVersion());
+        detail.setChildren(loadChildren(page, depth));
         
-        List<WikiPageDto.Response.Summary> children = new ArrayList<>();
-        // 자식 페이지들을 displayOrder로 정렬
-        List<WikiPage> sortedChildren = page.getChildren().stream()
-                .sorted((p1, p2) -> {
-                    int orderCompare = Integer.compare(p1.getDisplayOrder(), p2.getDisplayOrder());
-                    return orderCompare != 0 ? orderCompare : p1.getUpdatedAt().compareTo(p2.getUpdatedAt());
-                })
-                .collect(java.util.stream.Collectors.toList());
-                
-        for (WikiPage child : sortedChildren) {
-            children.add(convertToSummary(child));
+        List<WikiPageDto.Response.Breadcrumb> ancestors = new ArrayList<>();
+        WikiPageSummaryView parent = null;
+        for (WikiPageSummaryView ancestor : loadAncestors(page)) {
+            WikiPageDto.Response.Breadcrumb breadcrumb = new WikiPageDto.Response.Breadcrumb();
+            breadcrumb.setId(ancestor.getId());
+            breadcrumb.setTitle(ancestor.getTitle());
+            ancestors.add(breadcrumb);
+            parent = ancestor;
         }
-        detail.setChildren(children);
-        
-        if (page.getParent() != null) {
-            detail.setParent(convertToSummary(page.getParent()));
+        detail.setAncestors(ancestors);
+        if (parent != null && parent.getId().equals(detail.getParentId())) {
+            WikiPageDto.Response.Summary parentSummary = WikiPageTreeSnapshot.convertToSummary(parent);
+            parentSummary.setChildren(new ArrayList<>());
+            detail.setParent(parentSummary);
         }
         
-        // 히스토리 정보 추가
-        List<WikiPageDto.Response.History> history = new ArrayList<>();
-        for (WikiPageHistory historyItem : historyList) {
-            WikiPageDto.Response.History historyDto = new WikiPageDto.Response.History();
-            historyDto.setId(historyItem.getId());
-            historyDto.setSeqNbr(historyItem.getSeqNbr());
-            historyDto.setTitle(historyItem.getTitle());
-            historyDto.setContent(historyItem.getContent());
-            historyDto.setCreatedAt(historyItem.getCreatedAt());
-            historyDto.setUpdatedAt(historyItem.getUpdatedAt());
-            history.add(historyDto);
-        }
-        detail.setHistory(history);
+        // 버전 목록은 getPageHistory로 조회하고 상세에는 개수만 포함
+        detail.setHistoryCount(wikiPageHistoryRepository.countById(page.getId()));
         
         return detail;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 피드 커서 (마지막 항목의 정렬 기준 일시와 ID)
+     * 클라이언트에는 "일시|ID"를 URL-safe Base64로 인코딩한 불투명 문자열로 전달합니다.
+     */
+    private record FeedCursor(LocalDateTime at, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                return new FeedCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 cursor입니다: " + cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.wiki.service;
+
+import com.wiki.entity.WikiPage;
+import com.wiki.repository.WikiPageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 페이지 제목 → ID 캐시
+ * 제목으로 접근하는 API가 고유 문자열 인덱스 조회 대신 기본키 조회로 페이지를 찾도록 합니다.
+ * 최근에 쓰인 순서로 최대 maxSize개까지 보관하며, 넘치면 가장 오래 쓰이지 않은 항목을 버립니다.
+ * 제목 변경/삭제 시 WikiPageService가 무효화하고, 캐시된 ID의 페이지 제목이 다르거나 페이지가 없으면
+ * 제목 조회로 다시 찾으므로 무효화 시점과 겹친 조회가 있어도 다른 페이지를 반환하지 않습니다.
+ */
+@Component
+public class WikiPageTitleCache {
+
+    private final WikiPageRepository wikiPageRepository;
+    private final int maxSize;
+    private final Map<String, Long> idsByTitle;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public WikiPageTitleCache(WikiPageRepository wikiPageRepository,
+                              @Value("${app.title-cache.max-size:10000}") int maxSize) {
+        this.wikiPageRepository = wikiPageRepository;
+        this.maxSize = maxSize;
+        this.idsByTitle = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > WikiPageTitleCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 제목으로 페이지를 조회합니다.
+     * 캐시에 ID가 있으면 기본키로 조회하고, 없으면 제목으로 조회한 뒤 ID를 캐시에 넣습니다.
+     */
+    public Optional<WikiPage> findByTitle(String title) {
+        Long id = get(title);
+        if (id != null) {
+            Optional<WikiPage> page = wikiPageRepository.findById(id);
+            if (page.isPresent() && page.get().getTitle().equals(title)) {
+                hits.incrementAndGet();
+                return page;
+            }
+            // 휴지통/영구 삭제/제목 변경으로 더 이상 맞지 않는 항목
+            invalidate(title);
+        }
+
+        misses.incrementAndGet();
+        Optional<WikiPage> page = wikiPageRepository.findByTitle(title);
+        page.ifPresent(found -> put(title, found.getId()));
+        return page;
+    }
+
+    /**
+     * 제목 항목을 무효화합니다. (제목 변경 전 제목, 삭제된 페이지 제목)
+     */
+    public synchronized void invalidate(String title) {
+        idsByTitle.remove(title);
+    }
+
+    /**
+     * 모든 항목을 무효화합니다. (하위 페이지까지 한 번에 바뀌는 일괄 작업 후)
+     */
+    public synchronized void clear() {
+        idsByTitle.clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(idsByTitle.size(), maxSize, hits.get(), misses.get(), evictions.get());
+    }
+
+    private synchronized Long get(String title) {
+        return idsByTitle.get(title);
+    }
+
+    private synchronized void put(String title, Long id) {
+        idsByTitle.put(title, id);
+    }
+
+    /** 캐시 상태 (size/maxSize: 현재/최대 항목 수, hits/misses/evictions: 기동 후 누적) */
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions) {
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
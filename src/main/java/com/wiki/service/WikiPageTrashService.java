@@ -0,0 +1,173 @@
+package com.wiki.service;
+
+import com.wiki.dto.WikiPageDto;
+import com.wiki.event.WikiPageChangedEvent;
+import com.wiki.repository.FileAttachmentRepository;
+import com.wiki.repository.WikiPageCommentRepository;
+import com.wiki.repository.WikiPageHistoryRepository;
+import com.wiki.repository.WikiPageRepository;
+import com.wiki.repository.projection.TrashedPageView;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 휴지통 서비스
+ * 삭제된 페이지의 조회/복원과, 보관 기간이 지난 페이지의 백그라운드 영구 삭제를 담당합니다.
+ * 영구 삭제는 페이지, 히스토리, 댓글, 첨부파일 정보, 디스크의 첨부파일을 제한된 크기의 배치 단위로 처리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class WikiPageTrashService {
+
+    private final WikiPageRepository wikiPageRepository;
+    private final WikiPageHistoryRepository wikiPageHistoryRepository;
+    private final FileAttachmentRepository fileAttachmentRepository;
+    private final WikiPageCommentRepository wikiPageCommentRepository;
+    private final WikiPageSearchIndex wikiPageSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.trash.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.trash.purge-batch-size:100}")
+    private int purgeBatchSize;
+
+    /**
+     * 휴지통 목록을 조회합니다. (최근 삭제순)
+     */
+    public List<WikiPageDto.Response.TrashItem> getTrash() {
+        return wikiPageRepository.findTrashRoots().stream()
+                .map(this::convertToTrashItem)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 휴지통의 페이지와, 같은 삭제 작업으로 함께 들어간 하위 페이지들을 복원합니다.
+     *
+     * @param id 복원할 페이지 ID
+     * @throws EntityNotFoundException 휴지통에 페이지가 없는 경우
+     * @throws IllegalArgumentException 상위 페이지가 휴지통에 있는 경우
+     */
+    @Transactional
+    public void restore(Long id) {
+        TrashedPageView trashed = wikiPageRepository.findTrashedById(id)
+                .orElseThrow(() -> new EntityNotFoundException("휴지통에 없는 페이지입니다: " + id));
+
+        if (trashed.getParentId() != null && !wikiPageRepository.existsById(trashed.getParentId())) {
+            throw new IllegalArgumentException("상위 페이지가 휴지통에 있습니다. 상위 페이지를 먼저 복원하세요.");
+        }
+
+        int restored = wikiPageRepository.restoreSubtree(
+                trashed.getId(), subtreePrefix(trashed), trashed.getDeletedAt());
+        log.info("휴지통 복원 완료 - 페이지: {}, {}개", trashed.getTitle(), restored);
+        wikiPageSearchIndex.indexAfterCommit(
+                wikiPageRepository.findSubtreeContentViews(trashed.getId(), subtreePrefix(trashed)));
+
+        eventPublisher.publishEvent(new WikiPageChangedEvent(trashed.getId(), WikiPageChangedEvent.Type.RESTORED));
+    }
+
+    /**
+     * 휴지통의 페이지와 휴지통에 있는 모든 하위 페이지를 보관 기간과 관계없이 즉시 영구 삭제합니다.
+     *
+     * @param id 영구 삭제할 페이지 ID
+     * @throws EntityNotFoundException 휴지통에 페이지가 없는 경우
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeNow(Long id) {
+        TrashedPageView trashed = wikiPageRepository.findTrashedById(id)
+                .orElseThrow(() -> new EntityNotFoundException("휴지통에 없는 페이지입니다: " + id));
+
+        List<Long> ids = wikiPageRepository.findTrashedSubtreeIds(trashed.getId(), subtreePrefix(trashed));
+        for (int from = 0; from < ids.size(); from += purgeBatchSize) {
+            purgeBatch(ids.subList(from, Math.min(ids.size(), from + purgeBatchSize)));
+        }
+        log.info("휴지통 즉시 영구 삭제 완료 - 페이지: {}, {}개", trashed.getTitle(), ids.size());
+    }
+
+    /**
+     * 보관 기간이 지난 휴지통 페이지를 주기적으로 영구 삭제합니다.
+     * 배치마다 별도 트랜잭션으로 처리하므로 한 번에 오래 락을 잡지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${app.trash.purge-interval-ms:60000}",
+               initialDelayString = "${app.trash.purge-interval-ms:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        List<Long> ids;
+        do {
+            ids = wikiPageRepository.findExpiredTrashIds(cutoff, purgeBatchSize);
+            if (!ids.isEmpty()) {
+                purgeBatch(ids);
+                purged += ids.size();
+            }
+        } while (ids.size() == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("보관 기간이 지난 휴지통 페이지 영구 삭제 - {}개", purged);
+        }
+    }
+
+    /**
+     * 페이지 한 배치를 영구 삭제합니다.
+     * pageIds는 트랜잭션 밖에서 조회한 값이므로, 그 사이 복원된 페이지를 제외하도록 아직 휴지통에 있는 페이지만 잠가서 삭제합니다.
+     * DB 삭제가 커밋된 뒤에 디스크의 첨부파일을 지우므로, 커밋 실패 시 파일이 먼저 사라지는 일은 없습니다.
+     */
+    private void purgeBatch(List<Long> pageIds) {
+        List<String> filePaths = transactionTemplate.execute(status -> {
+            List<Long> ids = wikiPageRepository.lockTrashedIds(new ArrayList<>(pageIds));
+            if (ids.isEmpty()) {
+                return List.<String>of();
+            }
+            List<String> paths = fileAttachmentRepository.findFilePathsByPageIds(ids);
+            fileAttachmentRepository.deleteByPageIds(ids);
+            wikiPageHistoryRepository.deleteByPageIds(ids);
+            wikiPageCommentRepository.deleteByPageIds(ids);
+            wikiPageRepository.purgeTrashedPages(ids);
+            wikiPageSearchIndex.removeFieldsAfterCommit(ids);
+            return paths;
+        });
+
+        for (String filePath : filePaths) {
+            try {
+                Files.deleteIfExists(Paths.get(filePath));
+            } catch (IOException e) {
+                // 파일 삭제 실패해도 DB 레코드는 이미 삭제되었으므로 로그만 남김
+                log.warn("첨부파일 삭제 실패: {} - {}", filePath, e.getMessage());
+            }
+        }
+    }
+
+    private String subtreePrefix(TrashedPageView trashed) {
+        return trashed.getPath() + trashed.getId() + "/";
+    }
+
+    private WikiPageDto.Response.TrashItem convertToTrashItem(TrashedPageView trashed) {
+        WikiPageDto.Response.TrashItem item = new WikiPageDto.Response.TrashItem();
+        item.setId(trashed.getId());
+        item.setTitle(trashed.getTitle());
+        item.setParentId(trashed.getParentId());
+        item.setDeletedAt(trashed.getDeletedAt());
+        item.setPurgeAfter(trashed.getDeletedAt().plusDays(retentionDays));
+        return item;
+    }
+}
@@ -0,0 +1,188 @@
+package com.wiki.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiki.event.WikiPageChangedEvent;
+import com.wiki.repository.WikiPageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 네비게이션 트리 스냅샷 캐시
+ * 읽기는 현재 스냅샷 참조만 읽으므로 락과 DB 조회가 없습니다. (갱신 중이어도 기다리지 않음)
+ * 페이지 변경 트랜잭션이 커밋되면 쓰기 요청이 응답하기 전에 새 스냅샷을 만들어 원자적으로 교체하므로,
+ * 변경 직후 트리를 다시 요청한 클라이언트는 항상 변경이 반영된 트리를 받습니다.
+ * 이때 새 커넥션을 얻지 않고 쓰기 스레드가 아직 반납하지 않은 커넥션으로 조회합니다.
+ * (커밋 직후 스레드마다 커넥션을 하나 더 얻으면 동시 쓰기가 커넥션 풀 크기만큼 몰릴 때 서로를 기다리며 멈춤)
+ * 갱신에 실패하면 이전 스냅샷을 유지한 채 갱신 스레드에서 몇 차례 다시 시도합니다.
+ */
+@Component
+@Slf4j
+public class WikiPageTreeCache {
+
+    private final WikiPageRepository wikiPageRepository;
+    /** 조회 전용 새 트랜잭션 (트랜잭션이 없는 스레드에서 갱신할 때 사용) */
+    private final TransactionTemplate readOnlyTransaction;
+    /** 방금 커밋한 쓰기 스레드에 남아 있는 영속성 컨텍스트(같은 커넥션)로 조회하는 트랜잭션 */
+    private final TransactionTemplate committedTransaction;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<WikiPageTreeSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    /** 재기동 후 버전 번호가 다시 시작되어도 이전 프로세스의 ETag와 겹치지 않도록 붙이는 값 */
+    private final String etagEpoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "page-tree-rebuild-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 갱신 실패 시 다시 시도하는 최대 횟수 (간격은 1초부터 두 배씩 늘림) */
+    private static final int MAX_REBUILD_RETRIES = 3;
+    private static final long REBUILD_RETRY_DELAY_MS = 1000;
+
+    /** 전체 트리 직렬화 결과의 키 (페이지 타입 키와 겹치지 않도록 빈 문자열 사용) */
+    private static final String ALL_PAGES_KEY = "";
+
+    public WikiPageTreeCache(WikiPageRepository wikiPageRepository, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.wikiPageRepository = wikiPageRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.committedTransaction = new TransactionTemplate(transactionManager);
+        this.committedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        this.committedTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 현재 트리 스냅샷을 반환합니다.
+     * 갱신 중이어도 기다리지 않고 마지막으로 만든 스냅샷을 돌려주며, 기동 후 첫 호출에서만 이 호출이 스냅샷을 만듭니다.
+     */
+    public WikiPageTreeSnapshot getSnapshot() {
+        WikiPageTreeSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return rebuild(versionSequence.incrementAndGet(), readOnlyTransaction);
+    }
+
+    /**
+     * 직렬화된 트리 JSON을 반환합니다.
+     * 스냅샷마다 한 번만 직렬화/압축하므로 같은 스냅샷에 대한 반복 요청은 바이트 배열만 돌려줍니다.
+     *
+     * @param pageType 최상위 페이지 타입 필터 (null이면 전체 트리)
+     */
+    public WikiPageTreeSnapshot.Encoded getEncodedTree(String pageType) {
+        WikiPageTreeSnapshot snapshot = getSnapshot();
+        if (pageType == null) {
+            return snapshot.getEncoded(ALL_PAGES_KEY, key -> encode(snapshot, snapshot.getRoots(), ""));
+        }
+        if (snapshot.getRoots(pageType).isEmpty()) {
+            // 존재하지 않는 타입은 캐시에 키를 늘리지 않고 빈 목록을 그대로 직렬화
+            return encode(snapshot, snapshot.getRoots(pageType), "-empty");
+        }
+        // 타입 문자열 자체를 16진수로 붙여 서로 다른 타입의 ETag가 겹치지 않게 함 (해시는 충돌할 수 있음)
+        return snapshot.getEncoded(pageType, key -> encode(snapshot, snapshot.getRoots(key),
+                "-" + HexFormat.of().formatHex(key.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * 페이지 변경이 커밋된 뒤, 쓰기 요청이 응답하기 전에 스냅샷을 새로 만들어 교체합니다.
+     * 실패하면 이전 스냅샷을 유지하고 갱신 스레드에 재시도를 예약합니다. (쓰기 자체는 이미 커밋되었으므로 실패로 응답하지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPageChanged(WikiPageChangedEvent event) {
+        long version = versionSequence.incrementAndGet();
+        try {
+            rebuild(version, committedTransaction);
+        } catch (RuntimeException e) {
+            log.warn("네비게이션 트리 스냅샷 갱신 실패, 재시도 예약", e);
+            scheduleRetry(version, 1);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryExecutor.shutdownNow();
+    }
+
+    private void scheduleRetry(long failedVersion, int attempt) {
+        try {
+            retryExecutor.schedule(() -> retryRebuild(failedVersion, attempt),
+                    REBUILD_RETRY_DELAY_MS << (attempt - 1), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private void retryRebuild(long failedVersion, int attempt) {
+        // 실패한 갱신보다 나중에 시작한 갱신이 이미 교체했다면 그 스냅샷에 변경이 반영되어 있음
+        WikiPageTreeSnapshot snapshot = current.get();
+        if (snapshot != null && snapshot.getVersion() > failedVersion) {
+            return;
+        }
+        try {
+            rebuild(versionSequence.incrementAndGet(), readOnlyTransaction);
+        } catch (RuntimeException e) {
+            if (attempt < MAX_REBUILD_RETRIES) {
+                log.warn("네비게이션 트리 스냅샷 재시도 실패 ({}/{})", attempt, MAX_REBUILD_RETRIES, e);
+                scheduleRetry(failedVersion, attempt + 1);
+            } else {
+                log.error("네비게이션 트리 스냅샷 재시도 중단, 다음 페이지 변경 때 다시 갱신", e);
+            }
+        }
+    }
+
+    /**
+     * 새 스냅샷을 만들어 교체합니다.
+     * 버전은 조회 시작 전에 할당하므로, 더 늦게 시작한 갱신이 더 최신 데이터와 더 큰 버전을 가집니다.
+     * 여러 쓰기 스레드와 재시도, 스냅샷이 없을 때의 읽기 스레드가 동시에 갱신하더라도 버전이 더 큰 스냅샷만 남습니다.
+     */
+    private WikiPageTreeSnapshot rebuild(long version, TransactionTemplate transaction) {
+        WikiPageTreeSnapshot candidate = transaction.execute(status ->
+                WikiPageTreeSnapshot.of(version, wikiPageRepository.findAllTreeNodes()));
+        // 가장 자주 요청되는 전체 트리는 교체 전에 미리 직렬화
+        candidate.getEncoded(ALL_PAGES_KEY, key -> encode(candidate, candidate.getRoots(), ""));
+        return current.accumulateAndGet(candidate, (previous, next) ->
+                previous == null || previous.getVersion() < next.getVersion() ? next : previous);
+    }
+
+    private WikiPageTreeSnapshot.Encoded encode(WikiPageTreeSnapshot snapshot, Object value, String etagSuffix) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            String tag = "tree-" + etagEpoch + "-" + snapshot.getVersion() + etagSuffix;
+            return new WikiPageTreeSnapshot.Encoded(json, buffer.toByteArray(),
+                    "\"" + tag + "\"", "\"" + tag + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("네비게이션 트리 직렬화 실패", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.wiki.service;
+
+import com.wiki.dto.WikiPageDto;
+import com.wiki.repository.projection.WikiPageSummaryView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 네비게이션 트리 스냅샷
+ * 한 번 만들어지면 변경되지 않으며, 페이지 변경 시에는 새 스냅샷을 만들어 통째로 교체합니다.
+ * 스냅샷이 보유한 Summary 객체는 여러 요청이 공유하므로 호출자가 수정해서는 안 됩니다.
+ */
+public final class WikiPageTreeSnapshot {
+
+    private final long version;
+    private final List<WikiPageDto.Response.Summary> roots;
+    private final Map<String, List<WikiPageDto.Response.Summary>> rootsByType;
+    private final Map<Long, WikiPageDto.Response.Summary> nodesById;
+    private final ConcurrentMap<String, Encoded> encodedByKey = new ConcurrentHashMap<>();
+
+    private WikiPageTreeSnapshot(long version,
+                                 List<WikiPageDto.Response.Summary> roots,
+                                 Map<String, List<WikiPageDto.Response.Summary>> rootsByType,
+                                 Map<Long, WikiPageDto.Response.Summary> nodesById) {
+        this.version = version;
+        this.roots = roots;
+        this.rootsByType = rootsByType;
+        this.nodesById = nodesById;
+    }
+
+    /**
+     * 평면 프로젝션 목록으로부터 트리를 O(n)으로 조립합니다.
+     * 노드는 형제 정렬 순서대로 들어오므로 부모의 children 목록에 순서대로 붙이기만 하면 됩니다.
+     *
+     * @param version 스냅샷 버전
+     * @param nodes displayOrder, updatedAt 순으로 정렬된 전체 페이지 프로젝션
+     */
+    public static WikiPageTreeSnapshot of(long version, List<WikiPageSummaryView> nodes) {
+        Map<Long, WikiPageDto.Response.Summary> summaries = new HashMap<>(nodes.size() * 2);
+        Map<Long, List<WikiPageDto.Response.Summary>> childrenById = new HashMap<>(nodes.size() * 2);
+        for (WikiPageSummaryView node : nodes) {
+            summaries.put(node.getId(), convertToSummary(node));
+            childrenById.put(node.getId(), new ArrayList<>());
+        }
+
+        List<WikiPageDto.Response.Summary> roots = new ArrayList<>();
+        for (WikiPageSummaryView node : nodes) {
+            WikiPageDto.Response.Summary summary = summaries.get(node.getId());
+            if (node.getParentId() == null) {
+                roots.add(summary);
+            } else {
+                List<WikiPageDto.Response.Summary> siblings = childrenById.get(node.getParentId());
+                if (siblings != null) {
+                    siblings.add(summary);
+                }
+            }
+        }
+        for (Map.Entry<Long, List<WikiPageDto.Response.Summary>> entry : childrenById.entrySet()) {
+            summaries.get(entry.getKey()).setChildren(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        // 최상위 페이지는 같은 순서일 때 최근 수정된 페이지가 먼저 오도록 정렬
+        roots.sort(Comparator.comparing(WikiPageDto.Response.Summary::getDisplayOrder)
+                .thenComparing(WikiPageDto.Response.Summary::getUpdatedAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())));
+
+        Map<String, List<WikiPageDto.Response.Summary>> rootsByType = new HashMap<>();
+        for (WikiPageDto.Response.Summary root : roots) {
+            rootsByType.computeIfAbsent(root.getPageType(), key -> new ArrayList<>()).add(root);
+        }
+        rootsByType.replaceAll((key, value) -> Collections.unmodifiableList(value));
+
+        return new WikiPageTreeSnapshot(version, Collections.unmodifiableList(roots),
+                Collections.unmodifiableMap(rootsByType), Collections.unmodifiableMap(summaries));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 전체 최상위 페이지 목록 (displayOrder 오름차순, updatedAt 내림차순)
+     */
+    public List<WikiPageDto.Response.Summary> getRoots() {
+        return roots;
+    }
+
+    /**
+     * 특정 페이지 타입의 최상위 페이지 목록
+     */
+    public List<WikiPageDto.Response.Summary> getRoots(String pageType) {
+        return rootsByType.getOrDefault(pageType, Collections.emptyList());
+    }
+
+    /**
+     * ID로 트리 노드를 조회합니다. 없으면 null을 반환합니다.
+     */
+    public WikiPageDto.Response.Summary getNode(Long id) {
+        return nodesById.get(id);
+    }
+
+    /**
+     * 직렬화된 트리를 반환합니다. 스냅샷마다 키별로 한 번만 직렬화하고 재사용합니다.
+     *
+     * @param key 직렬화 대상 키 (전체 트리 또는 페이지 타입)
+     * @param encoder 캐시에 없을 때 사용할 직렬화 함수
+     */
+    public Encoded getEncoded(String key, Function<String, Encoded> encoder) {
+        return encodedByKey.computeIfAbsent(key, encoder);
+    }
+
+    /**
+     * 미리 직렬화된 트리 JSON
+     *
+     * @param json UTF-8 JSON 바이트
+     * @param gzip gzip으로 압축한 JSON 바이트
+     * @param etag 스냅샷 버전에서 만든 강한 ETag
+     * @param gzipEtag gzip 표현의 강한 ETag (표현마다 강한 ETag가 달라야 하므로 "-gzip" 접미사를 붙임)
+     */
+    public record Encoded(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    /**
+     * 요약 프로젝션을 Summary로 변환합니다. children은 설정하지 않습니다.
+     */
+    static WikiPageDto.Response.Summary convertToSummary(WikiPageSummaryView node) {
+        WikiPageDto.Response.Summary summary = new WikiPageDto.Response.Summary();
+        summary.setId(node.getId());
+        summary.setTitle(node.getTitle());
+        summary.setParentId(node.getParentId());
+        summary.setDepth(node.getDepth());
+        summary.setPath(node.getPath());
+        summary.setDisplayOrder(node.getDisplayOrder());
+        summary.setPageType(node.getPageType());
+        summary.setUpdatedAt(node.getUpdatedAt());
+        return summary;
+    }
+}
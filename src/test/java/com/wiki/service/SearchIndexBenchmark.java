@@ -0,0 +1,130 @@
+package com.wiki.service;
+
+import com.wiki.repository.FileAttachmentRepository;
+import com.wiki.repository.WikiPageCommentRepository;
+import com.wiki.repository.WikiPageRepository;
+import com.wiki.repository.projection.WikiPageContentView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 검색 색인 벤치마크 (합성 한국어 문서로 색인 크기와 검색 지연 측정)
+ * 시간이 오래 걸리므로 평소 테스트에서는 건너뛰고, 아래처럼 시스템 속성을 주어 실행합니다.
+ * <pre>
+ * mvn test -Dtest=SearchIndexBenchmark -Dsearch.benchmark=true [-Dsearch.benchmark.pages=10000]
+ * </pre>
+ * 색인 구성 시간, 힙 사용량, 용어/포스팅 수, 검색어별 평균 지연을 출력하고,
+ * 띄어쓰기 토큰과 한글 바이그램 색인이 단어를 포함한 문서를 얼마나 찾는지 비교합니다.
+ */
+@EnabledIfSystemProperty(named = "search.benchmark", matches = "true")
+class SearchIndexBenchmark {
+
+    private static final List<String> QUERIES = List.of(
+            "배포", "서버 배포", "데이터베이스", "장애 대응 절차", "kubernetes", "백업 복구", "서", "인증서갱신");
+    private static final List<String> RECALL_WORDS = List.of("배포", "데이터베이스", "모니터링", "인증서");
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    void measureIndexSizeAndQueryLatency() {
+        int pageCount = Integer.getInteger("search.benchmark.pages", 10_000);
+        List<WikiPageContentView> pages = new SyntheticKoreanCorpus(42, 0.3, 1350).pages(pageCount);
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        WikiPageSearchIndex index = newIndex(pages);
+        index.build();
+        long buildNanos = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+
+        WikiPageSearchIndex.Stats stats = index.getStats();
+        assertEquals(pageCount, stats.documents());
+        System.out.printf("pages=%d build=%.2fs heap=%.1fMB terms=%d postings=%d%n", pageCount, buildNanos / 1e9,
+                (heapAfter - heapBefore) / 1024.0 / 1024.0, stats.terms(), stats.postings());
+
+        for (String query : QUERIES) {
+            for (int i = 0; i < WARMUP; i++) {
+                index.search(query, 0, 20, false, WikiPageSearchIndex.Filter.NONE);
+            }
+            int total = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                total = index.search(query, 0, 20, false, WikiPageSearchIndex.Filter.NONE).total();
+            }
+            System.out.printf("query=%-12s hits=%6d avg=%.3fms%n", query, total,
+                    (System.nanoTime() - start) / (double) ITERATIONS / 1e6);
+        }
+
+        // 단어를 (띄어쓰기와 무관하게) 포함한 문서 중 띄어쓰기 토큰 / 바이그램 색인이 찾는 문서 수
+        for (String word : RECALL_WORDS) {
+            int containing = 0;
+            int whitespaceHits = 0;
+            for (WikiPageContentView page : pages) {
+                String text = SearchTokenizer.extractText(page.getContent());
+                if (SearchTokenizer.containsIgnoringSpaces(text, word)) {
+                    containing++;
+                }
+                Set<String> words = new HashSet<>(Arrays.asList(text.split("\\s+")));
+                if (words.contains(word)) {
+                    whitespaceHits++;
+                }
+            }
+            int bigramHits = index.search(word, 0, 1, false, WikiPageSearchIndex.Filter.NONE).total();
+            System.out.printf("word=%-8s containing=%6d whitespace=%6d (%.0f%%) bigram=%6d%n", word, containing,
+                    whitespaceHits, 100.0 * whitespaceHits / Math.max(1, containing), bigramHits);
+        }
+    }
+
+    /**
+     * 합성 문서를 ID 순으로 돌려주는 저장소로 색인을 만듭니다. (세그먼트 저장 없이 메모리에만 구성)
+     */
+    private static WikiPageSearchIndex newIndex(List<WikiPageContentView> pages) {
+        WikiPageSearchIndex index = new WikiPageSearchIndex(
+                repository(WikiPageRepository.class, pages), repository(WikiPageCommentRepository.class, pages),
+                repository(FileAttachmentRepository.class, pages), repository(PlatformTransactionManager.class, pages));
+        ReflectionTestUtils.setField(index, "buildBatchSize", 100);
+        ReflectionTestUtils.setField(index, "titleBoost", 3.0);
+        ReflectionTestUtils.setField(index, "maxSegments", 8);
+        ReflectionTestUtils.setField(index, "fuzzyMaxEdits", 2);
+        return index;
+    }
+
+    // 페이지 본문 키셋 조회만 답하고, 나머지 목록 조회는 빈 목록을 돌려주는 구현
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, List<WikiPageContentView> pages) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName();
+                };
+            }
+            if (method.getName().equals("findContentViewsAfter")) {
+                long afterId = (Long) args[0];
+                int size = ((Pageable) args[1]).getPageSize();
+                return pages.stream().filter(page -> page.getId() > afterId).limit(size).toList();
+            }
+            return method.getReturnType() == List.class ? List.of() : null;
+        });
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,136 @@
+package com.wiki.service;
+
+import com.wiki.repository.projection.WikiPageContentView;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 검색 색인 벤치마크용 합성 한국어 위키 문서
+ * 명사(앞쪽 단어일수록 자주 나옴)에 대부분 조사를 붙인 문장을 TipTap HTML(문단, 목록, 인라인 강조/코드)로 감싸고,
+ * 띄어쓰기 일부를 빼서 띄어쓰기가 일정하지 않은 실제 위키 본문처럼 만듭니다. 같은 seed면 항상 같은 문서를 만듭니다.
+ */
+final class SyntheticKoreanCorpus {
+
+    static final String[] NOUNS = {
+            "서버", "배포", "절차", "장애", "대응", "운영", "환경", "설정", "데이터베이스", "백업",
+            "복구", "인증", "권한", "사용자", "관리자", "로그", "모니터링", "알림", "네트워크", "방화벽",
+            "인증서", "갱신", "점검", "일정", "회의록", "요구사항", "설계", "검토", "테스트", "자동화",
+            "스크립트", "빌드", "파이프라인", "저장소", "브랜치", "릴리스", "버전", "문서", "위키", "검색",
+            "색인", "캐시", "성능", "지연", "용량", "디스크", "메모리", "트래픽", "프로젝트", "담당자"
+    };
+    private static final String[] PARTICLES = {"은", "는", "이", "가", "을", "를", "에", "에서", "으로", "의", "와", "도"};
+    private static final String[] ENDINGS = {
+            "확인합니다", "진행합니다", "정리했습니다", "적용해야 합니다", "공유 바랍니다", "검토가 필요합니다",
+            "완료되었습니다", "변경되었습니다", "참고하세요", "요청드립니다"
+    };
+    private static final String[] LATIN = {"kubernetes", "docker", "nginx", "jenkins", "redis", "v2", "api", "sql"};
+    private static final String[] PAGE_TYPES = {"MENU", "NOTICE", "GUIDE"};
+
+    private final Random random;
+    private final double omitSpaceRate;
+    private final int contentChars;
+
+    /**
+     * @param omitSpaceRate 문장 안 띄어쓰기를 뺄 비율 (0~1)
+     * @param contentChars 문서 하나의 HTML 본문 길이 목표 (문자 수)
+     */
+    SyntheticKoreanCorpus(long seed, double omitSpaceRate, int contentChars) {
+        this.random = new Random(seed);
+        this.omitSpaceRate = omitSpaceRate;
+        this.contentChars = contentChars;
+    }
+
+    List<WikiPageContentView> pages(int count) {
+        List<WikiPageContentView> pages = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 1; i <= count; i++) {
+            pages.add(new Page((long) i, title(i), content(), base.plusMinutes(i),
+                    PAGE_TYPES[random.nextInt(PAGE_TYPES.length)], "staff" + random.nextInt(50)));
+        }
+        return pages;
+    }
+
+    private String title(int number) {
+        return pick(NOUNS) + " " + pick(NOUNS) + " " + pick(NOUNS) + " " + number;
+    }
+
+    private String content() {
+        StringBuilder html = new StringBuilder(contentChars + 200);
+        while (html.length() < contentChars) {
+            if (random.nextInt(4) == 0) {
+                html.append("<ul>");
+                for (int item = 0, items = 2 + random.nextInt(3); item < items; item++) {
+                    html.append("<li><p>").append(sentence()).append("</p></li>");
+                }
+                html.append("</ul>");
+            } else {
+                html.append("<p>").append(sentence()).append(' ').append(sentence()).append("</p>");
+            }
+        }
+        return html.toString();
+    }
+
+    private String sentence() {
+        StringBuilder sentence = new StringBuilder();
+        for (int word = 0, words = 3 + random.nextInt(4); word < words; word++) {
+            if (word > 0 && random.nextDouble() >= omitSpaceRate) {
+                sentence.append(' ');
+            }
+            String noun = NOUNS[(int) (NOUNS.length * Math.pow(random.nextDouble(), 3))];
+            switch (random.nextInt(10)) {
+                case 0 -> sentence.append("<strong>").append(noun).append("</strong>");
+                case 1 -> sentence.append("<code>").append(pick(LATIN)).append("</code> ").append(noun);
+                default -> sentence.append(noun);
+            }
+            if (random.nextInt(4) > 0) {
+                sentence.append(pick(PARTICLES));
+            }
+        }
+        return sentence.append(' ').append(pick(ENDINGS)).append('.').toString();
+    }
+
+    private String pick(String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private record Page(Long id, String title, String content, LocalDateTime updatedAt, String pageType,
+                        String modifyStaffId) implements WikiPageContentView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getContent() {
+            return content;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        @Override
+        public Long getVersion() {
+            return 0L;
+        }
+
+        @Override
+        public String getPageType() {
+            return pageType;
+        }
+
+        @Override
+        public String getModifyStaffId() {
+            return modifyStaffId;
+        }
+    }
+}
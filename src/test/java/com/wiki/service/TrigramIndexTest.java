@@ -0,0 +1,61 @@
+package com.wiki.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 트라이그램 색인의 후보 찾기가 허용 편집 수 이내의 키를 빠뜨리지 않는지 확인합니다.
+ */
+class TrigramIndexTest {
+
+    @Test
+    void shortQueryFindsTitleContainingItWithOneTypo() {
+        // "베포"(자모 4자)는 "배포"와 트라이그램을 하나도 공유하지 않으므로 바이그램으로 후보를 찾아야 함
+        TrigramIndex titles = new TrigramIndex(false);
+        titles.add(1, TitlePrefixIndex.toKey("서버 배포 가이드"));
+        titles.add(2, TitlePrefixIndex.toKey("회의록"));
+
+        String query = TitlePrefixIndex.toKey("베포");
+        List<TrigramIndex.Match> matches = titles.find(query, SearchVocabulary.editBudget(query.length(), 2));
+
+        assertEquals(List.of(new TrigramIndex.Match(1, 1)), matches);
+    }
+
+    @Test
+    void fiveJamoQueryWithOneTypoIsFoundInsideTitle() {
+        // 자모 5자 키도 트라이그램 3개 - 3 = 0이라, 가운데 자모가 틀리면 바이그램으로 후보를 찾아야 함
+        TrigramIndex titles = new TrigramIndex(false);
+        titles.add(7, TitlePrefixIndex.toKey("점거 농성 기록"));
+
+        String query = TitlePrefixIndex.toKey("전거");
+        assertEquals(5, query.length());
+        List<TrigramIndex.Match> matches = titles.find(query, 1);
+
+        assertEquals(List.of(new TrigramIndex.Match(7, 1)), matches);
+    }
+
+    @Test
+    void removedTitleIsNotFound() {
+        TrigramIndex titles = new TrigramIndex(false);
+        titles.add(1, TitlePrefixIndex.toKey("서버 배포 가이드"));
+        titles.remove(1);
+
+        assertTrue(titles.find(TitlePrefixIndex.toKey("베포"), 1).isEmpty());
+        assertEquals(0, titles.size());
+    }
+
+    @Test
+    void wholeKeyMatchesOnlyWholeKeys() {
+        TrigramIndex terms = new TrigramIndex(true);
+        terms.add(1, TitlePrefixIndex.toKey("배포"));
+        terms.add(2, TitlePrefixIndex.toKey("배포판"));
+
+        List<TrigramIndex.Match> matches = terms.find(TitlePrefixIndex.toKey("베포"), 1);
+
+        assertEquals(List.of(new TrigramIndex.Match(1, 1)), matches);
+    }
+}
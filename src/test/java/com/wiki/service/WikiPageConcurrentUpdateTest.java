@@ -0,0 +1,112 @@
+package com.wiki.service;
+
+import com.wiki.dto.WikiPageDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 페이지를 동시에 수정할 때 히스토리 버전 번호가 겹치거나 빠지지 않는지 확인합니다.
+ * 파일 DB와 검색 색인 디렉터리를 건드리지 않도록 메모리 DB와 메모리 색인으로 기동합니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrent-update;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.search.index-dir=",
+        "app.trash.purge-interval-ms=3600000"
+})
+class WikiPageConcurrentUpdateTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES = 40;
+
+    @Autowired
+    private WikiPageService wikiPageService;
+
+    @Test
+    void concurrentUpdatesGetUniqueContiguousVersions() throws Exception {
+        String title = "동시 수정 테스트";
+        WikiPageDto.Request.Create create = new WikiPageDto.Request.Create();
+        create.setTitle(title);
+        create.setContent(contentOf(-1));
+        wikiPageService.createPage(create, "tester");
+
+        // 모든 스레드가 준비된 뒤 한꺼번에 수정을 시작
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < UPDATES; i++) {
+                int edit = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    WikiPageDto.Request.Update update = new WikiPageDto.Request.Update();
+                    update.setContent(contentOf(edit));
+                    wikiPageService.updatePage(title, update, "tester-" + edit, null);
+                    return null;
+                }));
+            }
+            start.countDown();
+            // If-Match 없는 수정은 하나도 실패하지 않아야 함 (실패 시 get()에서 예외)
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 버전 번호는 1..UPDATES+1이 빠짐없이 한 번씩
+        WikiPageDto.Response.HistoryPage history = wikiPageService.getPageHistory(title, null, UPDATES + 10);
+        List<Integer> seqNbrs = new ArrayList<>();
+        for (WikiPageDto.Response.HistoryItem item : history.getItems()) {
+            seqNbrs.add(item.getSeqNbr());
+        }
+        assertEquals(UPDATES + 1, seqNbrs.size(), "버전 수: " + seqNbrs);
+        assertEquals(UPDATES + 1, new HashSet<>(seqNbrs).size(), "중복 버전 번호: " + seqNbrs);
+        for (int seqNbr = 1; seqNbr <= UPDATES + 1; seqNbr++) {
+            assertTrue(seqNbrs.contains(seqNbr), "빠진 버전 번호 " + seqNbr + ": " + seqNbrs);
+        }
+
+        // 모든 버전이 복원되고, 복원된 내용은 각 수정 내용과 정확히 한 번씩 일치
+        Set<String> expected = new HashSet<>();
+        for (int i = -1; i < UPDATES; i++) {
+            expected.add(contentOf(i));
+        }
+        Set<String> restored = new HashSet<>();
+        for (int seqNbr = 1; seqNbr <= UPDATES + 1; seqNbr++) {
+            String content = wikiPageService.getPageVersion(title, seqNbr).getContent();
+            assertTrue(expected.contains(content), "버전 " + seqNbr + " 복원 내용이 잘못됨: " + content);
+            restored.add(content);
+        }
+        assertEquals(expected, restored);
+        assertEquals(contentOf(-1), wikiPageService.getPageVersion(title, 1).getContent());
+
+        // 현재 본문은 마지막 버전과 같음
+        WikiPageDto.Response.Detail page = wikiPageService.getPage(title, 1);
+        assertEquals(wikiPageService.getPageVersion(title, UPDATES + 1).getContent(), page.getContent());
+        assertEquals(UPDATES + 1, page.getHistoryCount());
+    }
+
+    // 델타와 키프레임이 모두 쓰이도록 앞부분은 같고 일부 줄만 다른 본문
+    private static String contentOf(int edit) {
+        StringBuilder content = new StringBuilder();
+        for (int line = 0; line < 20; line++) {
+            content.append(line == Math.floorMod(edit, 20) ? "수정 " + edit : "공통 줄 " + line).append('\n');
+        }
+        return content.append("마지막 수정 ").append(edit).toString();
+    }
+}